@@ -0,0 +1,20 @@
+package graphql;
+
+/**
+ * Failure of one row of a bulk mutation, the whole mutation is rolled back
+ */
+public class BatchRowException extends GraphQlAdapterException {
+    private final int row;
+
+    public BatchRowException(int row, String message, Throwable cause) {
+        super(message, cause);
+        this.row = row;
+    }
+
+    /**
+     * @return index of the row in the mutation's input
+     */
+    public int getRow() {
+        return row;
+    }
+}
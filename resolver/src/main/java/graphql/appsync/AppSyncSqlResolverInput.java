@@ -73,7 +73,11 @@ public class AppSyncSqlResolverInput {
         List<String> appsyncSelectList = (List<String>) info.get("selectionSetList");
         
         if (isQueryByGlobalId) {
-            String graphQlTypeName = getTypeNameFromGlobalId((String) getQueryArguments().get("id"));
+            Object globalId = getQueryArguments().get("id");
+            if (!(globalId instanceof String)) {
+                throw new GraphQlAdapterException("node query is missing the id of the object to get");
+            }
+            String graphQlTypeName = getTypeNameFromGlobalId((String) globalId);
             String selectionSetString = (String) info.get("selectionSetGraphQL");
             List<String> parsedSelect = parseSelectForNodeQuery(selectionSetString, graphQlTypeName);
             
@@ -226,6 +230,17 @@ public class AppSyncSqlResolverInput {
         this.lookupInfos = lookupInfos;
     }
 
+    /**
+     * Set the type metadata fields from a precompiled plan. The plan's collections are shared, not copied
+     */
+    public void setTypePlan(GraphQlTypePlan typePlan) {
+        this.keyFields = typePlan.getKeyFields();
+        this.graphQLFieldsInfo = typePlan.getGraphQLFieldsInfo();
+        this.fieldTypes = typePlan.getFieldTypes();
+        this.databaseTableName = typePlan.getDatabaseTableName();
+        this.lookupInfos = typePlan.getLookupInfos();
+    }
+
     public String getDatabaseTableName() {
         return databaseTableName;
     }
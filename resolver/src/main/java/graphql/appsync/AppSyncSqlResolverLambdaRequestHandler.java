@@ -1,90 +1,517 @@
 package graphql.appsync;
 
 import com.amazonaws.services.lambda.runtime.Context;
-import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.google.common.annotations.VisibleForTesting;
 import graphql.sql.GraphQlTypeMetadata;
 import graphql.sql.LookupInfo;
+import graphql.sql.db.PooledSqlDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
 import graphql.sql.db.SqlDatabaseProvider;
 import graphql.sql.db.SqlDatabaseProviderFactory;
+import graphql.sql.db.SqlServerDatabaseProvider;
 import graphql.*;
 import graphql.sql.SqlStatementType;
+import org.crac.Core;
+import org.crac.Resource;
+import util.InvocationMetrics;
 import util.Util;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Map<String,Object>, Object> {
+/**
+ * With SnapStart, or another CRaC runtime, the handler primes the request path before the snapshot is taken and
+ * drops connections and cached lookups that went stale while the snapshot was stored, see {@link #beforeCheckpoint}
+ * and {@link #afterRestore}
+ */
+public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Object, Object>, Resource {
     private final SecretsManagerRetriever secretsManagerClient;
     private final SystemsManagerRetriever systemsManagerRetriever;
+    private final Map<String, GraphQlTypePlan> typePlans = new ConcurrentHashMap<>();
+    private final ResultCache resultCache;
     
-    public static LambdaLogger LOGGER = new NoOpLogger();
+    public static final ResolverLogger LOGGER = ResolverLogger.fromEnvironment();
     public static final String LOOKUP_FIELD_SUFFIX = "_LookupId";
     
     public AppSyncSqlResolverLambdaRequestHandler() {
-        this(new AwsSecretsManagerRetriever(), new AwsSystemsManagerRetriever());
+        this(new CachingSecretsManagerRetriever(new AwsSecretsManagerRetriever()), new TypeMetadataRegistry(new AwsSystemsManagerRetriever()));
+        Core.getGlobalContext().register(this);
     }
     
     @VisibleForTesting
     public AppSyncSqlResolverLambdaRequestHandler(SecretsManagerRetriever secretsManagerRetriever, SystemsManagerRetriever systemsManagerRetriever) {
+        this(secretsManagerRetriever, systemsManagerRetriever, ResultCache.fromEnvironment());
+    }
+
+    @VisibleForTesting
+    public AppSyncSqlResolverLambdaRequestHandler(SecretsManagerRetriever secretsManagerRetriever, SystemsManagerRetriever systemsManagerRetriever,
+                                                  ResultCache resultCache) {
         this.secretsManagerClient = secretsManagerRetriever;
         this.systemsManagerRetriever = systemsManagerRetriever;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Run synthetic requests against in-memory databases, so the snapshot holds a loaded and partly compiled request
+     * path, see {@link Primer}
+     */
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        // there is no invocation context to take the logger from
+        LOGGER.setLogger(LambdaRuntime.getLogger());
+        long start = System.nanoTime();
+        if (Primer.prime(configuredVendors())) {
+            LOGGER.info(() -> String.format("primed in %d ms", (System.nanoTime() - start) / 1_000_000));
+        }
+    }
+
+    /**
+     * @return the vendors of the databases of every type, or none if the type metadata or secrets can't be read
+     */
+    @VisibleForTesting
+    Set<String> configuredVendors() {
+        try {
+            Set<String> vendors = new TreeSet<>();
+            for (GraphQlTypeMetadata typeMetadata : systemsManagerRetriever.lookupAllSystemParameters().values()) {
+                SecretsManagerSecret secret = new SecretsManagerSecret(typeMetadata.getSecretName(), typeMetadata.getSecretRegion());
+                vendors.add(secretsManagerClient.lookupSecret(secret).getEngine());
+            }
+            return vendors;
+        } catch (RuntimeException e) {
+            LOGGER.info(() -> "not priming, can't read the configured databases: " + e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * Pooled connections did not survive the snapshot, and cached credentials and type metadata may have changed
+     * since it was taken
+     */
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        SqlDatabaseProviderFactory.evictAll();
+        if (secretsManagerClient instanceof CachingSecretsManagerRetriever) {
+            ((CachingSecretsManagerRetriever) secretsManagerClient).invalidateAll();
+        }
+        if (systemsManagerRetriever instanceof TypeMetadataRegistry) {
+            TypeMetadataRegistry registry = (TypeMetadataRegistry) systemsManagerRetriever;
+            registry.invalidateAll();
+            registry.prefetch();
+        }
+    }
+
+    /**
+     * Lambda entry point. AppSync sends a single event, or a list of events when the resolver uses BatchInvoke
+     */
+    public Object handleRequest(Object requestInput, Context context) {
+        return handleRequest(requestInput, context, null);
     }
 
     /**
-     * Lambda entry point
+     * @param edgeConsumer if not null, the edges of a connection query are passed to it as they are read instead of
+     *                     being collected, and the returned QueryResultSet only has the page info
      */
-    public Object handleRequest(Map<String,Object> requestInput, Context context) {
+    Object handleRequest(Object requestInput, Context context, Consumer<LinkedHashMap<String, Object>> edgeConsumer) {
         if (context != null) {
-            LOGGER = context.getLogger();
+            LOGGER.setLogger(context.getLogger());
+        }
+        // the stream handler records the invocation itself, to include writing the response
+        InvocationMetrics metrics = InvocationMetrics.current();
+        if (metrics != null) {
+            return handleRequest(requestInput, edgeConsumer);
+        }
+        metrics = InvocationMetrics.begin();
+        try {
+            return handleRequest(requestInput, edgeConsumer);
+        } finally {
+            metrics.end(context == null ? null : context.getLogger());
+        }
+    }
+
+    private Object handleRequest(Object requestInput, Consumer<LinkedHashMap<String, Object>> edgeConsumer) {
+        LOGGER.trace(() -> "Raw Input: " + LOGGER.json(requestInput));
+        if (requestInput instanceof List) {
+            return handleBatch((List<Map<String, Object>>) requestInput);
         }
-        LOGGER.log("Raw Input: " + Util.GSON.toJson(requestInput));
-        
-        boolean isQueryById = "node".equals(((Map<String, Object>) requestInput.get("info")).get("fieldName"));
-    
-        AppSyncSqlResolverInput input = new AppSyncSqlResolverInput(requestInput, isQueryById);
-        RequestType requestType = input.getRequestType();
-        String graphQlTypeName = getGraphQlTypeName(input.getFieldName(), requestType);
 
+        ResolverRequest request = new ResolverRequest((Map<String, Object>) requestInput);
+        TypeResolution type = resolveType(request.graphQlTypeName);
+        type.prepare(request.input);
+        setMetricsDimensions(request, type);
+        // closing the runner returns its connection to the pool
+        try (GraphQlSqlResolverRunner resolverRunner = newResolverRunner(type.dbProvider, type.typePlan, request.input, type.secret)) {
+            Object result = resolve(resolverRunner, request, edgeConsumer);
+            LOGGER.trace(() -> "Result: " + LOGGER.json(result));
+            return result;
+        } finally {
+            logStatistics(type.dbProvider);
+        }
+    }
+
+    /**
+     * Resolve a batch of events, grouped by GraphQL type and operation so each group looks up its metadata and
+     * credentials once and shares a connection. Results are in input order, each with either its data or its error,
+     * so one bad event does not fail the batch
+     */
+    private List<Map<String, Object>> handleBatch(List<Map<String, Object>> events) {
+        List<Map<String, Object>> results = new ArrayList<>(Collections.nCopies(events.size(), null));
+        List<ResolverRequest> requests = new ArrayList<>(Collections.nCopies(events.size(), null));
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                ResolverRequest request = new ResolverRequest(events.get(i));
+                requests.set(i, request);
+                groups.computeIfAbsent(request.graphQlTypeName + "/" + request.input.getFieldName(), key -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                results.set(i, batchError(e));
+            }
+        }
+        for (List<Integer> group : groups.values()) {
+            resolveGroup(group, requests, results);
+        }
+        LOGGER.debug(() -> String.format("batch of %d events in %d groups", events.size(), groups.size()));
+        return results;
+    }
+
+    private void resolveGroup(List<Integer> group, List<ResolverRequest> requests, List<Map<String, Object>> results) {
+        ResolverRequest first = requests.get(group.get(0));
+        TypeResolution type;
+        GraphQlSqlResolverRunner groupRunner;
+        try {
+            type = resolveType(first.graphQlTypeName);
+            setMetricsDimensions(first, type);
+            for (int i : group) {
+                type.prepare(requests.get(i).input);
+            }
+            groupRunner = newResolverRunner(type.dbProvider, type.typePlan, first.input, type.secret);
+        } catch (RuntimeException e) {
+            group.forEach(i -> results.set(i, batchError(e)));
+            return;
+        }
+        try (groupRunner) {
+            if (first.isQueryById && group.size() > 1) {
+                group = coalesceNodeQueries(groupRunner, group, requests, results);
+            }
+            for (int i : group) {
+                ResolverRequest request = requests.get(i);
+                try (GraphQlSqlResolverRunner resolverRunner = groupRunner.withInput(request.input)) {
+                    results.set(i, batchData(resolve(resolverRunner, request)));
+                } catch (RuntimeException e) {
+                    results.set(i, batchError(e));
+                }
+            }
+        } finally {
+            logStatistics(type.dbProvider);
+        }
+    }
+
+    /**
+     * Resolve the node queries of one type with one IN query per chunk of global IDs, rather than one query per ID.
+     * Queries that found no row, or failed, are left to be resolved individually, so they get their usual error
+     *
+     * @return the requests left to resolve individually
+     */
+    private List<Integer> coalesceNodeQueries(GraphQlSqlResolverRunner groupRunner, List<Integer> group,
+                                              List<ResolverRequest> requests, List<Map<String, Object>> results) {
+        List<Integer> unresolved = new ArrayList<>();
+        // requests selecting the same fields can share a query
+        Map<List<String>, List<Integer>> bySelection = new LinkedHashMap<>();
+        for (int i : group) {
+            bySelection.computeIfAbsent(requests.get(i).input.getSelectionSetList(), selection -> new ArrayList<>()).add(i);
+        }
+        for (List<Integer> sameSelection : bySelection.values()) {
+            if (sameSelection.size() == 1) {
+                unresolved.addAll(sameSelection);
+                continue;
+            }
+            ResolverRequest first = requests.get(sameSelection.get(0));
+            List<String> keyFields = first.input.getKeyFields();
+            Map<List<String>, List<Integer>> byKey = new LinkedHashMap<>();
+            Map<List<String>, LinkedHashMap<String, Object>> keyComponents = new HashMap<>();
+            for (int i : sameSelection) {
+                try {
+                    LinkedHashMap<String, Object> components = Util.globalIdToComponents(
+                            (String) requests.get(i).input.getQueryArguments().get("id"), keyFields, first.graphQlTypeName);
+                    List<String> key = normalizedKey(components.values(), keyFields, first.input.getFieldTypes());
+                    byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+                    keyComponents.put(key, components);
+                } catch (RuntimeException e) {
+                    // e.g. a missing or non-string id
+                    results.set(i, batchError(e));
+                }
+            }
+
+            SelectInfo selectInfo = getSelectInfo(first.input);
+            List<String> sqlColumns = selectWithKeys(first.input, selectInfo);
+            List<List<String>> keys = new ArrayList<>(byKey.keySet());
+            int chunkSize = maxNodesPerQuery(groupRunner.getVendor(), keyFields.size());
+            for (int from = 0; from < keys.size(); from += chunkSize) {
+                List<List<String>> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+                Map<List<String>, LinkedHashMap<String, Object>> rowsByKey;
+                try {
+                    List<LinkedHashMap<String, Object>> chunkComponents = chunk.stream().map(keyComponents::get).collect(Collectors.toList());
+                    List<LinkedHashMap<String, Object>> rows = groupRunner.queryByKeys(
+                            first.input.getDatabaseTableName(), chunkComponents, sqlColumns).getEdges();
+                    rowsByKey = rowsByKey(rows, first.input);
+                    processResult(rows, first.graphQlTypeName, first.input, selectInfo);
+                } catch (RuntimeException e) {
+                    LOGGER.info(() -> "coalesced node query failed, resolving individually: " + e.getMessage());
+                    chunk.forEach(key -> unresolved.addAll(byKey.get(key)));
+                    continue;
+                }
+                for (List<String> key : chunk) {
+                    LinkedHashMap<String, Object> row = rowsByKey.get(key);
+                    for (int i : byKey.get(key)) {
+                        if (row == null) {
+                            unresolved.add(i);
+                            continue;
+                        }
+                        // query by ID has a Union result type
+                        LinkedHashMap<String, Object> node = new LinkedHashMap<>(row);
+                        node.put("__typename", first.graphQlTypeName);
+                        results.set(i, batchData(node));
+                    }
+                }
+            }
+        }
+        Collections.sort(unresolved);
+        return unresolved;
+    }
+
+    /**
+     * Key values in a form that matches between global ID components and result rows, e.g. "10.50" and 10.5
+     */
+    private static List<String> normalizedKey(Collection<Object> values, List<String> keyFields, Map<String, GraphQlFieldType> fieldTypes) {
+        List<String> key = new ArrayList<>(values.size());
+        Iterator<Object> it = values.iterator();
+        for (String keyField : keyFields) {
+            Object value = it.next();
+            GraphQlFieldType fieldType = fieldTypes.get(keyField);
+            if (value != null && (fieldType == GraphQlFieldType.INT || fieldType == GraphQlFieldType.FLOAT)) {
+                try {
+                    value = new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+                } catch (NumberFormatException e) {
+                    // left as is, the request is then resolved individually
+                }
+            }
+            key.add(String.valueOf(value));
+        }
+        return key;
+    }
+
+    /**
+     * Global IDs per coalesced node query, within the bind parameter limits: 2100 per statement for SQL Server and
+     * 1000 IN list values for Oracle
+     */
+    private static int maxNodesPerQuery(String vendor, int keyFieldCount) {
+        int maxParameters;
+        switch (vendor) {
+            case PostgreSqlDatabaseProvider.VENDOR:
+                maxParameters = 10_000;
+                break;
+            case SqlServerDatabaseProvider.VENDOR:
+                maxParameters = 2_000;
+                break;
+            default:
+                maxParameters = 1_000;
+        }
+        return Math.max(1, maxParameters / keyFieldCount);
+    }
+
+    private Object resolve(GraphQlSqlResolverRunner resolverRunner, ResolverRequest request) {
+        return resolve(resolverRunner, request, null);
+    }
+
+    private Object resolve(GraphQlSqlResolverRunner resolverRunner, ResolverRequest request,
+                           Consumer<LinkedHashMap<String, Object>> edgeConsumer) {
+        if (request.input.getRequestType() == RequestType.QUERY) {
+            if (request.isQueryById) {
+                QueryResultSet queryResultSet = handleQuery(resolverRunner, request.input, request.graphQlTypeName, true);
+                return processResultForQueryById(queryResultSet, request.input, request.graphQlTypeName);
+            }
+            if (edgeConsumer != null) {
+                return new QueryResultSet(null, handleQuery(resolverRunner, request.input, request.graphQlTypeName, false, edgeConsumer));
+            }
+            return handleQuery(resolverRunner, request.input, request.graphQlTypeName, false);
+        }
+        try {
+            switch (request.operation) {
+                case "createMany":
+                    return handleCreateMany(resolverRunner, request.input, request.graphQlTypeName);
+                case "updateMany":
+                    return handleUpdateMany(resolverRunner, request.input, request.graphQlTypeName);
+                case "deleteMany":
+                    return handleDeleteMany(resolverRunner, request.input, request.graphQlTypeName);
+                default:
+                    return handleMutation(resolverRunner, request.input, request.graphQlTypeName);
+            }
+        } finally {
+            // also after a failed mutation, which may have changed rows before it failed
+            resultCache.invalidate(request.graphQlTypeName);
+        }
+    }
+
+    /**
+     * Get the type metadata, database credentials and provider of a GraphQL type
+     */
+    private TypeResolution resolveType(String graphQlTypeName) {
         // get table metadata and SecretsManager secret name from SystemsManager
+        long start = System.nanoTime();
         GraphQlTypeMetadata tableMetadata = systemsManagerRetriever.lookupSystemParameter(graphQlTypeName);
-        LOGGER.log("SystemsManager parameter: " + Util.GSON.toJson(tableMetadata));
-        input.setKeyFields(tableMetadata.getKeyFields());
-        input.setGraphQLFieldsInfo(tableMetadata.getGraphQLFields());
-        input.setFieldTypes(tableMetadata.getGraphQLFields());
-        input.setDatabaseTableName(tableMetadata.getDatabaseTableName());
-        input.setLookupInfos(tableMetadata.getLookupInfos());
-        validateSystemsManagerParameters(input, graphQlTypeName);
-        
+        InvocationMetrics.record(InvocationMetrics.Phase.TYPE_METADATA, start);
+        LOGGER.debug(() -> "SystemsManager parameter: " + LOGGER.json(tableMetadata));
+
         // get DB credentials using SecretsManager secret
         SecretsManagerSecret secret = new SecretsManagerSecret(tableMetadata.getSecretName(), tableMetadata.getSecretRegion());
+        start = System.nanoTime();
         DatabaseConnectionParameters params = secretsManagerClient.lookupSecret(secret);
-        input.setDbConnectionParameters(params);
-
-        SqlDatabaseProvider dbProvider = SqlDatabaseProviderFactory.getProvider(input.getDbConnectionParameters().getEngine());
-        try (GraphQlSqlResolverRunner resolverRunner = new GraphQlSqlResolverRunner(dbProvider, graphQlTypeName, input)) {
-            Object result;
-            if (requestType == RequestType.QUERY) {
-                QueryResultSet queryResultSet = handleQuery(resolverRunner, input, graphQlTypeName, isQueryById);
-                if (isQueryById) {
-                    result = processResultForQueryById(queryResultSet, input, graphQlTypeName);
-                } else {
-                    result = queryResultSet;
-                }
+        InvocationMetrics.record(InvocationMetrics.Phase.SECRET, start);
+
+        PooledSqlDatabaseProvider dbProvider = SqlDatabaseProviderFactory.getProvider(params.getEngine());
+        GraphQlTypePlan typePlan = getTypePlan(graphQlTypeName, tableMetadata, dbProvider.getVendor());
+        return new TypeResolution(secret, params, dbProvider, typePlan);
+    }
+
+    private static void setMetricsDimensions(ResolverRequest request, TypeResolution type) {
+        InvocationMetrics metrics = InvocationMetrics.current();
+        if (metrics != null) {
+            metrics.setDimensions(request.graphQlTypeName, request.operation, type.dbProvider.getVendor());
+        }
+    }
+
+    private void logStatistics(PooledSqlDatabaseProvider dbProvider) {
+        LOGGER.debug(() -> "connection pool: " + dbProvider.getStatistics());
+        LOGGER.debug(() -> "secrets: " + secretsManagerClient);
+        LOGGER.debug(() -> "type metadata: " + systemsManagerRetriever);
+        LOGGER.debug(() -> "result cache: " + resultCache);
+    }
+
+    private static Map<String, Object> batchData(Object data) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("data", data);
+        return result;
+    }
+
+    /**
+     * Per-event error of a batch, which AppSync reports as the error of that field
+     */
+    private static Map<String, Object> batchError(RuntimeException e) {
+        LOGGER.error(() -> "batch event failed: " + e);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("data", null);
+        result.put("errorMessage", e.getMessage());
+        result.put("errorType", e.getClass().getSimpleName());
+        return result;
+    }
+
+    /**
+     * A parsed AppSync event
+     */
+    private static class ResolverRequest {
+        final boolean isQueryById;
+        final AppSyncSqlResolverInput input;
+        final String graphQlTypeName;
+        // node, query, create, update or delete
+        final String operation;
+
+        ResolverRequest(Map<String, Object> requestInput) {
+            this.isQueryById = "node".equals(((Map<String, Object>) requestInput.get("info")).get("fieldName"));
+            this.input = new AppSyncSqlResolverInput(requestInput, isQueryById);
+            this.graphQlTypeName = getGraphQlTypeName(input.getFieldName(), input.getRequestType());
+            if (input.getRequestType() == RequestType.MUTATION) {
+                this.operation = input.getFieldName().substring(0, input.getFieldName().indexOf('_'));
             } else {
-                result = handleMutation(resolverRunner, input, graphQlTypeName);
+                this.operation = isQueryById ? "node" : "query";
             }
-            LOGGER.log(result.toString());
-            return result;
         }
     }
+
+    /**
+     * What the requests for a GraphQL type resolve against
+     */
+    private static class TypeResolution {
+        final SecretsManagerSecret secret;
+        final DatabaseConnectionParameters params;
+        final PooledSqlDatabaseProvider dbProvider;
+        final GraphQlTypePlan typePlan;
+
+        TypeResolution(SecretsManagerSecret secret, DatabaseConnectionParameters params,
+                       PooledSqlDatabaseProvider dbProvider, GraphQlTypePlan typePlan) {
+            this.secret = secret;
+            this.params = params;
+            this.dbProvider = dbProvider;
+            this.typePlan = typePlan;
+        }
+
+        void prepare(AppSyncSqlResolverInput input) {
+            input.setDbConnectionParameters(params);
+            input.setTypePlan(typePlan);
+        }
+    }
+
+    /**
+     * Connect to the database. If the database rejects the credentials, the secret may have been rotated since it
+     * was cached: look it up again and retry once
+     */
+    private GraphQlSqlResolverRunner newResolverRunner(PooledSqlDatabaseProvider dbProvider, GraphQlTypePlan typePlan,
+                                                       AppSyncSqlResolverInput input, SecretsManagerSecret secret) {
+        try {
+            return new GraphQlSqlResolverRunner(dbProvider, typePlan, input, resultCache);
+        } catch (GraphQlAdapterException e) {
+            if (!isAuthenticationFailure(dbProvider, e)) {
+                throw e;
+            }
+            LOGGER.info(() -> "database rejected credentials, refreshing secret: " + secret.getName());
+            long start = System.nanoTime();
+            input.setDbConnectionParameters(secretsManagerClient.refreshSecret(secret));
+            InvocationMetrics.record(InvocationMetrics.Phase.SECRET, start);
+            return new GraphQlSqlResolverRunner(dbProvider, typePlan, input, resultCache);
+        }
+    }
+
+    private static boolean isAuthenticationFailure(SqlDatabaseProvider dbProvider, Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && dbProvider.isAuthenticationFailure((SQLException) cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get the precompiled plan for a type, rebuilding it when the metadata was refreshed or the database vendor changed
+     */
+    private GraphQlTypePlan getTypePlan(String graphQlTypeName, GraphQlTypeMetadata tableMetadata, String vendor) {
+        GraphQlTypePlan typePlan = typePlans.get(graphQlTypeName);
+        if (typePlan == null || !typePlan.isBuiltFrom(tableMetadata, vendor)) {
+            typePlan = new GraphQlTypePlan(graphQlTypeName, tableMetadata, vendor);
+            typePlans.put(graphQlTypeName, typePlan);
+        }
+        return typePlan;
+    }
     
     private QueryResultSet handleQuery(GraphQlSqlResolverRunner resolverRunner, AppSyncSqlResolverInput input, String graphQlTypeName, boolean isQueryById) {
+        List<LinkedHashMap<String, Object>> graphQlEdges = new ArrayList<>();
+        Map<String, Object> pageInfo = handleQuery(resolverRunner, input, graphQlTypeName, isQueryById, graphQlEdges::add);
+        return new QueryResultSet(graphQlEdges, pageInfo);
+    }
+
+    /**
+     * Run a query, passing each edge to the consumer as its row is read
+     *
+     * @return the page info
+     */
+    private Map<String, Object> handleQuery(GraphQlSqlResolverRunner resolverRunner, AppSyncSqlResolverInput input, String graphQlTypeName,
+                                            boolean isQueryById, Consumer<LinkedHashMap<String, Object>> edgeConsumer) {
         String sqlTableName = input.getDatabaseTableName();
         SelectInfo selectInfo = getSelectInfo(input);
-        boolean setEdgeCursorValue = input.getSelectionSetList().stream().filter(val -> val.equals("edges/cursor")).count() > 0;
+        boolean setEdgeCursorValue = input.getSelectionSetList().contains(GraphQlSqlResolverRunner.EDGE_CURSOR_FIELD);
         // query by id: convert "id" argument into a where clause
         if (isQueryById) {
             String globalIdValue = (String) input.getQueryArguments().get("id");
@@ -93,24 +520,19 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
             input.getQueryArguments().put("where", whereClauseMap);
         }
         
-        QueryResultSet resultSet = resolverRunner.query(sqlTableName, input.getQueryArguments(), selectInfo.sqlColumns);
-        List<LinkedHashMap<String, Object>> graphQlEdges = resultSet.getEdges();
-        graphQlEdges = processResult(graphQlEdges, graphQlTypeName, input, selectInfo);
-
-        // regular queries support paging, wrap results in "node" as defined in Relay spec
-        // this "node" is completely separate from the query by global ID function called "node"
-        // For each edge in the connection, we asked for a cursor. This cursor is an opaque string,
-        // and is precisely what we would pass to the after arg to paginate starting after this edge.
-        graphQlEdges = graphQlEdges.stream().map(item -> {
-                    LinkedHashMap<String, Object> map = new LinkedHashMap<>();
-                    if (setEdgeCursorValue) {
-                        map.put("cursor", item.get("Edges/cursor"));
-                        item.remove("Edges/cursor");
-                    }
-                    map.put("node", item);
-                    return map;
-                }).collect(Collectors.toList());
-        return new QueryResultSet(graphQlEdges, resultSet.getPageInfo());
+        return resolverRunner.query(sqlTableName, input.getQueryArguments(), selectInfo.sqlColumns, item -> {
+            processRow(item, graphQlTypeName, input, selectInfo);
+            // regular queries support paging, wrap results in "node" as defined in Relay spec
+            // this "node" is completely separate from the query by global ID function called "node"
+            // For each edge in the connection, we asked for a cursor. This cursor is an opaque string,
+            // and is precisely what we would pass to the after arg to paginate starting after this edge.
+            LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+            if (setEdgeCursorValue) {
+                map.put("cursor", item.remove(GraphQlSqlResolverRunner.EDGE_CURSOR_FIELD));
+            }
+            map.put("node", item);
+            edgeConsumer.accept(map);
+        });
     }
 
     private Map<String, Object> handleMutation(GraphQlSqlResolverRunner resolverRunner, AppSyncSqlResolverInput input, String graphQlTypeName) {
@@ -135,29 +557,7 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
         // set the new values to insert/update
         LinkedHashMap<String, Object> newValues = new LinkedHashMap<>();
         if (Set.of(SqlStatementType.INSERT, SqlStatementType.UPDATE).contains(statementType)) {
-            Map<String, Object> arguments = (Map<String, Object>) input.getQueryArguments().get("input");
-            
-            for (String key : arguments.keySet()) {
-                if (key.equals("id")) {
-                    continue;
-                }
-                // convert any lookups to their values
-                if (input.getLookupInfos().containsKey(key)) {
-                    LookupInfo lookupInfo = input.getLookupInfos().get(key);
-                    LinkedHashMap<String, Object> components = Util.globalIdToComponents((String) arguments.get(key), 
-                            lookupInfo.getKeyFields(), lookupInfo.getType());
-                    components.forEach((field, value) -> {
-                        if (arguments.containsKey(field) && !value.equals(arguments.get(field))) {  // the lookup and physical values differ
-                            throw new GraphQlAdapterException(String.format("the provided input values for lookup %s and physical " +
-                                    "column %s are different. lookup: %s. physical column: %s",
-                                    key, field, arguments.get(key), arguments.get(field)));
-                        }
-                        newValues.put(field, value);
-                    });
-                } else {
-                    newValues.put(key, arguments.get(key));
-                }
-            }
+            newValues = newValues(input, (Map<String, Object>) input.getQueryArguments().get("input"));
             if (SqlStatementType.UPDATE.equals(statementType) && newValues.isEmpty()) {
                 throw new GraphQlAdapterException("no-op updates are not allowed, at least one field to update must be specified");
             }
@@ -167,15 +567,7 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
         LinkedHashMap<String, Object> where;
         String globalIdValue = null;
         if (SqlStatementType.INSERT.equals(statementType)) {
-            LinkedHashMap<String, Object> keyColumnToValue = new LinkedHashMap<>();
-            input.getKeyFields().forEach(keyCol -> {
-                Object componentValue = newValues.get(keyCol);
-                if (componentValue == null) {
-                    throw new GraphQlAdapterException("create mutation is missing required value: " + keyCol);
-                }
-                keyColumnToValue.put(keyCol, componentValue);
-            });
-            where = keyColumnToValue;
+            where = createdKey(input, newValues);
         } else if (SqlStatementType.UPDATE.equals(statementType)) {
             globalIdValue = (String) ((Map<String, Object>)input.getQueryArguments().get("input")).get("id");
             where = Util.globalIdToComponents(globalIdValue, input.getKeyFields(), graphQlTypeName);
@@ -198,6 +590,281 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
         return graphQlEdges.get(0);
     }
 
+    /**
+     * Create the rows of the "inputs" argument in one transaction: the rows are validated up front, inserted with JDBC
+     * batches and read back with one query per chunk of keys. If any row fails, no row is created and the error names
+     * the row, e.g. inputs[3]
+     *
+     * @return the created rows, in input order
+     */
+    private List<LinkedHashMap<String, Object>> handleCreateMany(GraphQlSqlResolverRunner resolverRunner,
+                                                                 AppSyncSqlResolverInput input, String graphQlTypeName) {
+        List<Map<String, Object>> inputs = (List<Map<String, Object>>) input.getQueryArguments().get("inputs");
+        if (inputs == null || inputs.isEmpty()) {
+            throw new GraphQlAdapterException("createMany mutation requires at least one input");
+        }
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(inputs.size());
+        List<LinkedHashMap<String, Object>> keys = new ArrayList<>(inputs.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            try {
+                LinkedHashMap<String, Object> newValues = newValues(input, inputs.get(i));
+                keys.add(createdKey(input, newValues));
+                rows.add(newValues);
+            } catch (GraphQlAdapterException e) {
+                errors.add(String.format("inputs[%d]: %s", i, e.getMessage()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new GraphQlAdapterException(String.join("; ", errors));
+        }
+
+        SelectInfo selectInfo = getSelectInfo(input);
+        List<String> sqlColumns = selectWithKeys(input, selectInfo);
+        List<LinkedHashMap<String, Object>> created;
+        try {
+            created = resolverRunner.inTransaction(() -> {
+                resolverRunner.insertMany(input.getDatabaseTableName(), rows);
+                return queryByKeys(resolverRunner, input, keys, sqlColumns);
+            });
+        } catch (BatchRowException e) {
+            throw new GraphQlAdapterException(String.format("inputs[%d]: %s", e.getRow(), e.getMessage()), e);
+        }
+
+        Map<List<String>, LinkedHashMap<String, Object>> rowsByKey = rowsByKey(created, input);
+        List<LinkedHashMap<String, Object>> results = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            LinkedHashMap<String, Object> row = rowsByKey.get(normalizedKey(keys.get(i).values(), input.getKeyFields(), input.getFieldTypes()));
+            if (row == null) {
+                throw new GraphQlAdapterException(String.format("inputs[%d]: created row was not found", i));
+            }
+            // the same row object for duplicate keys would be processed twice
+            results.add(new LinkedHashMap<>(row));
+        }
+        return processResult(results, graphQlTypeName, input, selectInfo);
+    }
+
+    /**
+     * Update the rows of the "inputs" argument, each with its global ID in "id", in one transaction: the rows are
+     * validated up front, updated with JDBC batches that share the UPDATE of the rows setting the same columns, and
+     * read back with one query per chunk of keys. If any row fails, e.g. its ID has no row, no row is updated
+     *
+     * @return the updated rows, in input order
+     */
+    private List<LinkedHashMap<String, Object>> handleUpdateMany(GraphQlSqlResolverRunner resolverRunner,
+                                                                 AppSyncSqlResolverInput input, String graphQlTypeName) {
+        List<Map<String, Object>> inputs = (List<Map<String, Object>>) input.getQueryArguments().get("inputs");
+        if (inputs == null || inputs.isEmpty()) {
+            throw new GraphQlAdapterException("updateMany mutation requires at least one input");
+        }
+        List<String> ids = new ArrayList<>(inputs.size());
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(inputs.size());
+        List<LinkedHashMap<String, Object>> keys = new ArrayList<>(inputs.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            try {
+                if (!(inputs.get(i).get("id") instanceof String)) {
+                    throw new GraphQlAdapterException("update mutation is missing the id of the object to update");
+                }
+                String id = (String) inputs.get(i).get("id");
+                LinkedHashMap<String, Object> key = Util.globalIdToComponents(id, input.getKeyFields(), graphQlTypeName);
+                LinkedHashMap<String, Object> newValues = newValues(input, inputs.get(i));
+                if (newValues.isEmpty()) {
+                    throw new GraphQlAdapterException("no-op updates are not allowed, at least one field to update must be specified");
+                }
+                ids.add(id);
+                keys.add(key);
+                rows.add(newValues);
+            } catch (GraphQlAdapterException e) {
+                errors.add(String.format("inputs[%d]: %s", i, e.getMessage()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new GraphQlAdapterException(String.join("; ", errors));
+        }
+
+        SelectInfo selectInfo = getSelectInfo(input);
+        List<String> sqlColumns = selectWithKeys(input, selectInfo);
+        List<LinkedHashMap<String, Object>> results;
+        try {
+            results = resolverRunner.inTransaction(() -> {
+                int[] updateCounts = resolverRunner.updateMany(input.getDatabaseTableName(), rows, keys);
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] == 0) {
+                        throw new GraphQlAdapterException(String.format("inputs[%d]: did not find an object with id: %s", i, ids.get(i)));
+                    }
+                }
+                // drivers that do not report batch update counts: an ID without a row is not read back either
+                return inInputOrder(queryByKeys(resolverRunner, input, keys, sqlColumns), keys, input, "inputs", ids);
+            });
+        } catch (BatchRowException e) {
+            throw new GraphQlAdapterException(String.format("inputs[%d]: %s", e.getRow(), e.getMessage()), e);
+        }
+        return processResult(results, graphQlTypeName, input, selectInfo);
+    }
+
+    /**
+     * Delete the rows of the global IDs of the "ids" argument in one transaction: the rows are read first, to be
+     * returned, then deleted with one statement per chunk of keys. If any ID has no row, no row is deleted
+     *
+     * @return the deleted rows, in input order
+     */
+    private List<LinkedHashMap<String, Object>> handleDeleteMany(GraphQlSqlResolverRunner resolverRunner,
+                                                                 AppSyncSqlResolverInput input, String graphQlTypeName) {
+        List<String> ids = (List<String>) input.getQueryArguments().get("ids");
+        if (ids == null || ids.isEmpty()) {
+            throw new GraphQlAdapterException("deleteMany mutation requires at least one id");
+        }
+        List<LinkedHashMap<String, Object>> keys = new ArrayList<>(ids.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                if (ids.get(i) == null) {
+                    throw new GraphQlAdapterException("id must not be null");
+                }
+                keys.add(Util.globalIdToComponents(ids.get(i), input.getKeyFields(), graphQlTypeName));
+            } catch (GraphQlAdapterException e) {
+                errors.add(String.format("ids[%d]: %s", i, e.getMessage()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new GraphQlAdapterException(String.join("; ", errors));
+        }
+
+        SelectInfo selectInfo = getSelectInfo(input);
+        List<String> sqlColumns = selectWithKeys(input, selectInfo);
+        List<LinkedHashMap<String, Object>> results = resolverRunner.inTransaction(() -> {
+            List<LinkedHashMap<String, Object>> rows = queryByKeys(resolverRunner, input, keys, sqlColumns);
+            List<LinkedHashMap<String, Object>> deleted = inInputOrder(rows, keys, input, "ids", ids);
+            // an ID listed twice is deleted once
+            Map<List<String>, LinkedHashMap<String, Object>> distinctKeys = new LinkedHashMap<>();
+            for (LinkedHashMap<String, Object> key : keys) {
+                distinctKeys.putIfAbsent(normalizedKey(key.values(), input.getKeyFields(), input.getFieldTypes()), key);
+            }
+            List<LinkedHashMap<String, Object>> toDelete = new ArrayList<>(distinctKeys.values());
+            int chunkSize = maxNodesPerQuery(resolverRunner.getVendor(), input.getKeyFields().size());
+            int deletedCount = 0;
+            for (int from = 0; from < toDelete.size(); from += chunkSize) {
+                deletedCount += resolverRunner.deleteByKeys(input.getDatabaseTableName(),
+                        toDelete.subList(from, Math.min(from + chunkSize, toDelete.size())));
+            }
+            if (deletedCount != toDelete.size()) {
+                throw new GraphQlAdapterException(String.format("expected to delete %d rows, deleted %d. " +
+                        "The rows changed while deleting", toDelete.size(), deletedCount));
+            }
+            return deleted;
+        });
+        return processResult(results, graphQlTypeName, input, selectInfo);
+    }
+
+    /**
+     * Match rows read back by key to the inputs
+     *
+     * @param argument name of the mutation argument, for the error of an ID without a row, e.g. ids[3]
+     * @return a copy of the row of each key, in input order
+     */
+    private static List<LinkedHashMap<String, Object>> inInputOrder(List<LinkedHashMap<String, Object>> rows,
+                                                                    List<LinkedHashMap<String, Object>> keys,
+                                                                    AppSyncSqlResolverInput input, String argument,
+                                                                    List<String> ids) {
+        Map<List<String>, LinkedHashMap<String, Object>> rowsByKey = rowsByKey(rows, input);
+        List<LinkedHashMap<String, Object>> results = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            LinkedHashMap<String, Object> row = rowsByKey.get(normalizedKey(keys.get(i).values(), input.getKeyFields(), input.getFieldTypes()));
+            if (row == null) {
+                throw new GraphQlAdapterException(String.format("%s[%d]: did not find an object with id: %s", argument, i, ids.get(i)));
+            }
+            // the same row object for duplicate keys would be processed twice
+            results.add(new LinkedHashMap<>(row));
+        }
+        return results;
+    }
+
+    /**
+     * @return the SQL columns of the selection, with the key columns added to match rows to their keys
+     */
+    private static List<String> selectWithKeys(AppSyncSqlResolverInput input, SelectInfo selectInfo) {
+        List<String> sqlColumns = new ArrayList<>(selectInfo.sqlColumns);
+        for (String keyField : input.getKeyFields()) {
+            String sqlKeyField = Util.graphQlToSqlName(keyField, input.getGraphQLFieldsInfo());
+            if (!sqlColumns.contains(sqlKeyField)) {
+                sqlColumns.add(sqlKeyField);
+                selectInfo.fieldsToRemove.add(keyField);
+            }
+        }
+        return sqlColumns;
+    }
+
+    /**
+     * Query the rows of the keys, one query per chunk within the vendor's bind parameter limits
+     */
+    private static List<LinkedHashMap<String, Object>> queryByKeys(GraphQlSqlResolverRunner resolverRunner, AppSyncSqlResolverInput input,
+                                                                   List<LinkedHashMap<String, Object>> keys, List<String> sqlColumns) {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(keys.size());
+        int chunkSize = maxNodesPerQuery(resolverRunner.getVendor(), input.getKeyFields().size());
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<LinkedHashMap<String, Object>> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            rows.addAll(resolverRunner.queryByKeys(input.getDatabaseTableName(), chunk, sqlColumns).getEdges());
+        }
+        return rows;
+    }
+
+    private static Map<List<String>, LinkedHashMap<String, Object>> rowsByKey(List<LinkedHashMap<String, Object>> rows,
+                                                                             AppSyncSqlResolverInput input) {
+        Map<List<String>, LinkedHashMap<String, Object>> rowsByKey = new HashMap<>();
+        for (LinkedHashMap<String, Object> row : rows) {
+            List<Object> rowKey = new ArrayList<>();
+            input.getKeyFields().forEach(keyField -> rowKey.add(row.get(keyField)));
+            rowsByKey.put(normalizedKey(rowKey, input.getKeyFields(), input.getFieldTypes()), row);
+        }
+        return rowsByKey;
+    }
+
+    /**
+     * @return the values to insert or update from a mutation input, keyed by GraphQL name, with lookups converted to
+     * the values of their physical columns
+     */
+    private static LinkedHashMap<String, Object> newValues(AppSyncSqlResolverInput input, Map<String, Object> arguments) {
+        LinkedHashMap<String, Object> newValues = new LinkedHashMap<>();
+        for (String key : arguments.keySet()) {
+            if (key.equals("id")) {
+                continue;
+            }
+            // convert any lookups to their values
+            if (input.getLookupInfos().containsKey(key)) {
+                LookupInfo lookupInfo = input.getLookupInfos().get(key);
+                LinkedHashMap<String, Object> components = Util.globalIdToComponents((String) arguments.get(key),
+                        lookupInfo.getKeyFields(), lookupInfo.getType());
+                components.forEach((field, value) -> {
+                    if (arguments.containsKey(field) && !value.equals(arguments.get(field))) {  // the lookup and physical values differ
+                        throw new GraphQlAdapterException(String.format("the provided input values for lookup %s and physical " +
+                                "column %s are different. lookup: %s. physical column: %s",
+                                key, field, arguments.get(key), arguments.get(field)));
+                    }
+                    newValues.put(field, value);
+                });
+            } else {
+                newValues.put(key, arguments.get(key));
+            }
+        }
+        return newValues;
+    }
+
+    /**
+     * @return the key field values of a row to create
+     */
+    private static LinkedHashMap<String, Object> createdKey(AppSyncSqlResolverInput input, LinkedHashMap<String, Object> newValues) {
+        LinkedHashMap<String, Object> keyColumnToValue = new LinkedHashMap<>();
+        input.getKeyFields().forEach(keyCol -> {
+            Object componentValue = newValues.get(keyCol);
+            if (componentValue == null) {
+                throw new GraphQlAdapterException("create mutation is missing required value: " + keyCol);
+            }
+            keyColumnToValue.put(keyCol, componentValue);
+        });
+        return keyColumnToValue;
+    }
+
     /**
      * parse the selectionSetList into SELECT columns. If "id" is a return type, ensure the key columns are in SELECT
      */
@@ -283,62 +950,66 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
         return result;
     }
 
-    private List<LinkedHashMap<String, Object>> processResult(List<LinkedHashMap<String, Object>> edges, String graphQlTypeName, AppSyncSqlResolverInput input, SelectInfo selectInfo) {
-        List<LinkedHashMap<String, Object>> graphQlEdges = edges.stream().map(value -> Util.sqlNameToGraphQlName(value, input.getGraphQLFieldsInfo())).collect(Collectors.toList());
-        addLookupFieldValues(graphQlEdges, input.getLookupInfos(), selectInfo.lookupFields);
-        if (selectInfo.retrieveGlobalId) {
-            addGlobalIdValues(graphQlEdges, "id", graphQlTypeName, input.getKeyFields());
+    /**
+     * add global ID and lookup values to the result rows, which the runner already keys by GraphQL name
+     */
+    private List<LinkedHashMap<String, Object>> processResult(List<LinkedHashMap<String, Object>> graphQlEdges, String graphQlTypeName, AppSyncSqlResolverInput input, SelectInfo selectInfo) {
+        for (LinkedHashMap<String, Object> row : graphQlEdges) {
+            processRow(row, graphQlTypeName, input, selectInfo);
         }
-        removeExtraFields(graphQlEdges, selectInfo.fieldsToRemove);
         return graphQlEdges;
     }
 
-    private void addLookupFieldValues(List<LinkedHashMap<String, Object>> result, Map<String, LookupInfo> lookupFieldToType, List<String> lookupFields) {
+    private void processRow(LinkedHashMap<String, Object> row, String graphQlTypeName, AppSyncSqlResolverInput input, SelectInfo selectInfo) {
+        addLookupFieldValues(row, input.getLookupInfos(), selectInfo.lookupFields);
+        if (selectInfo.retrieveGlobalId) {
+            addGlobalIdValue(row, "id", graphQlTypeName, input.getKeyFields());
+        }
+        removeExtraFields(row, selectInfo.fieldsToRemove);
+    }
+
+    private void addLookupFieldValues(LinkedHashMap<String, Object> row, Map<String, LookupInfo> lookupFieldToType, List<String> lookupFields) {
         // lookup field value is just global ID of another type
         lookupFields.forEach(lookupField -> {
             LookupInfo lookupInfo = lookupFieldToType.get(lookupField);
-            addGlobalIdValues(result, lookupField, lookupInfo.getType(), lookupInfo.getKeyFields());
+            addGlobalIdValue(row, lookupField, lookupInfo.getType(), lookupInfo.getKeyFields());
         });
     }
     
     /**
-     * Add global id to each row in the result, constructing the id with the key columns
+     * Add global id to the row, constructing the id with the key columns
      */
-    private void addGlobalIdValues(List<LinkedHashMap<String, Object>> result, String fieldName, String typeName, List<String> keyColumns) {
-        for (LinkedHashMap<String, Object> row : result) {
-            List<Object> externalIdComponents = new ArrayList<>();
-            externalIdComponents.add(typeName);
-            for (String keyCol : keyColumns) {
-                if (!row.containsKey(keyCol)) {
-                    throw new GraphQlAdapterException(
-                            String.format("expected key column %s to be in result set: %s", keyCol, row));
-                }
-                Object value = row.get(keyCol);
-                if (value instanceof BigDecimal) {
-                    value = ((BigDecimal) value).stripTrailingZeros().toPlainString();
-                }
-                externalIdComponents.add(value.toString().replace("-", "\\-"));
+    private void addGlobalIdValue(LinkedHashMap<String, Object> row, String fieldName, String typeName, List<String> keyColumns) {
+        List<Object> externalIdComponents = new ArrayList<>();
+        externalIdComponents.add(typeName);
+        for (String keyCol : keyColumns) {
+            if (!row.containsKey(keyCol)) {
+                throw new GraphQlAdapterException(
+                        String.format("expected key column %s to be in result set: %s", keyCol, row));
             }
-            // id will always be at end of result set, that is okay because AppSync will put it in the correct order
-            row.put(fieldName, externalIdComponents.stream().map(Object::toString).collect(Collectors.joining("-")));
+            Object value = row.get(keyCol);
+            if (value instanceof BigDecimal) {
+                value = ((BigDecimal) value).stripTrailingZeros().toPlainString();
+            }
+            externalIdComponents.add(value.toString().replace("-", "\\-"));
         }
+        // id will always be at end of result set, that is okay because AppSync will put it in the correct order
+        row.put(fieldName, externalIdComponents.stream().map(Object::toString).collect(Collectors.joining("-")));
     }
 
     /**
      * when returning the global ID, the SQL query may include SELECT columns required to get global ID, but weren't 
      * requested in the original selectionSetList
      */
-    private void removeExtraFields(List<LinkedHashMap<String, Object>> result, Set<String> toRemove) {
-        for (LinkedHashMap<String, Object> row : result) {
-            toRemove.forEach(row::remove);
-        }
+    private void removeExtraFields(LinkedHashMap<String, Object> row, Set<String> toRemove) {
+        toRemove.forEach(row::remove);
     }
 
     /**
      * Query mySchema_myOrder -> MySchema_MyOrder
      * Mutation create_mySchema_myOrder -> MySchema_MyOrder
      */
-    private String getGraphQlTypeName(String appsyncFieldName, RequestType requestType) {
+    private static String getGraphQlTypeName(String appsyncFieldName, RequestType requestType) {
         if (RequestType.MUTATION.equals(requestType)) {
             int firstUnderscoreIndex = appsyncFieldName.indexOf("_");
             if (firstUnderscoreIndex == -1) {
@@ -351,24 +1022,6 @@ public class AppSyncSqlResolverLambdaRequestHandler implements RequestHandler<Ma
         return appsyncFieldName;
     }
 
-    /**
-     * validate the parameter retrieved from SystemsManager
-     */
-    private void validateSystemsManagerParameters(AppSyncSqlResolverInput input, String graphQlTypeName) {
-        if (input.getKeyFields() == null || input.getKeyFields().isEmpty()) {
-            throw new GraphQlAdapterException(String.format("SystemsManager parameter for %s must define keyFields", graphQlTypeName));
-        }
-        if (input.getFieldTypes() == null || input.getFieldTypes().isEmpty()) {
-            throw new GraphQlAdapterException(String.format("SystemsManager parameter for %s must define fieldType in 'graphQLFields' property", graphQlTypeName));
-        }
-        List<String> keyColsMissingFieldType = input.getKeyFields().stream()
-                .filter(keyCol -> input.getFieldTypes().containsKey(keyCol))
-                .collect(Collectors.toList());
-        if (keyColsMissingFieldType.isEmpty()) {
-            throw new GraphQlAdapterException("Missing field type declarations for key columns: " + keyColsMissingFieldType);
-        }
-    }
-    
     private boolean modifySelectForGlobalId(String field, List<String> keyColumns, List<String> select, Set<String> fieldsToRemove) {
         if (!select.contains(field)) {
             return false;
@@ -0,0 +1,112 @@
+package graphql.appsync;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.stream.JsonWriter;
+import graphql.QueryResultSet;
+import util.InvocationMetrics;
+import util.Util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Lambda entry point that writes the response to the output stream as it is read from the database. The edges of a
+ * connection query are written one by one and the page info last, so the rows of a page are never all held in
+ * memory. Node queries, mutations and batches are written whole. The output is the same as the one of
+ * AppSyncSqlResolverLambdaRequestHandler.
+ *
+ * The invocation's metrics include the time spent writing the response and its size, see {@link InvocationMetrics}.
+ */
+public class AppSyncSqlResolverLambdaStreamHandler implements RequestStreamHandler {
+    private final AppSyncSqlResolverLambdaRequestHandler handler;
+
+    public AppSyncSqlResolverLambdaStreamHandler() {
+        this(new AppSyncSqlResolverLambdaRequestHandler());
+    }
+
+    @VisibleForTesting
+    public AppSyncSqlResolverLambdaStreamHandler(SecretsManagerRetriever secretsManagerRetriever, SystemsManagerRetriever systemsManagerRetriever) {
+        this(new AppSyncSqlResolverLambdaRequestHandler(secretsManagerRetriever, systemsManagerRetriever));
+    }
+
+    AppSyncSqlResolverLambdaStreamHandler(AppSyncSqlResolverLambdaRequestHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        CountingOutputStream counting = new CountingOutputStream(output);
+        try {
+            handleRequest(input, counting, context);
+        } finally {
+            metrics.setResponseBytes(counting.count);
+            metrics.end(context == null ? null : context.getLogger());
+        }
+    }
+
+    private void handleRequest(InputStream input, CountingOutputStream output, Context context) throws IOException {
+        Object requestInput;
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            requestInput = Util.GSON.fromJson(reader, Object.class);
+        }
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        writer.setSerializeNulls(true);
+        boolean[] edgesStarted = {false};
+        Object result;
+        try {
+            result = handler.handleRequest(requestInput, context, edge -> {
+                long start = System.nanoTime();
+                try {
+                    if (!edgesStarted[0]) {
+                        edgesStarted[0] = true;
+                        writer.beginObject().name("edges").beginArray();
+                    }
+                    Util.GSON.toJson(edge, Map.class, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    InvocationMetrics.record(InvocationMetrics.Phase.SERIALIZE, start);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long start = System.nanoTime();
+        if (result instanceof QueryResultSet && ((QueryResultSet) result).getEdges() == null) {
+            if (!edgesStarted[0]) {
+                writer.beginObject().name("edges").beginArray();
+            }
+            writer.endArray().name("pageInfo");
+            Util.GSON.toJson(((QueryResultSet) result).getPageInfo(), Map.class, writer);
+            writer.endObject();
+        } else {
+            Util.GSON.toJson(result, result.getClass(), writer);
+        }
+        writer.flush();
+        InvocationMetrics.record(InvocationMetrics.Phase.SERIALIZE, start);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
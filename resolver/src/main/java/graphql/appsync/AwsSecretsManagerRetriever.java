@@ -8,14 +8,18 @@ import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRespon
 import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 import util.Util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class AwsSecretsManagerRetriever implements SecretsManagerRetriever {
+    // building a client is expensive, reuse one per region for the lifetime of the Lambda container
+    private final Map<String, SecretsManagerClient> regionToClient = new ConcurrentHashMap<>();
 
     @Override
     public DatabaseConnectionParameters lookupSecret(SecretsManagerSecret secret) {
-        // Create a Secrets Manager client
-        SecretsManagerClient client = SecretsManagerClient.builder()
-                .region(Region.of(secret.getRegion()))
-                .build();
+        SecretsManagerClient client = regionToClient.computeIfAbsent(secret.getRegion(), region -> SecretsManagerClient.builder()
+                .region(Region.of(region))
+                .build());
 
         GetSecretValueRequest getSecretValueRequest = GetSecretValueRequest.builder()
                 .secretId(secret.getName())
@@ -32,4 +36,4 @@ public class AwsSecretsManagerRetriever implements SecretsManagerRetriever {
         // secret must match format of DbConnectionParameters class
         return Util.GSON.fromJson(retrievedSecret, DatabaseConnectionParameters.class);
     }
-}
\ No newline at end of file
+}
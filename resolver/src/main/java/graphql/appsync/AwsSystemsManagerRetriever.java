@@ -6,30 +6,66 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.Parameter;
 import util.Util;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class AwsSystemsManagerRetriever implements SystemsManagerRetriever {
+    private static final String TYPE_METADATA_PATH = "/appsync/typemetadata/";
+
+    // building a client is expensive, reuse it for the lifetime of the Lambda container
+    private volatile SsmClient ssmClient;
+
     @Override
     public GraphQlTypeMetadata lookupSystemParameter(String parameterName) {
-        parameterName = "/appsync/typemetadata/" + parameterName;
+        GetParameterRequest parameterRequest = GetParameterRequest.builder()
+                .name(TYPE_METADATA_PATH + parameterName)
+                .build();
 
-        // Lambda function will always have this set
-        String regionEnvVar = System.getenv("AWS_REGION");
-        if (regionEnvVar == null) {
-            throw new GraphQlAdapterException("AWS_REGION environment variable not set");
-        }
-        Region region = Region.of(System.getenv("AWS_REGION"));
-        SsmClient ssmClient = SsmClient.builder()
-                .region(region)
+        GetParameterResponse parameterResponse = getClient().getParameter(parameterRequest);
+        return Util.GSON.fromJson(parameterResponse.parameter().value(), GraphQlTypeMetadata.class);
+    }
+
+    /**
+     * Fetch every type under the type metadata path, a page of up to 10 parameters per call
+     */
+    @Override
+    public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+        GetParametersByPathRequest request = GetParametersByPathRequest.builder()
+                .path(TYPE_METADATA_PATH)
+                .recursive(false)
+                .maxResults(10)
                 .build();
 
-        try (ssmClient) {
-            GetParameterRequest parameterRequest = GetParameterRequest.builder()
-                    .name(parameterName)
-                    .build();
+        Map<String, GraphQlTypeMetadata> nameToMetadata = new HashMap<>();
+        for (Parameter parameter : getClient().getParametersByPathPaginator(request).parameters()) {
+            String typeName = parameter.name().substring(TYPE_METADATA_PATH.length());
+            nameToMetadata.put(typeName, Util.GSON.fromJson(parameter.value(), GraphQlTypeMetadata.class));
+        }
+        return nameToMetadata;
+    }
 
-            GetParameterResponse parameterResponse = ssmClient.getParameter(parameterRequest);
-            return Util.GSON.fromJson(parameterResponse.parameter().value(), GraphQlTypeMetadata.class);
+    private SsmClient getClient() {
+        SsmClient client = ssmClient;
+        if (client == null) {
+            synchronized (this) {
+                client = ssmClient;
+                if (client == null) {
+                    // Lambda function will always have this set
+                    String regionEnvVar = System.getenv("AWS_REGION");
+                    if (regionEnvVar == null) {
+                        throw new GraphQlAdapterException("AWS_REGION environment variable not set");
+                    }
+                    client = SsmClient.builder()
+                            .region(Region.of(regionEnvVar))
+                            .build();
+                    ssmClient = client;
+                }
+            }
         }
+        return client;
     }
 }
@@ -0,0 +1,115 @@
+package graphql.appsync;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The rows and page info of a query, as read from the database, see {@link ResultCache}. Not modified once cached:
+ * readers get copies of the rows
+ */
+public final class CachedResult {
+    private static final long ROW_BYTES = 64;  // LinkedHashMap and its table
+    private static final long ENTRY_BYTES = 40;  // LinkedHashMap entry
+    private static final long OBJECT_BYTES = 16;
+
+    private final List<LinkedHashMap<String, Object>> rows;
+    private final Map<String, Object> pageInfo;
+    private final long bytes;
+
+    public CachedResult(List<LinkedHashMap<String, Object>> rows, Map<String, Object> pageInfo, long bytes) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.pageInfo = Collections.unmodifiableMap(new HashMap<>(pageInfo));
+        this.bytes = bytes;
+    }
+
+    /**
+     * Pass copies of the rows to the consumer, which may modify them
+     *
+     * @return a copy of the page info
+     */
+    public Map<String, Object> replay(Consumer<LinkedHashMap<String, Object>> rowConsumer) {
+        for (LinkedHashMap<String, Object> row : rows) {
+            rowConsumer.accept(new LinkedHashMap<>(row));
+        }
+        return new HashMap<>(pageInfo);
+    }
+
+    public List<LinkedHashMap<String, Object>> getRows() {
+        return rows;
+    }
+
+    public Map<String, Object> getPageInfo() {
+        return pageInfo;
+    }
+
+    /**
+     * @return estimated memory of the rows, which is also what a cache hit saves reading from the database
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Estimated memory of a row. Column names are the same strings in every row and not counted
+     */
+    static long estimateBytes(Map<String, Object> row) {
+        long bytes = ROW_BYTES;
+        for (Object value : row.values()) {
+            bytes += ENTRY_BYTES + estimateBytes(value);
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        } else if (value instanceof BigDecimal) {
+            return 40 + OBJECT_BYTES;
+        } else if (value instanceof Number || value instanceof Boolean) {
+            return OBJECT_BYTES;
+        }
+        return OBJECT_BYTES + 40 + 2L * String.valueOf(value).length();
+    }
+
+    /**
+     * Keeps copies of the rows passed on to the query's consumer, which may modify them, until they exceed the
+     * maximum size of a cached result
+     */
+    static class Collector implements Consumer<LinkedHashMap<String, Object>> {
+        private final long maxBytes;
+        private List<LinkedHashMap<String, Object>> rows = new ArrayList<>();
+        private long bytes = 0;
+
+        Collector(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void accept(LinkedHashMap<String, Object> row) {
+            if (rows == null) {
+                return;
+            }
+            bytes += estimateBytes(row);
+            if (bytes > maxBytes) {
+                rows = null;  // too large to cache
+                return;
+            }
+            rows.add(new LinkedHashMap<>(row));
+        }
+
+        /**
+         * @return the result, or null if it is too large to cache
+         */
+        CachedResult toResult(Map<String, Object> pageInfo) {
+            return rows == null ? null : new CachedResult(rows, pageInfo, bytes);
+        }
+    }
+}
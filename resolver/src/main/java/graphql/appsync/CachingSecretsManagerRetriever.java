@@ -0,0 +1,67 @@
+package graphql.appsync;
+
+import com.google.common.annotations.VisibleForTesting;
+import graphql.DatabaseConnectionParameters;
+import util.RefreshingCache;
+import util.Util;
+
+import java.time.Duration;
+
+/**
+ * Caches database credentials from SecretsManager, so a warm Lambda container does not look the secret up on every request.
+ *
+ * Entries are refreshed in the background shortly before they expire. When the database rejects the cached credentials,
+ * the handler calls refreshSecret to pick up a rotated password immediately.
+ *
+ * The time-to-live is configured with the environment variable SECRET_CACHE_TTL_SECONDS, default 300
+ */
+public class CachingSecretsManagerRetriever implements SecretsManagerRetriever {
+    private final RefreshingCache<SecretsManagerSecret, DatabaseConnectionParameters> cache;
+
+    public CachingSecretsManagerRetriever(SecretsManagerRetriever delegate) {
+        this(delegate, Duration.ofSeconds(Util.longFromEnv("SECRET_CACHE_TTL_SECONDS", 300)));
+    }
+
+    /**
+     * Refreshes in the background during the last fifth of the time-to-live
+     */
+    public CachingSecretsManagerRetriever(SecretsManagerRetriever delegate, Duration ttl) {
+        this(new RefreshingCache<>(delegate::lookupSecret, ttl, ttl.dividedBy(5)));
+    }
+
+    @VisibleForTesting
+    CachingSecretsManagerRetriever(RefreshingCache<SecretsManagerSecret, DatabaseConnectionParameters> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public DatabaseConnectionParameters lookupSecret(SecretsManagerSecret secret) {
+        return cache.get(secret);
+    }
+
+    @Override
+    public DatabaseConnectionParameters refreshSecret(SecretsManagerSecret secret) {
+        return cache.refresh(secret);
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getRefreshes() {
+        return cache.getRefreshes();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingSecretsManagerRetriever{" + cache + '}';
+    }
+}
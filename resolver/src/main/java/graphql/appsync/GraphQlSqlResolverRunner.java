@@ -1,28 +1,34 @@
 package graphql.appsync;
 
-import java.util.Base64;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.ToNumberPolicy;
 import com.google.gson.reflect.TypeToken;
 import graphql.*;
 import graphql.sql.*;
 import graphql.sql.db.SqlDatabaseProvider;
+import util.InvocationMetrics;
 import util.Util;
 
 import java.lang.reflect.Type;
 import java.sql.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoCloseable {
+    // result rows carry the edge cursor under this key, next to the GraphQL fields
+    public static final String EDGE_CURSOR_FIELD = "edges/cursor";
+    // rows sent to the database per executeBatch
+    private static final int MAX_BATCH_ROWS = 500;
+
     private final SqlDatabaseProvider provider;
     private final Connection connection;
+    private final boolean ownsConnection;  // false for runners sharing the connection of a batch
+    private final GraphQlTypePlan typePlan;
+    private final ResultCache resultCache;  // null to not cache query results
     private final Gson gson;
     private final Map<String, GraphQlFieldType> graphQlNameToFieldTypes;
     private final Map<String, GraphQlFieldType> sqlNameToFieldtypes;
     
-    private static final Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
     private final Map<String, GraphQlFieldType> fieldTypes;
     private final List<String> keyFields;
     private final Map<String, LookupInfo> lookupInfos;
@@ -33,35 +39,60 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
     private Long limitQueryParamValueToPaginate = null; // limit query param value
     private Long cursorOffset = null; // offset relative to the query
     private boolean setNextCursor = false;
-    private final String CURSOR_OFFSET_IN_OPAQUE_CURSOR = "cursorOffset";
-    private Map<String, Object> opaqueCursor = new HashMap<>();
-    private Map<String, GraphQlFieldDefinition> graphQLFieldsInfo;
+    // keyset pagination: the query's order, and the order columns only selected for the cursors
+    private KeysetOrdering keysetOrdering = null;
+    private final List<String> keysetOnlyFields = new ArrayList<>();
+    private final Map<String, GraphQlFieldDefinition> graphQLFieldsInfo;
+
+    public GraphQlSqlResolverRunner(SqlDatabaseProvider provider, GraphQlTypePlan typePlan, AppSyncSqlResolverInput input) {
+        this(provider, typePlan, input, null);
+    }
+
+    /**
+     * @param resultCache serves and keeps the results of queries of types with a cache time-to-live, may be null
+     */
+    public GraphQlSqlResolverRunner(SqlDatabaseProvider provider, GraphQlTypePlan typePlan, AppSyncSqlResolverInput input,
+                                    ResultCache resultCache) {
+        this(provider, provider.newConnection(input.getDbConnectionParameters()), true, typePlan, input, resultCache);
+    }
 
-    public GraphQlSqlResolverRunner(SqlDatabaseProvider provider, String graphQlTypeName, AppSyncSqlResolverInput input) {
+    private GraphQlSqlResolverRunner(SqlDatabaseProvider provider, Connection connection, boolean ownsConnection,
+                                     GraphQlTypePlan typePlan, AppSyncSqlResolverInput input, ResultCache resultCache) {
         this.provider = provider;
-        this.connection = provider.newConnection(input.getDbConnectionParameters());
+        this.connection = connection;
+        this.ownsConnection = ownsConnection;
 
-        this.fieldTypes = input.getFieldTypes();
-        this.keyFields = input.getKeyFields();
-        this.lookupInfos = input.getLookupInfos();
+        this.typePlan = typePlan;
+        this.resultCache = resultCache;
+        this.fieldTypes = typePlan.getFieldTypes();
+        this.keyFields = typePlan.getKeyFields();
+        this.lookupInfos = typePlan.getLookupInfos();
         this.selectionSetList = input.getSelectionSetList();
-        this.graphQLFieldsInfo = input.getGraphQLFieldsInfo();
-        this.gson = new GsonBuilder()
-                .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
-                .serializeNulls()
-                .registerTypeAdapter(SqlQueryStatement.WhereClause.class, 
-                        new WhereClauseDeserializer(graphQlTypeName, fieldTypes, keyFields, lookupInfos,
-                                provider.getVendor(), graphQLFieldsInfo))
-                .create();
+        this.graphQLFieldsInfo = typePlan.getGraphQLFieldsInfo();
+        this.gson = typePlan.getGson();
         this.graphQlNameToFieldTypes = fieldTypes;
-        this.sqlNameToFieldtypes = fieldTypes.keySet().stream()
-                .collect(Collectors.toMap(field -> Util.graphQlToSqlName(field, input.getGraphQLFieldsInfo()), fieldTypes::get));
+        this.sqlNameToFieldtypes = typePlan.getSqlNameToFieldTypes();
         // This resolver assumes the database is at UTC+0. Setting the JVM to UTC+0 prevents JDBC from doing driver-dependent TimeZone conversions
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
     }
 
+    /**
+     * @return runner for another request of the same type, sharing this runner's connection. Closing it does not
+     * close the connection
+     */
+    public GraphQlSqlResolverRunner withInput(AppSyncSqlResolverInput input) {
+        return new GraphQlSqlResolverRunner(provider, connection, false, typePlan, input, resultCache);
+    }
+
+    public String getVendor() {
+        return provider.getVendor();
+    }
+
     @Override
     public void close() {
+        if (!ownsConnection) {
+            return;
+        }
         try {
             this.connection.close();
         } catch (SQLException e) {
@@ -72,6 +103,18 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
     @Override
     public QueryResultSet query(String sqlTableName, Map<String, Object> arguments,
                                 List<String> selectedFields) throws GraphQlAdapterException {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>();
+        Map<String, Object> pageInfo = query(sqlTableName, arguments, selectedFields, rows::add);
+        return new QueryResultSet(rows, pageInfo);
+    }
+
+    /**
+     * Query without collecting the rows: each row of the page is passed to the consumer as it is read
+     *
+     * @return the page info
+     */
+    public Map<String, Object> query(String sqlTableName, Map<String, Object> arguments, List<String> selectedFields,
+                                     Consumer<LinkedHashMap<String, Object>> rowConsumer) throws GraphQlAdapterException {
         SqlQueryStatement.WhereClause whereClause = gson.fromJson(gson.toJsonTree(arguments.get("where")), SqlQueryStatement.WhereClause.class);
         
         Type orderByType = new TypeToken<List<Map<String, SqlQueryStatement.OrderBy>>>(){}.getType();
@@ -103,13 +146,13 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
                         SqlQueryStatement.OrderBy keyColOrderBy = new SqlQueryStatement.OrderBy();
                         keyColOrderBy.setDirection(orderByValue.getDirection());
                         keyColOrderBy.setNulls(orderByValue.getNulls());
-                        convertedOrderBys.add(Map.of(Util.graphQlToSqlName(keyCol, this.graphQLFieldsInfo), keyColOrderBy));
+                        convertedOrderBys.add(Map.of(typePlan.toSqlName(keyCol), keyColOrderBy));
                     });
                 } else {
                     if (!fieldTypes.containsKey(graphQlName)) {
                         throw new GraphQlAdapterException("tried to order by unknown field, must be defined in fieldTypes or as a lookup. field: " + graphQlName);
                     }
-                    convertedOrderBys.add(Map.of(Util.graphQlToSqlName(graphQlName, this.graphQLFieldsInfo), orderByValue));
+                    convertedOrderBys.add(Map.of(typePlan.toSqlName(graphQlName), orderByValue));
                 }
             }
             orderBys = convertedOrderBys;
@@ -127,9 +170,10 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
         // Based on the relay specifications for pagination, the server use those two arguments to modify the edges returned by the connection,
         // returning edges after the "after"(PAGINATION_AFTER_PARAMETER) cursor,
         // and returning at most "first"(PAGINATION_FIRST_PARAMETER) edges.
+        OpaqueCursorCodec.Cursor afterCursor = null;
         if (arguments.containsKey(PAGINATION_AFTER_PARAMETER)) {
-            String opaqueCursorValue = new String(Base64.getDecoder().decode((String) arguments.get(PAGINATION_AFTER_PARAMETER)));
-            this.cursorOffset  = getCursorOffsetFromOpaqueCursor(opaqueCursorValue);
+            afterCursor = OpaqueCursorCodec.decode((String) arguments.get(PAGINATION_AFTER_PARAMETER));
+            this.cursorOffset = afterCursor.getOffset();
         }
         Long firstEdges = null;
         if (arguments.containsKey(PAGINATION_FIRST_PARAMETER)) {
@@ -157,8 +201,28 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
                 }
             }
         }
+        // keyset pagination continues after the order values of the cursor's row instead of skipping rows by offset.
+        // Not combined with the limit and offset arguments, which count rows from the start of the query
+        SeekPredicate seek = null;
+        if (typePlan.isKeysetPagination() && firstEdges != null
+                && arguments.get("offset") == null && arguments.get("limit") == null) {
+            this.keysetOrdering = KeysetOrdering.of(orderBys, typePlan);
+        }
+        if (this.keysetOrdering != null) {
+            orderBys = this.keysetOrdering.toOrderBy();
+            selectedFields = new ArrayList<>(selectedFields);
+            for (int i = 0; i < this.keysetOrdering.getSqlColumns().size(); i++) {
+                if (!selectedFields.contains(this.keysetOrdering.getSqlColumns().get(i))) {
+                    selectedFields.add(this.keysetOrdering.getSqlColumns().get(i));
+                    this.keysetOnlyFields.add(this.keysetOrdering.getGraphQlNames().get(i));
+                }
+            }
+            if (afterCursor != null) {
+                seek = this.keysetOrdering.seekAfter(afterCursor, provider.getVendor());
+            }
+        }
         // we build the SQL with cursor offset + query param offset
-        if (this.cursorOffset != null) {
+        if (seek == null && this.cursorOffset != null) {
             if (offset != null) {
                 offset = offset + this.cursorOffset;
             } else {
@@ -167,9 +231,118 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
         }
         SqlQueryStatement statement = new SqlQueryStatement(sqlTableName, selectedFields, whereClause, orderBys, offset, limit, provider.getVendor());
         statement.setGraphQLFieldsInfo(this.graphQLFieldsInfo);
+        statement.setSeek(seek);
+        return executeCached(statement, rowConsumer);
+    }
+
+    /**
+     * Serve the query from the result cache if its type has a cache time-to-live. Otherwise run it, and cache its
+     * rows unless they are too large
+     */
+    private Map<String, Object> executeCached(SqlQueryStatement statement, Consumer<LinkedHashMap<String, Object>> rowConsumer)
+            throws GraphQlAdapterException {
+        long ttlMillis = typePlan.getResultCacheTtlMillis();
+        if (resultCache == null || ttlMillis == 0) {
+            return executeStatement(statement, rowConsumer);
+        }
+        String typeName = typePlan.getGraphQlTypeName();
+        String key = resultCacheKey(statement);
+        CachedResult cached = resultCache.get(typeName, key);
+        if (cached != null) {
+            InvocationMetrics.addCacheHit(cached.getBytes());
+            return cached.replay(rowConsumer);
+        }
+        InvocationMetrics.addCacheMiss();
+        long version = resultCache.version(typeName);
+        CachedResult.Collector collector = new CachedResult.Collector(resultCache.getMaxEntryBytes());
+        Map<String, Object> pageInfo = executeStatement(statement, row -> {
+            collector.accept(row);
+            rowConsumer.accept(row);
+        });
+        CachedResult result = collector.toResult(pageInfo);
+        if (result != null) {
+            resultCache.put(typeName, key, result, ttlMillis, version);
+        }
+        return pageInfo;
+    }
+
+    /**
+     * The statement's SQL text, which has no values, its parameters, and the pagination state that makes the same
+     * statement return other cursors or page info
+     */
+    private String resultCacheKey(SqlQueryStatement statement) {
+        StringBuilder key = new StringBuilder(statement.getPreparedStatement());
+        key.append('\n').append(setNextCursor)
+                .append(',').append(cursorOffset)
+                .append(',').append(limitQueryParamValueToPaginate)
+                .append(',').append(selectionSetList.contains(EDGE_CURSOR_FIELD))
+                .append(',').append(keysetOrdering != null);
+        for (Object parameter : statement.getParameters()) {
+            key.append('\n');
+            if (parameter instanceof ArrayParameter) {
+                for (Object element : ((ArrayParameter) parameter).getElements()) {
+                    appendCacheKeyValue(key, element);
+                    key.append(',');
+                }
+            } else {
+                appendCacheKeyValue(key, parameter);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Type and quoted value, so that values containing separators cannot make two keys equal
+     */
+    private static void appendCacheKeyValue(StringBuilder key, Object value) {
+        if (value == null) {
+            key.append("null");
+            return;
+        }
+        key.append(value.getClass().getSimpleName()).append(':').append(Util.GSON.toJson(value.toString()));
+    }
+
+    /**
+     * Query the rows of several global IDs at once: key IN (?, ?, ...) for a single key field, otherwise
+     * (k1 = ? AND k2 = ?) OR (k1 = ? AND k2 = ?) ...
+     *
+     * @param keys key field values of each global ID, keyed by GraphQL name
+     */
+    public QueryResultSet queryByKeys(String sqlTableName, List<LinkedHashMap<String, Object>> keys,
+                                      List<String> selectedFields) throws GraphQlAdapterException {
+        List<Map<String, Object>> sqlKeys = new ArrayList<>(keys.size());
+        for (LinkedHashMap<String, Object> key : keys) {
+            LinkedHashMap<String, Object> convertedKey = TypeMapper.convertToJdbcReadyType(key, graphQlNameToFieldTypes, provider.getVendor());
+            sqlKeys.add(Util.graphQlToSqlName(convertedKey, this.graphQLFieldsInfo));
+        }
+        SqlQueryStatement.WhereClause whereClause = newWhereClause(new LinkedHashMap<>());
+        if (keyFields.size() == 1) {
+            String sqlKeyField = typePlan.toSqlName(keyFields.get(0));
+            List<Object> values = new ArrayList<>(sqlKeys.size());
+            sqlKeys.forEach(key -> values.add(key.get(sqlKeyField)));
+            whereClause.getFilter().put(sqlKeyField, Map.of("in", values));
+        } else {
+            List<SqlQueryStatement.WhereClause> keyClauses = new ArrayList<>(sqlKeys.size());
+            for (Map<String, Object> key : sqlKeys) {
+                LinkedHashMap<String, Map<String, Object>> filter = new LinkedHashMap<>();
+                key.forEach((column, value) -> filter.put(column, Map.of("eq", value)));
+                keyClauses.add(newWhereClause(filter));
+            }
+            whereClause.setOr(keyClauses);
+        }
+        SqlQueryStatement statement = new SqlQueryStatement(sqlTableName, selectedFields, whereClause, null, null, null, provider.getVendor());
+        statement.setGraphQLFieldsInfo(this.graphQLFieldsInfo);
         return executeStatement(statement);
     }
 
+    private SqlQueryStatement.WhereClause newWhereClause(LinkedHashMap<String, Map<String, Object>> filter) {
+        SqlQueryStatement.WhereClause whereClause = new SqlQueryStatement.WhereClause();
+        whereClause.setFilter(filter);
+        whereClause.setFieldTypes(fieldTypes);
+        whereClause.setVendor(provider.getVendor());
+        return whereClause;
+    }
+
     @Override
     public QueryResultSet mutation(String sqlTableName, LinkedHashMap<String, Object> newValues, 
                                    LinkedHashMap<String, Object> dmlWhere, List<String> returning,
@@ -183,16 +356,39 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
                 }
             }
         }
-        SqlQueryStatement.WhereClause returningWhereClause = gson.fromJson(gson.toJsonTree(queryWhereMap), SqlQueryStatement.WhereClause.class);
-        SqlQueryStatement returningStatement = new SqlQueryStatement(sqlTableName, returning, returningWhereClause, null, null, null, provider.getVendor());
-        returningStatement.setGraphQLFieldsInfo(this.graphQLFieldsInfo);
         // DML statement with type mapped input values
         newValues = TypeMapper.convertToJdbcReadyType(newValues, this.graphQlNameToFieldTypes, provider.getVendor());
         newValues = Util.graphQlToSqlName(newValues, this.graphQLFieldsInfo);
         LinkedHashMap<String, Object> convertedDmlWhere = TypeMapper.convertToJdbcReadyType(dmlWhere, graphQlNameToFieldTypes, provider.getVendor());
         convertedDmlWhere = Util.graphQlToSqlName(convertedDmlWhere, this.graphQLFieldsInfo);
         SqlDmlStatement dmlStatement = new SqlDmlStatement(statementType, sqlTableName, newValues, convertedDmlWhere);
+        dmlStatement.setFieldTypes(sqlNameToFieldtypes);
+
+        // one round trip where the vendor returns the affected row from the DML statement
+        if (returning != null && !returning.isEmpty() && SqlDmlStatement.supportsReturning(provider.getVendor(), statementType)) {
+            dmlStatement.setReturning(returning, provider.getVendor());
+            QueryResultSet result = null;
+            try {
+                result = executeStatement(dmlStatement);
+            } catch (GraphQlAdapterException e) {
+                // SQL Server error 334: OUTPUT without INTO is not allowed on tables with enabled triggers
+                if (!(e.getCause() instanceof SQLException) || ((SQLException) e.getCause()).getErrorCode() != 334) {
+                    throw e;
+                }
+                dmlStatement = new SqlDmlStatement(statementType, sqlTableName, newValues, convertedDmlWhere);
+                dmlStatement.setFieldTypes(sqlNameToFieldtypes);
+            }
+            if (result != null) {
+                if (result.getEdges().isEmpty()) {
+                    throw new NoAffectedRowsException();
+                }
+                return result;
+            }
+        }
 
+        SqlQueryStatement.WhereClause returningWhereClause = gson.fromJson(gson.toJsonTree(queryWhereMap), SqlQueryStatement.WhereClause.class);
+        SqlQueryStatement returningStatement = new SqlQueryStatement(sqlTableName, returning, returningWhereClause, null, null, null, provider.getVendor());
+        returningStatement.setGraphQLFieldsInfo(this.graphQLFieldsInfo);
         if (SqlStatementType.DELETE.equals(statementType)) {
             // delete needs to query first before deleting, in order to return result
             QueryResultSet result = executeStatement(returningStatement);
@@ -205,71 +401,104 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
     }
 
     private QueryResultSet executeStatement(SqlStatement statement) throws GraphQlAdapterException {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>();
+        Map<String, Object> pageInfo = executeStatement(statement, rows::add);
+        return pageInfo == null ? null : new QueryResultSet(rows, pageInfo);
+    }
+
+    /**
+     * @return the page info, or null for DML without returned rows
+     */
+    private Map<String, Object> executeStatement(SqlStatement statement, Consumer<LinkedHashMap<String, Object>> rowConsumer)
+            throws GraphQlAdapterException {
+        PreparedStatement preparedStatement = null;
+        List<Array> arrays = new ArrayList<>();
+        long start = System.nanoTime();
         try {
-            PreparedStatement preparedStatement = connection.prepareStatement(statement.getPreparedStatement());
+            boolean returningGeneratedKeys = statement instanceof SqlDmlStatement && ((SqlDmlStatement) statement).isReturningGeneratedKeys();
+            preparedStatement = returningGeneratedKeys
+                    ? connection.prepareStatement(statement.getPreparedStatement(), ((SqlDmlStatement) statement).getReturning().toArray(new String[0]))
+                    : connection.prepareStatement(statement.getPreparedStatement());
             List<Object> parameters = statement.getParameters();
-            for (int i = 0; i < parameters.size(); i++) {
-                Object param = parameters.get(i);
-                preparedStatement.setObject(i+1, param);
-            }
-            AppSyncSqlResolverLambdaRequestHandler.LOGGER.log(String.format("executing query: %s. parameters: %s",
-                    statement.getPreparedStatement(), statement.getParameters()));
+            bindParameters(preparedStatement, statement, arrays);
+            AppSyncSqlResolverLambdaRequestHandler.LOGGER.debug(() -> String.format("executing query: %s. parameters: %s",
+                    statement.getPreparedStatement(), AppSyncSqlResolverLambdaRequestHandler.LOGGER.sample(parameters)));
 
-            if (statement instanceof SqlDmlStatement) {
+            ResultSet rs;
+            if (returningGeneratedKeys) {
+                preparedStatement.executeUpdate();
+                rs = preparedStatement.getGeneratedKeys();
+            } else if (statement instanceof SqlDmlStatement && ((SqlDmlStatement) statement).getReturning() == null) {
                 int rowsAffected = preparedStatement.executeUpdate();
+                InvocationMetrics.record(InvocationMetrics.Phase.EXECUTE, start);
                 if (rowsAffected == 0) {
                     // let caller handle because we don't have enough context here (don't have the full global ID)
                     throw new NoAffectedRowsException();
                 }
                 return null;
+            } else {
+                rs = preparedStatement.executeQuery();
             }
-
-            ResultSet rs = preparedStatement.executeQuery();
-            List<LinkedHashMap<String, Object>> resultSet = new ArrayList<>();
-            ResultSetMetaData resultSetMetaData = preparedStatement.getMetaData();
-            boolean setEdgeCursorValue = this.selectionSetList.stream().filter(val -> val.equals("edges/cursor")).count() > 0;
+            InvocationMetrics.record(InvocationMetrics.Phase.EXECUTE, start);
+            ResultSetMetaData resultSetMetaData = rs.getMetaData();
+            boolean setEdgeCursorValue = this.selectionSetList.contains(EDGE_CURSOR_FIELD);
+            ColumnPlan columnPlan = new ColumnPlan(resultSetMetaData, typePlan::toGraphQlName, sqlNameToFieldtypes, provider);
+            // a NULL order value cannot be compared, so nullable order columns are paged by offset
+            KeysetOrdering seekOrdering = this.keysetOrdering;
+            if (seekOrdering != null && seekOrdering.getGraphQlNames().stream().anyMatch(columnPlan::isNullable)) {
+                seekOrdering = null;
+            }
+            Long limit = statement instanceof SqlQueryStatement ? ((SqlQueryStatement) statement).getLimit() : null;
+            boolean paginated = limit != null && this.setNextCursor;
+            // with "first", the query reads one row more than the page to tell whether there is a next page. Rows are
+            // passed on one behind, so that extra row is never passed on
+            LinkedHashMap<String, Object> pending = null;
+            String pendingCursor = null;
+            String lastCursor = null;
             int rowCounter = 0;
+            long readNanos = 0;
+            long readStart = System.nanoTime();
             while (rs.next()) {
                 rowCounter += 1;
-                LinkedHashMap<String, Object> row = new LinkedHashMap<>();
-                for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-                    String columnName = resultSetMetaData.getColumnName(i).toLowerCase();
-                    Object value;
-                    if (resultSetMetaData.getColumnType(i) == JDBCType.DATE.getVendorTypeNumber()) {
-                        value = rs.getDate(i);
-                    } else if (resultSetMetaData.getColumnType(i) == JDBCType.TIME.getVendorTypeNumber()) {
-                        value = rs.getTime(i, utcCalendar);
-                    } else if (resultSetMetaData.getColumnType(i) == JDBCType.TIMESTAMP.getVendorTypeNumber()) {
-                        value = rs.getTimestamp(i, utcCalendar);
-                    } else {
-                        value = rs.getObject(i);
-                    }
-                    value = TypeMapper.convertFromJdbcResult(value, sqlNameToFieldtypes.get(columnName), provider.getVendor());
-                    row.put(columnName, value);
-                    // Based on the relay specifications for pagination, for each edge in the connection, we asked for a cursor.
-                    // This cursor is an opaque string, and is precisely what we would pass to the after arg to paginate starting after this edge.
-                    if (setEdgeCursorValue) {
-                        Long cursorValue = this.cursorOffset != null ? this.cursorOffset + rowCounter : rowCounter;
-                        String cursor = createOpaqueCursor(cursorValue);
-                        row.put("edges/cursor", cursor);
-                    }
+                LinkedHashMap<String, Object> row = columnPlan.readRow(rs);
+                // fetching and mapping only, not what the consumer does with the row
+                readNanos += System.nanoTime() - readStart;
+                // Based on the relay specifications for pagination, for each edge in the connection, we asked for a cursor.
+                // This cursor is an opaque string, and is precisely what we would pass to the after arg to paginate starting after this edge.
+                long cursorValue = this.cursorOffset != null ? this.cursorOffset + rowCounter : rowCounter;
+                // without edges/cursor, only the end cursor is needed: that of the last row of a full page, which is
+                // read just before the extra row, or of the only row of a page of one
+                boolean needsCursor = setEdgeCursorValue || paginated && rowCounter >= limit - 1;
+                String cursor = needsCursor ? cursorFor(seekOrdering, row, cursorValue) : null;
+                if (setEdgeCursorValue) {
+                    row.put(EDGE_CURSOR_FIELD, cursor);
+                }
+                if (pending != null) {
+                    passOn(pending, rowConsumer);
+                    lastCursor = pendingCursor;
                 }
-                resultSet.add(row);
+                pending = row;
+                pendingCursor = cursor;
+                readStart = System.nanoTime();
             }
+            readNanos += System.nanoTime() - readStart;
+            InvocationMetrics.add(InvocationMetrics.Phase.READ_ROWS, readNanos);
+            InvocationMetrics.addRows(rowCounter);
             rs.close();
             preparedStatement.close();
             Map<String, Object> pageInfo = new HashMap<String, Object>();
-            Long limit = ((SqlQueryStatement) statement).getLimit();
             boolean hasNextPage = false;
             String cursor = null;
-            if (!resultSet.isEmpty() && limit != null) {
-                if (this.setNextCursor && resultSet.size() == limit) {
+            if (pending != null && limit != null) {
+                if (this.setNextCursor && rowCounter == limit) {
                     hasNextPage = true;
-                    if (resultSet.size() > 1) {
-                        resultSet.remove(resultSet.size() - 1);
+                    if (rowCounter == 1) {
+                        passOn(pending, rowConsumer);
+                        lastCursor = pendingCursor;
                     }
-                    Long cursorValue = this.cursorOffset != null ? this.cursorOffset + resultSet.size() : resultSet.size();
-                    cursor = createOpaqueCursor(cursorValue);
+                    pending = null;
+                    Long cursorValue = this.cursorOffset != null ? this.cursorOffset + Math.max(rowCounter - 1, 1) : Math.max(rowCounter - 1, 1);
+                    cursor = lastCursor;
                     if (this.limitQueryParamValueToPaginate != null) {
                         if (this.cursorOffset != null) {
                             if (this.limitQueryParamValueToPaginate.equals(Math.abs(this.cursorOffset)) ||
@@ -281,48 +510,288 @@ public class GraphQlSqlResolverRunner implements GraphQlResolverRunner, AutoClos
                     }
                 }
             }
+            if (pending != null) {
+                passOn(pending, rowConsumer);
+            }
             pageInfo.put("endCursor", cursor);
             pageInfo.put("hasNextPage", hasNextPage);
-            return new QueryResultSet(resultSet, pageInfo);
+            return pageInfo;
 
         } catch (SQLException e) {
             String errorMessage = String.format("Error running SQL query: %s. Parameters: %s. Error: %s",
                     statement.getPreparedStatement(), statement.getParameters(), e.getMessage());
             throw new GraphQlAdapterException(errorMessage, e);
+        } finally {
+            // a pooled connection keeps the statement open for the next request, see StatementCache
+            closeQuietly(preparedStatement);
+            freeQuietly(arrays);
+        }
+    }
+
+    private void bindParameters(PreparedStatement preparedStatement, SqlStatement statement, List<Array> arrays) throws SQLException {
+        List<Object> parameters = statement.getParameters();
+        List<GraphQlFieldType> parameterTypes = statement.getParameterTypes();
+        for (int i = 0; i < parameters.size(); i++) {
+            Object param = parameters.get(i);
+            if (param instanceof ArrayParameter) {
+                Array array = provider.createArray(connection, (ArrayParameter) param);
+                arrays.add(array);
+                preparedStatement.setArray(i+1, array);
+            } else {
+                ParameterBinding.bind(preparedStatement, i+1, param, parameterTypes.get(i));
+            }
+        }
+    }
+
+    /**
+     * Run the work in one transaction: commit if it completes, roll back if it throws. Work on a connection that is
+     * already in a transaction joins it
+     */
+    public <T> T inTransaction(Supplier<T> work) throws GraphQlAdapterException {
+        try {
+            if (!connection.getAutoCommit()) {
+                return work.get();
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new GraphQlAdapterException("could not start transaction: " + e.getMessage(), e);
+        }
+        try {
+            T result = work.get();
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new GraphQlAdapterException("could not commit transaction: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            rollbackQuietly();
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                // the pool resets the connection when it is returned, see ConnectionPool
+            }
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            AppSyncSqlResolverLambdaRequestHandler.LOGGER.info(() -> "rollback failed: " + e.getMessage());
         }
     }
 
     /**
-     * Opaque cursor is using the offset relative to the query (not the offset query param) as a part of the cursor
+     * Insert rows with JDBC batches, one prepared statement for the rows that set the same columns. Run it
+     * {@link #inTransaction in a transaction} so a failed row leaves none of the rows inserted
      *
-     * @param cursorValue cursor offset relative to the query
-     * @return String that represents opaque cursor: "{"cursorOffset":4}"
+     * @param rows new values of each row, keyed by GraphQL name
+     * @throws BatchRowException for the row the database rejected, if the driver tells which one
      */
-    private String createOpaqueCursor(Long cursorValue) {
-        if (cursorValue == null) {
-            return null;
+    public void insertMany(String sqlTableName, List<LinkedHashMap<String, Object>> rows) throws GraphQlAdapterException {
+        // rows of the same columns share a statement, in input order
+        Map<Set<String>, List<Integer>> byColumns = new LinkedHashMap<>();
+        List<SqlDmlStatement> statements = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LinkedHashMap<String, Object> newValues;
+            try {
+                newValues = TypeMapper.convertToJdbcReadyType(rows.get(i), this.graphQlNameToFieldTypes, provider.getVendor());
+            } catch (GraphQlAdapterException e) {
+                throw new BatchRowException(i, e.getMessage(), e);
+            }
+            newValues = Util.graphQlToSqlName(newValues, this.graphQLFieldsInfo);
+            SqlDmlStatement statement = new SqlDmlStatement(SqlStatementType.INSERT, sqlTableName, newValues, new LinkedHashMap<>());
+            statement.setFieldTypes(sqlNameToFieldtypes);
+            statements.add(statement);
+            byColumns.computeIfAbsent(newValues.keySet(), columns -> new ArrayList<>()).add(i);
+        }
+        for (List<Integer> sameColumns : byColumns.values()) {
+            executeBatch(statements, sameColumns);
         }
-        opaqueCursor.put(CURSOR_OFFSET_IN_OPAQUE_CURSOR, cursorValue);
-        String jsonCursor = new Gson().toJson(opaqueCursor);
-        return Base64.getEncoder().encodeToString(jsonCursor.getBytes());
     }
 
+    /**
+     * Update rows with JDBC batches, one prepared statement for the rows that set the same columns. Run it
+     * {@link #inTransaction in a transaction} so a failed row leaves none of the rows updated
+     *
+     * @param rows new values of each row, keyed by GraphQL name
+     * @param keys key field values of each row, keyed by GraphQL name
+     * @return the update count of each row, 0 for a key without a row, {@link Statement#SUCCESS_NO_INFO} if the
+     * driver does not report it
+     * @throws BatchRowException for a row that changes a key field, or the row the database rejected
+     */
+    public int[] updateMany(String sqlTableName, List<LinkedHashMap<String, Object>> rows,
+                            List<LinkedHashMap<String, Object>> keys) throws GraphQlAdapterException {
+        Map<Set<String>, List<Integer>> byColumns = new LinkedHashMap<>();
+        List<SqlDmlStatement> statements = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LinkedHashMap<String, Object> newValues = rows.get(i);
+            LinkedHashMap<String, Object> key = keys.get(i);
+            for (String keyField : key.keySet()) {
+                if (newValues.containsKey(keyField) && !newValues.get(keyField).equals(key.get(keyField))) {
+                    throw new BatchRowException(i, "The " + keyField + " field isn't available for editing, because its values come from primary keys on the external system.", null);
+                }
+            }
+            LinkedHashMap<String, Object> sqlKey;
+            try {
+                newValues = TypeMapper.convertToJdbcReadyType(newValues, this.graphQlNameToFieldTypes, provider.getVendor());
+                sqlKey = TypeMapper.convertToJdbcReadyType(key, this.graphQlNameToFieldTypes, provider.getVendor());
+            } catch (GraphQlAdapterException e) {
+                throw new BatchRowException(i, e.getMessage(), e);
+            }
+            newValues = Util.graphQlToSqlName(newValues, this.graphQLFieldsInfo);
+            SqlDmlStatement statement = new SqlDmlStatement(SqlStatementType.UPDATE, sqlTableName, newValues,
+                    Util.graphQlToSqlName(sqlKey, this.graphQLFieldsInfo));
+            statement.setFieldTypes(sqlNameToFieldtypes);
+            statements.add(statement);
+            byColumns.computeIfAbsent(newValues.keySet(), columns -> new ArrayList<>()).add(i);
+        }
+        int[] updateCounts = new int[rows.size()];
+        for (List<Integer> sameColumns : byColumns.values()) {
+            int[] counts = executeBatch(statements, sameColumns);
+            for (int i = 0; i < counts.length; i++) {
+                updateCounts[sameColumns.get(i)] = counts[i];
+            }
+        }
+        return updateCounts;
+    }
 
     /**
-     * Get the cursorOffset from opaque cursor
+     * Delete the rows of several keys with one statement, see {@link SqlDmlStatement#deleteByKeys}
      *
-     * @param opaqueCursorValue opaque cursor: "{"cursorOffset":4}"
-     * @return Long value that corresponds to the offset relative to the query
+     * @param keys key field values of each row, keyed by GraphQL name
+     * @return the number of deleted rows
      */
-    private Long getCursorOffsetFromOpaqueCursor(String opaqueCursorValue) {
-        if (opaqueCursorValue == null) {
-            return null;
+    public int deleteByKeys(String sqlTableName, List<LinkedHashMap<String, Object>> keys) throws GraphQlAdapterException {
+        List<LinkedHashMap<String, Object>> sqlKeys = new ArrayList<>(keys.size());
+        for (LinkedHashMap<String, Object> key : keys) {
+            LinkedHashMap<String, Object> convertedKey = TypeMapper.convertToJdbcReadyType(key, graphQlNameToFieldTypes, provider.getVendor());
+            sqlKeys.add(Util.graphQlToSqlName(convertedKey, this.graphQLFieldsInfo));
         }
-        opaqueCursor = gson.fromJson(opaqueCursorValue, Map.class);
-        if (opaqueCursor.get(CURSOR_OFFSET_IN_OPAQUE_CURSOR) == null) {
-            return null;
+        SqlDmlStatement statement = SqlDmlStatement.deleteByKeys(sqlTableName, sqlKeys);
+        statement.setFieldTypes(sqlNameToFieldtypes);
+        PreparedStatement preparedStatement = null;
+        List<Array> arrays = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            preparedStatement = connection.prepareStatement(statement.getPreparedStatement());
+            bindParameters(preparedStatement, statement, arrays);
+            AppSyncSqlResolverLambdaRequestHandler.LOGGER.debug(() -> String.format("executing query: %s. parameters: %s",
+                    statement.getPreparedStatement(), AppSyncSqlResolverLambdaRequestHandler.LOGGER.sample(statement.getParameters())));
+            int deleted = preparedStatement.executeUpdate();
+            InvocationMetrics.record(InvocationMetrics.Phase.EXECUTE, start);
+            return deleted;
+        } catch (SQLException e) {
+            String errorMessage = String.format("Error running SQL query: %s. Parameters: %s. Error: %s",
+                    statement.getPreparedStatement(), statement.getParameters(), e.getMessage());
+            throw new GraphQlAdapterException(errorMessage, e);
+        } finally {
+            closeQuietly(preparedStatement);
+            freeQuietly(arrays);
+        }
+    }
+
+    /**
+     * Execute statements of the same SQL text as JDBC batches of at most {@link #MAX_BATCH_ROWS}
+     *
+     * @param rows indexes of the statements to execute, as reported in a {@link BatchRowException}
+     * @return the update count of each statement
+     */
+    private int[] executeBatch(List<SqlDmlStatement> statements, List<Integer> rows) throws GraphQlAdapterException {
+        String sql = statements.get(rows.get(0)).getPreparedStatement();
+        int[] updateCounts = new int[rows.size()];
+        PreparedStatement preparedStatement = null;
+        List<Array> arrays = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            preparedStatement = connection.prepareStatement(sql);
+            for (int from = 0; from < rows.size(); from += MAX_BATCH_ROWS) {
+                List<Integer> chunk = rows.subList(from, Math.min(from + MAX_BATCH_ROWS, rows.size()));
+                for (int row : chunk) {
+                    bindParameters(preparedStatement, statements.get(row), arrays);
+                    preparedStatement.addBatch();
+                }
+                AppSyncSqlResolverLambdaRequestHandler.LOGGER.debug(() -> String.format("executing batch of %d: %s",
+                        chunk.size(), sql));
+                int[] chunkCounts;
+                try {
+                    chunkCounts = preparedStatement.executeBatch();
+                } catch (BatchUpdateException e) {
+                    int failed = failedRow(e, chunk.size());
+                    if (failed < 0) {
+                        throw e;
+                    }
+                    throw new BatchRowException(chunk.get(failed), e.getMessage(), e);
+                }
+                System.arraycopy(chunkCounts, 0, updateCounts, from, chunkCounts.length);
+                freeQuietly(arrays);
+            }
+            InvocationMetrics.record(InvocationMetrics.Phase.EXECUTE, start);
+            return updateCounts;
+        } catch (SQLException e) {
+            String errorMessage = String.format("Error running SQL batch: %s. Rows: %d. Error: %s", sql, rows.size(), e.getMessage());
+            throw new GraphQlAdapterException(errorMessage, e);
+        } finally {
+            closeQuietly(preparedStatement);
+            freeQuietly(arrays);
         }
-        return (Long) opaqueCursor.get(CURSOR_OFFSET_IN_OPAQUE_CURSOR);
     }
 
+    /**
+     * @return the index of the first row that failed in a batch, -1 if the driver does not tell
+     */
+    private static int failedRow(BatchUpdateException e, int batchRows) {
+        int[] updateCounts = e.getUpdateCounts();
+        if (updateCounts == null) {
+            return -1;
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        // drivers that stop at the failed row return the counts of the rows before it
+        return updateCounts.length < batchRows ? updateCounts.length : -1;
+    }
+
+    private void passOn(LinkedHashMap<String, Object> row, Consumer<LinkedHashMap<String, Object>> rowConsumer) {
+        if (!this.keysetOnlyFields.isEmpty()) {
+            row.keySet().removeAll(this.keysetOnlyFields);
+        }
+        rowConsumer.accept(row);
+    }
+
+    private static void closeQuietly(PreparedStatement preparedStatement) {
+        if (preparedStatement == null) {
+            return;
+        }
+        try {
+            preparedStatement.close();
+        } catch (SQLException e) {
+            // already closed or the connection is gone
+        }
+    }
+
+    /**
+     * Free the arrays bound as parameters, also when the statement failed, and forget them
+     */
+    private static void freeQuietly(List<Array> arrays) {
+        for (Array array : arrays) {
+            try {
+                array.free();
+            } catch (SQLException e) {
+                // the connection is gone, and the array with it
+            }
+        }
+        arrays.clear();
+    }
+
+    private static String cursorFor(KeysetOrdering seekOrdering, Map<String, Object> row, long cursorValue) {
+        if (seekOrdering == null) {
+            return OpaqueCursorCodec.encode(cursorValue);
+        }
+        return seekOrdering.cursorFor(row, cursorValue);
+    }
 }
@@ -0,0 +1,188 @@
+package graphql.appsync;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.ToNumberPolicy;
+import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.GraphQlFieldDefinition;
+import graphql.sql.GraphQlTypeMetadata;
+import graphql.sql.LookupInfo;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.WhereClauseDeserializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the resolver derives from the SystemsManager metadata of a GraphQL type, validated and computed once.
+ * Immutable and shared by every request for the type, until the metadata is refreshed or the database vendor changes.
+ */
+public class GraphQlTypePlan {
+    private final String graphQlTypeName;
+    private final String vendor;
+    private final GraphQlTypeMetadata metadata;  // the metadata this plan was built from, to detect a refresh
+
+    private final String databaseTableName;
+    private final boolean keysetPagination;
+    private final long resultCacheTtlMillis;
+    private final List<String> keyFields;
+    private final Map<String, LookupInfo> lookupInfos;
+    private final Map<String, GraphQlFieldDefinition> graphQLFieldsInfo;
+    private final Map<String, GraphQlFieldType> fieldTypes;
+    private final Map<String, GraphQlFieldType> sqlNameToFieldTypes;
+    private final Map<String, String> graphQlToSqlNames;
+    private final Map<String, String> sqlToGraphQlNames;
+    private final Gson gson;
+
+    public GraphQlTypePlan(String graphQlTypeName, GraphQlTypeMetadata metadata, String vendor) {
+        this.graphQlTypeName = graphQlTypeName;
+        this.vendor = vendor;
+        this.metadata = metadata;
+        this.databaseTableName = metadata.getDatabaseTableName();
+        this.keysetPagination = metadata.isKeysetPagination();
+        this.resultCacheTtlMillis = Math.max(0, metadata.getResultCacheTtlSeconds()) * 1000;
+        this.keyFields = metadata.getKeyFields() == null ? List.of() : List.copyOf(metadata.getKeyFields());
+        this.lookupInfos = metadata.getLookupInfos() == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(metadata.getLookupInfos()));
+        this.graphQLFieldsInfo = metadata.getGraphQLFields() == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(metadata.getGraphQLFields()));
+
+        Map<String, GraphQlFieldType> fieldTypes = new HashMap<>();
+        Map<String, String> graphQlToSqlNames = new HashMap<>();
+        Map<String, String> sqlToGraphQlNames = new HashMap<>();
+        if (graphQLFieldsInfo != null) {
+            graphQLFieldsInfo.forEach((graphQlName, definition) -> {
+                if (definition != null) {
+                    fieldTypes.put(graphQlName, definition.getFieldType());
+                    graphQlToSqlNames.put(graphQlName, definition.getColumnName());
+                    sqlToGraphQlNames.putIfAbsent(definition.getColumnName(), graphQlName);
+                }
+            });
+        }
+        this.fieldTypes = Collections.unmodifiableMap(fieldTypes);
+        this.graphQlToSqlNames = Collections.unmodifiableMap(graphQlToSqlNames);
+        this.sqlToGraphQlNames = Collections.unmodifiableMap(sqlToGraphQlNames);
+        validate();
+
+        this.sqlNameToFieldTypes = Collections.unmodifiableMap(fieldTypes.keySet().stream()
+                .collect(Collectors.toMap(this::toSqlName, fieldTypes::get)));
+        this.gson = new GsonBuilder()
+                .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
+                .serializeNulls()
+                .registerTypeAdapter(SqlQueryStatement.WhereClause.class,
+                        new WhereClauseDeserializer(graphQlTypeName, this.fieldTypes, keyFields, lookupInfos,
+                                vendor, graphQLFieldsInfo))
+                .create();
+    }
+
+    /**
+     * validate the parameter retrieved from SystemsManager
+     */
+    private void validate() {
+        if (keyFields.isEmpty()) {
+            throw new GraphQlAdapterException(String.format("SystemsManager parameter for %s must define keyFields", graphQlTypeName));
+        }
+        if (fieldTypes.isEmpty()) {
+            throw new GraphQlAdapterException(String.format("SystemsManager parameter for %s must define fieldType in 'graphQLFields' property", graphQlTypeName));
+        }
+        List<String> keyColsMissingFieldType = keyFields.stream()
+                .filter(fieldTypes::containsKey)
+                .collect(Collectors.toList());
+        if (keyColsMissingFieldType.isEmpty()) {
+            throw new GraphQlAdapterException("Missing field type declarations for key columns: " + keyColsMissingFieldType);
+        }
+    }
+
+    /**
+     * @return true if this plan was built from the given metadata for the given vendor
+     */
+    public boolean isBuiltFrom(GraphQlTypeMetadata metadata, String vendor) {
+        return this.metadata == metadata && this.vendor.equals(vendor);
+    }
+
+    /**
+     * TotalCost -> total_cost, as defined in the 'graphQLFields' parameter
+     */
+    public String toSqlName(String graphQlName) {
+        if (!graphQlToSqlNames.containsKey(graphQlName)) {
+            throw new GraphQlAdapterException(String.format("The graphQL field %s not defined in system manager 'graphQLFields' parameter", graphQlName));
+        }
+        return graphQlToSqlNames.get(graphQlName);
+    }
+
+    /**
+     * total_cost -> TotalCost, as defined in the 'graphQLFields' parameter
+     */
+    public String toGraphQlName(String sqlName) {
+        if (sqlName == null) {
+            return null;
+        }
+        String graphQlName = sqlToGraphQlNames.get(sqlName);
+        if (graphQlName == null) {
+            throw new GraphQlAdapterException(String.format("The sql field %s not defined in system manager 'graphQLFields' parameter", sqlName));
+        }
+        return graphQlName;
+    }
+
+    public List<String> toSqlNames(List<String> graphQlNames) {
+        List<String> sqlNames = new ArrayList<>(graphQlNames.size());
+        for (String graphQlName : graphQlNames) {
+            sqlNames.add(toSqlName(graphQlName));
+        }
+        return sqlNames;
+    }
+
+    public String getGraphQlTypeName() {
+        return graphQlTypeName;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getDatabaseTableName() {
+        return databaseTableName;
+    }
+
+    public boolean isKeysetPagination() {
+        return keysetPagination;
+    }
+
+    /**
+     * @return how long query results of the type are cached, 0 if they are not, see {@link ResultCache}
+     */
+    public long getResultCacheTtlMillis() {
+        return resultCacheTtlMillis;
+    }
+
+    public List<String> getKeyFields() {
+        return keyFields;
+    }
+
+    public Map<String, LookupInfo> getLookupInfos() {
+        return lookupInfos;
+    }
+
+    public Map<String, GraphQlFieldDefinition> getGraphQLFieldsInfo() {
+        return graphQLFieldsInfo;
+    }
+
+    public Map<String, GraphQlFieldType> getFieldTypes() {
+        return fieldTypes;
+    }
+
+    public Map<String, GraphQlFieldType> getSqlNameToFieldTypes() {
+        return sqlNameToFieldTypes;
+    }
+
+    /**
+     * Gson that deserializes where clauses for this type. Thread-safe
+     */
+    public Gson getGson() {
+        return gson;
+    }
+}
@@ -0,0 +1,146 @@
+package graphql.appsync;
+
+import com.google.common.annotations.VisibleForTesting;
+import util.Util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Query results kept in the memory of the Lambda container, see {@link ResultCache}. Bounded by the estimated size of
+ * the results, RESULT_CACHE_MAX_BYTES, by default a tenth of the maximum heap size. The least recently used results
+ * are dropped first. A result larger than a tenth of the cache is not cached.
+ */
+public class InMemoryResultCache implements ResultCache {
+    private static final long KEY_BYTES = 40 + 64;  // the key strings and the cache entry
+
+    private final long maxBytes;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Long> versions = new HashMap<>();
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    public InMemoryResultCache(long maxBytes) {
+        this(maxBytes, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    InMemoryResultCache(long maxBytes, LongSupplier nanoClock) {
+        this.maxBytes = maxBytes;
+        this.nanoClock = nanoClock;
+    }
+
+    static InMemoryResultCache fromEnvironment() {
+        return new InMemoryResultCache(Util.longFromEnv("RESULT_CACHE_MAX_BYTES", Runtime.getRuntime().maxMemory() / 10));
+    }
+
+    @Override
+    public synchronized CachedResult get(String typeName, String key) {
+        String entryKey = entryKey(typeName, key);
+        Entry entry = entries.get(entryKey);
+        if (entry != null && nanoClock.getAsLong() - entry.expiresAt >= 0) {
+            remove(entryKey);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    @Override
+    public synchronized void put(String typeName, String key, CachedResult result, long ttlMillis, long version) {
+        if (version != version(typeName)) {
+            return;
+        }
+        String entryKey = entryKey(typeName, key);
+        long entryBytes = result.getBytes() + KEY_BYTES + 2L * entryKey.length();
+        if (entryBytes > getMaxEntryBytes()) {
+            return;
+        }
+        remove(entryKey);
+        entries.put(entryKey, new Entry(typeName, result, entryBytes, nanoClock.getAsLong() + ttlMillis * 1_000_000));
+        bytes += entryBytes;
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            bytes -= leastRecentlyUsed.next().bytes;
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized long version(String typeName) {
+        return versions.getOrDefault(typeName, 0L);
+    }
+
+    @Override
+    public synchronized void invalidate(String typeName) {
+        versions.merge(typeName, 1L, Long::sum);
+        invalidations++;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.typeName.equals(typeName)) {
+                bytes -= entry.bytes;
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public long getMaxEntryBytes() {
+        return maxBytes / 10;
+    }
+
+    @VisibleForTesting
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return String.format("entries=%d, bytes=%d, maxBytes=%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, invalidations=%d",
+                entries.size(), bytes, maxBytes, hits, misses, hitRatio, evictions, invalidations);
+    }
+
+    private void remove(String entryKey) {
+        Entry removed = entries.remove(entryKey);
+        if (removed != null) {
+            bytes -= removed.bytes;
+        }
+    }
+
+    private static String entryKey(String typeName, String key) {
+        return typeName + '\n' + key;
+    }
+
+    private static class Entry {
+        final String typeName;
+        final CachedResult result;
+        final long bytes;
+        final long expiresAt;
+
+        Entry(String typeName, CachedResult result, long bytes, long expiresAt) {
+            this.typeName = typeName;
+            this.result = result;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
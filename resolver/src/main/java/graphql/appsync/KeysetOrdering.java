@@ -0,0 +1,139 @@
+package graphql.appsync;
+
+import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.SeekPredicate;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The order of a keyset paginated query: the requested order columns followed by the key fields not already ordered
+ * by, so every row has a unique position and a page can continue after the values of the previous page's last row
+ */
+class KeysetOrdering {
+    private final List<String> sqlColumns = new ArrayList<>();
+    private final List<String> graphQlNames = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+    private final List<GraphQlFieldType> fieldTypes = new ArrayList<>();
+    private final int fingerprint;
+
+    /**
+     * @param orderBys the query's ORDER BY with SQL column names, may be null
+     * @return the keyset ordering, or null if the query must be paged by offset, e.g. when ordering by NULLS FIRST
+     */
+    static KeysetOrdering of(List<Map<String, SqlQueryStatement.OrderBy>> orderBys, GraphQlTypePlan typePlan) {
+        List<String> sqlColumns = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        if (orderBys != null) {
+            for (Map<String, SqlQueryStatement.OrderBy> orderBy : orderBys) {
+                String sqlColumn = orderBy.keySet().iterator().next();
+                SqlQueryStatement.OrderBy order = orderBy.get(sqlColumn);
+                if (order.getNulls() != null) {
+                    return null;
+                }
+                if (order.getDirection() != null && !order.getDirection().equalsIgnoreCase("ASC")
+                        && !order.getDirection().equalsIgnoreCase("DESC")) {
+                    return null;
+                }
+                if (!sqlColumns.contains(sqlColumn)) {
+                    sqlColumns.add(sqlColumn);
+                    descending.add("DESC".equalsIgnoreCase(order.getDirection()));
+                }
+            }
+        }
+        for (String keyField : typePlan.getKeyFields()) {
+            String sqlColumn = typePlan.toSqlName(keyField);
+            if (!sqlColumns.contains(sqlColumn)) {
+                sqlColumns.add(sqlColumn);
+                descending.add(false);
+            }
+        }
+
+        List<String> graphQlNames = new ArrayList<>();
+        List<GraphQlFieldType> fieldTypes = new ArrayList<>();
+        for (String sqlColumn : sqlColumns) {
+            String graphQlName = typePlan.toGraphQlName(sqlColumn);
+            GraphQlFieldType fieldType = typePlan.getFieldTypes().get(graphQlName);
+            // the cursor cannot hold these values, and they are not meaningfully ordered
+            if (fieldType == null || fieldType == GraphQlFieldType.AWSJSON || fieldType == GraphQlFieldType.ENUMMULTISELECT) {
+                return null;
+            }
+            graphQlNames.add(graphQlName);
+            fieldTypes.add(fieldType);
+        }
+        return new KeysetOrdering(typePlan, sqlColumns, descending, graphQlNames, fieldTypes);
+    }
+
+    private KeysetOrdering(GraphQlTypePlan typePlan, List<String> sqlColumns, List<Boolean> descending,
+                           List<String> graphQlNames, List<GraphQlFieldType> fieldTypes) {
+        this.sqlColumns.addAll(sqlColumns);
+        this.descending.addAll(descending);
+        this.graphQlNames.addAll(graphQlNames);
+        this.fieldTypes.addAll(fieldTypes);
+        StringBuilder fingerprintSource = new StringBuilder(typePlan.getGraphQlTypeName());
+        for (int i = 0; i < sqlColumns.size(); i++) {
+            fingerprintSource.append(',').append(sqlColumns.get(i)).append(descending.get(i) ? " DESC" : " ASC");
+        }
+        this.fingerprint = fingerprintSource.toString().hashCode();
+    }
+
+    /**
+     * @return the ORDER BY clause, with the key fields as tie-breakers
+     */
+    List<Map<String, SqlQueryStatement.OrderBy>> toOrderBy() {
+        List<Map<String, SqlQueryStatement.OrderBy>> orderBys = new ArrayList<>();
+        for (int i = 0; i < sqlColumns.size(); i++) {
+            SqlQueryStatement.OrderBy orderBy = new SqlQueryStatement.OrderBy();
+            orderBy.setDirection(descending.get(i) ? "DESC" : "ASC");
+            orderBys.add(Map.of(sqlColumns.get(i), orderBy));
+        }
+        return orderBys;
+    }
+
+    List<String> getSqlColumns() {
+        return sqlColumns;
+    }
+
+    List<String> getGraphQlNames() {
+        return graphQlNames;
+    }
+
+    /**
+     * @return predicate selecting the rows after the cursor, or null if the cursor has no values for this ordering,
+     * e.g. it was created for a different ORDER BY or by offset pagination
+     */
+    SeekPredicate seekAfter(OpaqueCursorCodec.Cursor cursor, String vendor) {
+        List<Object> cursorValues = cursor.getSeekValues();
+        if (cursorValues == null || cursor.getOrdering() != fingerprint || cursorValues.size() != sqlColumns.size()) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(cursorValues.size());
+        for (int i = 0; i < cursorValues.size(); i++) {
+            try {
+                values.add(TypeMapper.convertToJdbcReadyType(cursorValues.get(i), fieldTypes.get(i), vendor));
+            } catch (GraphQlAdapterException e) {
+                return null;
+            }
+        }
+        return new SeekPredicate(sqlColumns, descending, values, fieldTypes, vendor);
+    }
+
+    /**
+     * @return cursor for a result row, with its order values if they can be stored in a keyset cursor
+     */
+    String cursorFor(Map<String, Object> row, long offset) {
+        List<Object> values = new ArrayList<>(graphQlNames.size());
+        for (String graphQlName : graphQlNames) {
+            Object value = row.get(graphQlName);
+            if (!OpaqueCursorCodec.isSupportedSeekValue(value)) {
+                return OpaqueCursorCodec.encode(offset);
+            }
+            values.add(value);
+        }
+        return OpaqueCursorCodec.encode(offset, fingerprint, values);
+    }
+}
@@ -0,0 +1,326 @@
+package graphql.appsync;
+
+import graphql.GraphQlAdapterException;
+import util.Util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the Relay pagination cursor: the offset of an edge relative to the query and, for keyset pagination, the
+ * values the query is ordered by.
+ *
+ * An offset cursor is a version byte followed by the offset as an unsigned varint, in unpadded Base64URL, e.g. offset
+ * 300 is "AawC". A keyset cursor additionally has a fingerprint of the ordering and the tagged order values.
+ * Cursors handed out by earlier versions, Base64 of the JSON {"cursorOffset":4}, are still accepted.
+ */
+public final class OpaqueCursorCodec {
+    private static final byte OFFSET_VERSION = 1;
+    private static final byte KEYSET_VERSION = 2;
+    private static final String LEGACY_OFFSET_FIELD = "cursorOffset";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // value tags of keyset cursors
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+
+    private OpaqueCursorCodec() {
+    }
+
+    public static String encode(long offset) {
+        checkOffset(offset);
+        byte[] bytes = new byte[1 + varintLength(offset)];
+        bytes[0] = OFFSET_VERSION;
+        int position = 1;
+        while ((offset & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((offset & 0x7F) | 0x80);
+            offset >>>= 7;
+        }
+        bytes[position] = (byte) offset;
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * @param ordering fingerprint of the ORDER BY the values belong to
+     * @param seekValues non-null values of the order columns of the edge, see {@link #isSupportedSeekValue(Object)}
+     */
+    public static String encode(long offset, int ordering, List<Object> seekValues) {
+        Writer writer = new Writer(32);
+        writer.write(KEYSET_VERSION);
+        writer.writeUnsignedVarint(checkOffset(offset));
+        writer.writeInt(ordering);
+        writer.writeUnsignedVarint(seekValues.size());
+        for (Object value : seekValues) {
+            if (value instanceof Boolean) {
+                writer.write((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+                long longValue = ((Number) value).longValue();
+                writer.write(LONG);
+                writer.writeUnsignedVarint((longValue << 1) ^ (longValue >> 63));  // zigzag, small negatives stay short
+            } else if (value instanceof Double || value instanceof Float) {
+                writer.write(DOUBLE);
+                writer.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof BigDecimal) {
+                writer.write(DECIMAL);
+                writer.writeString(((BigDecimal) value).toString());
+            } else if (value instanceof String) {
+                writer.write(STRING);
+                writer.writeString((String) value);
+            } else {
+                throw new IllegalArgumentException("unsupported cursor value: " + value);
+            }
+        }
+        return ENCODER.encodeToString(writer.toByteArray());
+    }
+
+    /**
+     * @return true if the value can be stored in a keyset cursor
+     */
+    public static boolean isSupportedSeekValue(Object value) {
+        return value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Double || value instanceof Float || value instanceof BigDecimal || value instanceof String;
+    }
+
+    public static Cursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            // legacy cursors use the standard Base64 alphabet
+            boolean standardAlphabet = cursor.indexOf('+') >= 0 || cursor.indexOf('/') >= 0;
+            bytes = (standardAlphabet ? Base64.getDecoder() : Base64.getUrlDecoder()).decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+        if (bytes.length > 0 && bytes[0] == '{') {
+            return new Cursor(decodeLegacyOffset(new String(bytes, StandardCharsets.UTF_8), cursor), 0, null);
+        }
+        try {
+            Reader reader = new Reader(bytes);
+            byte version = reader.read();
+            long offset = reader.readUnsignedVarint();
+            Cursor decoded;
+            if (version == OFFSET_VERSION) {
+                decoded = new Cursor(offset, 0, null);
+            } else if (version == KEYSET_VERSION) {
+                int ordering = reader.readInt();
+                int count = (int) reader.readUnsignedVarint();
+                List<Object> seekValues = new ArrayList<>(Math.min(count, 64));
+                for (int i = 0; i < count; i++) {
+                    seekValues.add(reader.readValue());
+                }
+                decoded = new Cursor(offset, ordering, Collections.unmodifiableList(seekValues));
+            } else {
+                throw invalidCursor(cursor);
+            }
+            if (!reader.isAtEnd()) {
+                throw invalidCursor(cursor);
+            }
+            return decoded;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private static Long decodeLegacyOffset(String json, String cursor) {
+        Map<String, Object> legacyCursor;
+        try {
+            legacyCursor = Util.GSON.fromJson(json, Map.class);
+        } catch (RuntimeException e) {
+            throw invalidCursor(cursor);
+        }
+        Object offset = legacyCursor.get(LEGACY_OFFSET_FIELD);
+        if (offset == null) {
+            return null;
+        }
+        return ((Number) offset).longValue();
+    }
+
+    private static long checkOffset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("cursor offset cannot be negative: " + offset);
+        }
+        return offset;
+    }
+
+    private static int varintLength(long value) {
+        int length = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static GraphQlAdapterException invalidCursor(String cursor) {
+        return new GraphQlAdapterException("invalid pagination cursor: " + cursor);
+    }
+
+    /**
+     * A decoded cursor
+     */
+    public static class Cursor {
+        private final Long offset;
+        private final int ordering;
+        private final List<Object> seekValues;
+
+        Cursor(Long offset, int ordering, List<Object> seekValues) {
+            this.offset = offset;
+            this.ordering = ordering;
+            this.seekValues = seekValues;
+        }
+
+        /**
+         * @return offset relative to the query, or null for a legacy cursor without an offset
+         */
+        public Long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return fingerprint of the ORDER BY the seek values belong to
+         */
+        public int getOrdering() {
+            return ordering;
+        }
+
+        /**
+         * @return values of the order columns of the edge, or null for an offset cursor
+         */
+        public List<Object> getSeekValues() {
+            return seekValues;
+        }
+    }
+
+    private static class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(byte value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = value;
+        }
+
+        void writeUnsignedVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((byte) value);
+        }
+
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write((byte) (value >>> shift));
+            }
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((byte) (value >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsignedVarint(utf8.length);
+            for (byte b : utf8) {
+                write(b);
+            }
+        }
+
+        byte[] toByteArray() {
+            return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte read() {
+            return bytes[position++];
+        }
+
+        boolean isAtEnd() {
+            return position == bytes.length;
+        }
+
+        long readUnsignedVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("varint too long");
+        }
+
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readUnsignedVarint();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("string longer than cursor");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        Object readValue() {
+            byte tag = read();
+            switch (tag) {
+                case FALSE:
+                    return false;
+                case TRUE:
+                    return true;
+                case LONG:
+                    long zigzag = readUnsignedVarint();
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                case DOUBLE:
+                    return Double.longBitsToDouble(readLong());
+                case DECIMAL:
+                    return new BigDecimal(readString());
+                case STRING:
+                    return readString();
+                default:
+                    throw new IllegalArgumentException("unknown cursor value tag: " + tag);
+            }
+        }
+    }
+}
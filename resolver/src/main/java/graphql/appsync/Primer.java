@@ -0,0 +1,146 @@
+package graphql.appsync;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.sql.GraphQlTypeMetadata;
+import graphql.sql.db.PrimingDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProviderFactory;
+import util.Util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+
+import static graphql.appsync.AppSyncSqlResolverLambdaRequestHandler.LOGGER;
+
+/**
+ * Runs synthetic requests through the request path before a SnapStart/CRaC snapshot, so its classes are loaded and
+ * initialized, and partly JIT-compiled, in the snapshot rather than on the first request after a restore.
+ *
+ * The requests of each configured vendor run against an in-memory H2 database in the vendor's compatibility mode,
+ * see {@link PrimingDatabaseProvider}, so only the classes and the driver of the vendors in use end up in the snapshot.
+ * Priming is best effort: a request using SQL that H2 does not support fails, and is skipped. Without H2, which is only
+ * packaged with the snapstart profile, nothing is primed.
+ */
+final class Primer {
+    private static final String TYPE_METADATA = "{\"keyFields\": [\"ItemId\"], \"databaseTableName\": \"priming.item\"," +
+            "\"graphQLFields\": {" +
+            "  \"ItemId\": {\"fieldType\": \"Int\", \"columnName\": \"item_id\"}," +
+            "  \"Name\": {\"fieldType\": \"String\", \"columnName\": \"name\"}," +
+            "  \"Price\": {\"fieldType\": \"Float\", \"columnName\": \"price\"}," +
+            "  \"Available\": {\"fieldType\": \"Boolean\", \"columnName\": \"available\"}," +
+            "  \"Added\": {\"fieldType\": \"AWSDateTime\", \"columnName\": \"added\"}" +
+            "}}";
+    private static final String QUERY = "{" +
+            "\"arguments\": {\"first\": 1, \"where\": {\"and\": [{\"Available\": {\"eq\": true}}, {\"Price\": {\"gt\": 0.5}}]}," +
+            "  \"orderBy\": [{\"Price\": {\"direction\": \"DESC\"}}]}," +
+            "\"info\": {\"fieldName\": \"priming_Item\", \"parentTypeName\": \"Query\", \"variables\": {}," +
+            "  \"selectionSetList\": [\"edges\", \"edges/cursor\", \"edges/node\", \"edges/node/id\", \"edges/node/Name\"," +
+            "    \"edges/node/Price\", \"edges/node/Added\", \"pageInfo\", \"pageInfo/hasNextPage\", \"pageInfo/endCursor\"]" +
+            "}}";
+    private static final List<String> EVENTS = List.of(
+            QUERY,
+            node("Priming_Item-1"),
+            "[" + node("Priming_Item-1") + ", " + node("Priming_Item-2") + "]",
+            "{\"arguments\": {\"input\": {\"ItemId\": 3, \"Name\": \"created\", \"Price\": 3.5, \"Available\": false," +
+                    "  \"Added\": \"2024-01-01T00:00:00Z\"}}," +
+                    "\"info\": {\"fieldName\": \"create_Priming_Item\", \"parentTypeName\": \"Mutation\", \"variables\": {}," +
+                    "  \"selectionSetList\": [\"id\", \"Name\"]}}",
+            "{\"arguments\": {\"input\": {\"id\": \"Priming_Item-3\", \"Price\": 4.5}}," +
+                    "\"info\": {\"fieldName\": \"update_Priming_Item\", \"parentTypeName\": \"Mutation\", \"variables\": {}," +
+                    "  \"selectionSetList\": [\"id\", \"Price\"]}}",
+            "{\"arguments\": {\"id\": \"Priming_Item-3\"}," +
+                    "\"info\": {\"fieldName\": \"delete_Priming_Item\", \"parentTypeName\": \"Mutation\", \"variables\": {}," +
+                    "  \"selectionSetList\": [\"id\"]}}");
+
+    private Primer() {
+    }
+
+    /**
+     * Prime the given vendors, then replace the database providers with new ones, so no connection to a priming
+     * database is left in a pool
+     *
+     * @return whether anything was primed
+     */
+    static boolean prime(Collection<String> vendors) {
+        if (vendors.isEmpty()) {
+            return false;
+        }
+        if (!PrimingDatabaseProvider.isAvailable()) {
+            LOGGER.info(() -> "not priming, H2 is not packaged");
+            return false;
+        }
+        try {
+            for (String vendor : vendors) {
+                prime(vendor);
+            }
+        } finally {
+            SqlDatabaseProviderFactory.resetProviders();
+        }
+        return true;
+    }
+
+    private static void prime(String vendor) {
+        DatabaseConnectionParameters parameters = new DatabaseConnectionParameters();
+        parameters.setEngine(vendor);
+        parameters.setDbname("priming_" + vendor.toLowerCase());
+        GraphQlTypeMetadata typeMetadata = Util.GSON.fromJson(TYPE_METADATA, GraphQlTypeMetadata.class);
+        typeMetadata.setSecretName(parameters.getDbname());
+        typeMetadata.setSecretRegion(parameters.getDbname());
+
+        try {
+            prime(new PrimingDatabaseProvider(vendor), parameters, typeMetadata);
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.info(() -> "priming " + vendor + " failed: " + e);
+        }
+    }
+
+    private static void prime(PrimingDatabaseProvider provider, DatabaseConnectionParameters parameters,
+                              GraphQlTypeMetadata typeMetadata) throws SQLException {
+        String vendor = provider.getVendor();
+        // the in-memory database is dropped when its last connection closes
+        try (Connection keepAlive = provider.newConnection(parameters)) {
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("CREATE SCHEMA priming");
+                statement.execute("CREATE TABLE priming.item (item_id INT PRIMARY KEY, name VARCHAR(100)," +
+                        " price NUMERIC(10, 2), available BOOLEAN, added TIMESTAMP)");
+                statement.execute("INSERT INTO priming.item VALUES (1, 'first', 1.5, TRUE, TIMESTAMP '2024-01-01 00:00:00')," +
+                        " (2, 'second', 2.5, TRUE, TIMESTAMP '2024-01-02 00:00:00')");
+            }
+            SqlDatabaseProviderFactory.setProvider(vendor, provider);
+            AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                    secret -> parameters, parameterName -> typeMetadata);
+            for (String event : EVENTS) {
+                run(vendor, () -> handler.handleRequest(Util.GSON.fromJson(event, Object.class), null));
+            }
+            AppSyncSqlResolverLambdaStreamHandler streamHandler = new AppSyncSqlResolverLambdaStreamHandler(handler);
+            run(vendor, () -> {
+                try {
+                    streamHandler.handleRequest(new ByteArrayInputStream(QUERY.getBytes(StandardCharsets.UTF_8)),
+                            OutputStream.nullOutputStream(), null);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+    }
+
+    private static void run(String vendor, Runnable request) {
+        try {
+            request.run();
+        } catch (RuntimeException e) {
+            LOGGER.debug(() -> "priming request on " + vendor + " failed: " + e);
+        }
+    }
+
+    private static String node(String globalId) {
+        return "{\"arguments\": {\"id\": \"" + globalId + "\"}," +
+                "\"info\": {\"fieldName\": \"node\", \"parentTypeName\": \"Query\", \"variables\": {}," +
+                "  \"selectionSetList\": [\"id\"], \"selectionSetGraphQL\": \"{ id ... on Priming_Item { Name Price } }\"}}";
+    }
+}
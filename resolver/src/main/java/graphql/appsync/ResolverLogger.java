@@ -0,0 +1,187 @@
+package graphql.appsync;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonIOException;
+import util.Util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Leveled logging over the Lambda logger. Messages are suppliers that are only called if their level is enabled, so a
+ * disabled message costs nothing to build. Messages are cut off at LOG_MAX_LENGTH characters, 2000 by default, and
+ * {@link #json} and {@link #sample} stop rendering a payload there, so a large request or result is never rendered
+ * in full.
+ *
+ * LOG_LEVEL is ERROR, INFO, DEBUG or TRACE, INFO by default. An unknown level falls back to INFO, with a warning once
+ * the first invocation sets the logger.
+ */
+public class ResolverLogger {
+    public enum Level {
+        ERROR, INFO, DEBUG, TRACE
+    }
+
+    private static final String TRUNCATED = "...";
+
+    private volatile LambdaLogger logger = new NoOpLogger();
+    private final Level level;
+    private final int maxLength;
+    private final int sampleSize;
+    private volatile String startupWarning;
+
+    /**
+     * @param sampleSize how many elements of a collection {@link #sample} renders
+     */
+    @VisibleForTesting
+    public ResolverLogger(Level level, int maxLength, int sampleSize) {
+        this.level = level;
+        this.maxLength = maxLength;
+        this.sampleSize = sampleSize;
+    }
+
+    static ResolverLogger fromEnvironment() {
+        return fromLevelName(System.getenv("LOG_LEVEL"), (int) Util.longFromEnv("LOG_MAX_LENGTH", 2000),
+                (int) Util.longFromEnv("LOG_SAMPLE_SIZE", 10));
+    }
+
+    /**
+     * Fails no static initialization over a mistyped level, e.g. WARN
+     */
+    @VisibleForTesting
+    static ResolverLogger fromLevelName(String levelName, int maxLength, int sampleSize) {
+        if (levelName == null || levelName.isBlank()) {
+            return new ResolverLogger(Level.INFO, maxLength, sampleSize);
+        }
+        try {
+            return new ResolverLogger(Level.valueOf(levelName.trim().toUpperCase()), maxLength, sampleSize);
+        } catch (IllegalArgumentException e) {
+            ResolverLogger resolverLogger = new ResolverLogger(Level.INFO, maxLength, sampleSize);
+            resolverLogger.startupWarning = "unknown LOG_LEVEL " + levelName + ", logging at INFO";
+            return resolverLogger;
+        }
+    }
+
+    /**
+     * @param logger the logger of the current invocation
+     */
+    public void setLogger(LambdaLogger logger) {
+        this.logger = logger;
+        String warning = startupWarning;
+        if (warning != null) {
+            startupWarning = null;
+            info(() -> warning);
+        }
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(this.level) <= 0;
+    }
+
+    public void error(Supplier<String> message) {
+        log(Level.ERROR, message);
+    }
+
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    public void debug(Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+
+    public void trace(Supplier<String> message) {
+        log(Level.TRACE, message);
+    }
+
+    /**
+     * @return the JSON of the value, rendered only up to the maximum message length
+     */
+    public String json(Object value) {
+        LimitedWriter writer = new LimitedWriter(maxLength);
+        try {
+            Util.GSON.toJson(value, writer);
+        } catch (JsonIOException e) {
+            if (!(e.getCause() instanceof LimitReachedException)) {
+                throw e;
+            }
+            return writer.builder + TRUNCATED;
+        }
+        return writer.builder.toString();
+    }
+
+    /**
+     * @return the first elements of the collection, and how many were left out
+     */
+    public String sample(Collection<?> values) {
+        StringBuilder builder = new StringBuilder("[");
+        Iterator<?> iterator = values.iterator();
+        int shown = 0;
+        while (shown < sampleSize && iterator.hasNext() && builder.length() < maxLength) {
+            if (shown > 0) {
+                builder.append(", ");
+            }
+            builder.append(iterator.next());
+            shown++;
+        }
+        if (shown < values.size()) {
+            builder.append(", ").append(TRUNCATED).append(" (").append(values.size()).append(" values)");
+        }
+        return builder.append(']').toString();
+    }
+
+    private void log(Level level, Supplier<String> message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        String text = message.get();
+        if (text.length() > maxLength) {
+            text = text.substring(0, maxLength) + TRUNCATED;
+        }
+        logger.log(level + " " + text);
+    }
+
+    private static class LimitReachedException extends IOException {
+    }
+
+    /**
+     * Collects up to a maximum number of characters, then fails the serialization writing to it
+     */
+    private static class LimitedWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder();
+        private final int maxLength;
+
+        LimitedWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int remaining = maxLength - builder.length();
+            builder.append(chars, offset, Math.min(length, remaining));
+            if (length > remaining) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            int remaining = maxLength - builder.length();
+            builder.append(string, offset, offset + Math.min(length, remaining));
+            if (length > remaining) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
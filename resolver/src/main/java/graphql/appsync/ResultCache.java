@@ -0,0 +1,47 @@
+package graphql.appsync;
+
+import java.util.ServiceLoader;
+
+/**
+ * Query results, keyed by GraphQL type and by the query's SQL text, parameters and pagination, see
+ * {@link GraphQlSqlResolverRunner#query}. Only the results of types whose metadata sets resultCacheTtlSeconds are
+ * cached. Mutations invalidate the results of their type.
+ *
+ * The Lambda container keeps its own cache in memory, see {@link InMemoryResultCache}. An implementation listed in
+ * META-INF/services/graphql.appsync.ResultCache is used instead, e.g. one backed by a cache shared by all containers.
+ * Such an implementation should apply {@link #invalidate} to every container.
+ */
+public interface ResultCache {
+    /**
+     * @return the cached result, or null if there is none or it expired
+     */
+    CachedResult get(String typeName, String key);
+
+    /**
+     * @param version the type's {@link #version} before the query ran. The result is dropped if the type was
+     *                invalidated since, as it may have been read before the mutation
+     */
+    void put(String typeName, String key, CachedResult result, long ttlMillis, long version);
+
+    /**
+     * @return a number that changes whenever the type is invalidated
+     */
+    long version(String typeName);
+
+    /**
+     * Drop the results of a type, after a mutation of it
+     */
+    void invalidate(String typeName);
+
+    /**
+     * @return estimated size in bytes above which a result is not cached. Rows are only collected up to this size
+     */
+    long getMaxEntryBytes();
+
+    /**
+     * @return the first implementation listed in META-INF/services/graphql.appsync.ResultCache, or an in-memory cache
+     */
+    static ResultCache fromEnvironment() {
+        return ServiceLoader.load(ResultCache.class).findFirst().orElseGet(InMemoryResultCache::fromEnvironment);
+    }
+}
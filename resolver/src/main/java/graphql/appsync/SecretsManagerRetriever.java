@@ -4,4 +4,11 @@ import graphql.DatabaseConnectionParameters;
 
 public interface SecretsManagerRetriever {
     DatabaseConnectionParameters lookupSecret(SecretsManagerSecret secret);
+
+    /**
+     * Look the secret up again, bypassing any cached value. Used when the database rejects the current credentials
+     */
+    default DatabaseConnectionParameters refreshSecret(SecretsManagerSecret secret) {
+        return lookupSecret(secret);
+    }
 }
@@ -2,6 +2,8 @@ package graphql.appsync;
 
 import graphql.GraphQlAdapterException;
 
+import java.util.Objects;
+
 public class SecretsManagerSecret {
     private final String name;
     private final String region;
@@ -24,4 +26,21 @@ public class SecretsManagerSecret {
     public String getRegion() {
         return region;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SecretsManagerSecret)) {
+            return false;
+        }
+        SecretsManagerSecret other = (SecretsManagerSecret) o;
+        return name.equals(other.name) && region.equals(other.region);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, region);
+    }
 }
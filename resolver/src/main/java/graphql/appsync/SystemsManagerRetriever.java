@@ -2,6 +2,15 @@ package graphql.appsync;
 
 import graphql.sql.GraphQlTypeMetadata;
 
+import java.util.Map;
+
 public interface SystemsManagerRetriever {
     GraphQlTypeMetadata lookupSystemParameter(String parameterName);
+
+    /**
+     * @return metadata of every GraphQL type, keyed by type name. Empty if the source cannot list its parameters
+     */
+    default Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+        return Map.of();
+    }
 }
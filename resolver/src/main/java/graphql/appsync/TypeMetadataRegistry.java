@@ -0,0 +1,98 @@
+package graphql.appsync;
+
+import com.google.common.annotations.VisibleForTesting;
+import graphql.sql.GraphQlTypeMetadata;
+import util.RefreshingCache;
+import util.Util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches parsed GraphQL type metadata, so a warm Lambda container does not call SystemsManager and parse the
+ * metadata JSON on every request.
+ *
+ * The first lookup fetches the metadata of every type in one paginated call. Types added later are looked up
+ * individually on their first miss. Entries are refreshed in the background shortly before they expire.
+ *
+ * The time-to-live is configured with the environment variable TYPE_METADATA_CACHE_TTL_SECONDS, default 300
+ */
+public class TypeMetadataRegistry implements SystemsManagerRetriever {
+    private final SystemsManagerRetriever delegate;
+    private final RefreshingCache<String, GraphQlTypeMetadata> cache;
+    private volatile boolean prefetched = false;
+
+    public TypeMetadataRegistry(SystemsManagerRetriever delegate) {
+        this(delegate, Duration.ofSeconds(Util.longFromEnv("TYPE_METADATA_CACHE_TTL_SECONDS", 300)));
+    }
+
+    /**
+     * Refreshes in the background during the last fifth of the time-to-live
+     */
+    public TypeMetadataRegistry(SystemsManagerRetriever delegate, Duration ttl) {
+        this(delegate, new RefreshingCache<>(delegate::lookupSystemParameter, ttl, ttl.dividedBy(5)));
+    }
+
+    @VisibleForTesting
+    TypeMetadataRegistry(SystemsManagerRetriever delegate, RefreshingCache<String, GraphQlTypeMetadata> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public GraphQlTypeMetadata lookupSystemParameter(String parameterName) {
+        if (!prefetched) {
+            prefetch();
+        }
+        return cache.get(parameterName);
+    }
+
+    @Override
+    public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+        prefetch();
+        Map<String, GraphQlTypeMetadata> nameToMetadata = new HashMap<>();
+        cache.keys().forEach(name -> nameToMetadata.put(name, cache.peek(name)));
+        return nameToMetadata;
+    }
+
+    /**
+     * Load the metadata of every type. Only done once per container, a failure falls back to individual lookups
+     */
+    public synchronized void prefetch() {
+        if (prefetched) {
+            return;
+        }
+        prefetched = true;
+        try {
+            delegate.lookupAllSystemParameters().forEach(cache::put);
+        } catch (RuntimeException e) {
+            AppSyncSqlResolverLambdaRequestHandler.LOGGER.info(() -> "type metadata prefetch failed, looking up types individually: " + e);
+        }
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getRefreshes() {
+        return cache.getRefreshes();
+    }
+
+    /**
+     * Drop every cached type, the next lookup fetches all of them again
+     */
+    public synchronized void invalidateAll() {
+        cache.invalidateAll();
+        prefetched = false;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeMetadataRegistry{types=" + cache.keys().size() + ", " + cache + '}';
+    }
+}
@@ -0,0 +1,33 @@
+package graphql.sql;
+
+/**
+ * A statement parameter bound as a SQL array or collection, see {@link graphql.sql.db.SqlDatabaseProvider#createArray}
+ */
+public class ArrayParameter {
+    private final String typeName;
+    private final Object[] elements;
+
+    /**
+     * @param typeName element type for Postgres, e.g. int8, or the collection type for Oracle, e.g. SYS.ODCINUMBERLIST
+     */
+    public ArrayParameter(String typeName, Object[] elements) {
+        this.typeName = typeName;
+        this.elements = elements;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Object[] getElements() {
+        return elements;
+    }
+
+    /**
+     * Short form for the query log, lists can have thousands of values
+     */
+    @Override
+    public String toString() {
+        return String.format("%s[%d]", typeName, elements.length);
+    }
+}
@@ -0,0 +1,202 @@
+package graphql.sql;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.db.SqlDatabaseProvider;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+/**
+ * How to read each column of a result set: its GraphQL name, and a reader that gets the value with the JDBC getter for
+ * its type and converts it to the GraphQL value. Built once per statement from the result set metadata, so the row
+ * loop does no metadata calls, name lookups or type dispatch, and makes one call per cell.
+ */
+public class ColumnPlan {
+    private final String[] graphQlNames;
+    private final ColumnReader[] readers;
+    private final boolean[] nullable;
+
+    /**
+     * @param sqlToGraphQlName resolves a lowercased column name to its GraphQL field name
+     * @param sqlNameToFieldTypes GraphQL field type of each column, keyed by column name
+     */
+    public ColumnPlan(ResultSetMetaData metaData, Function<String, String> sqlToGraphQlName,
+                      Map<String, GraphQlFieldType> sqlNameToFieldTypes, SqlDatabaseProvider provider) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        this.graphQlNames = new String[columnCount];
+        this.readers = new ColumnReader[columnCount];
+        this.nullable = new boolean[columnCount];
+        // drivers may modify the calendar they are given, and a plan is read by one thread
+        Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        for (int i = 0; i < columnCount; i++) {
+            String columnName = metaData.getColumnName(i + 1).toLowerCase();
+            int columnType = provider.standardColumnType(metaData.getColumnType(i + 1));
+            GraphQlFieldType fieldType = sqlNameToFieldTypes.get(columnName);
+            graphQlNames[i] = sqlToGraphQlName.apply(columnName);
+            readers[i] = reader(columnType, fieldType, provider, utcCalendar);
+            nullable[i] = metaData.isNullable(i + 1) != ResultSetMetaData.columnNoNulls;
+        }
+    }
+
+    public int getColumnCount() {
+        return graphQlNames.length;
+    }
+
+    /**
+     * @return true unless the database reports the column as NOT NULL, also for columns that are not selected
+     */
+    public boolean isNullable(String graphQlName) {
+        for (int i = 0; i < graphQlNames.length; i++) {
+            if (graphQlNames[i].equals(graphQlName)) {
+                return nullable[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the current row of the result set, keyed by GraphQL name
+     */
+    public LinkedHashMap<String, Object> readRow(ResultSet rs) throws SQLException {
+        LinkedHashMap<String, Object> row = new LinkedHashMap<>(graphQlNames.length * 2);
+        for (int i = 0; i < graphQlNames.length; i++) {
+            row.put(graphQlNames[i], readers[i].read(rs, i + 1));
+        }
+        return row;
+    }
+
+    /**
+     * Pick the reader for a column by its JDBC type and GraphQL field type. Where both are known, the value is read
+     * with the getter of its type, e.g. getLong rather than getObject, and converted directly. Any other column is read
+     * with getObject and converted by TypeMapper
+     */
+    private static ColumnReader reader(int columnType, GraphQlFieldType fieldType, SqlDatabaseProvider provider,
+                                       Calendar utcCalendar) {
+        ColumnReader generic = (rs, index) -> TypeMapper.convertFromJdbcResult(rs.getObject(index), fieldType, provider);
+        if (fieldType == null || fieldType == GraphQlFieldType.AWSJSON) {
+            return generic;
+        }
+        switch (columnType) {
+            case Types.DATE:
+                return (rs, index) -> {
+                    Date value = rs.getDate(index);
+                    return value == null ? null : value.toString();
+                };
+            case Types.TIME:
+                return (rs, index) -> {
+                    Time value = rs.getTime(index, utcCalendar);
+                    return value == null ? null : LocalTime.MIDNIGHT.plus(value.getTime(), ChronoUnit.MILLIS).toString();
+                };
+            case Types.TIMESTAMP:
+                if (fieldType == GraphQlFieldType.AWSDATE || fieldType == GraphQlFieldType.AWSTIME) {
+                    return (rs, index) -> TypeMapper.convertFromJdbcResult(rs.getTimestamp(index, utcCalendar), fieldType, provider);
+                }
+                return (rs, index) -> {
+                    Timestamp value = rs.getTimestamp(index, utcCalendar);
+                    return value == null ? null : value.toInstant().toString();
+                };
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                // rather than the driver's own class, e.g. Oracle TIMESTAMPTZ or SQL Server DateTimeOffset
+                return (rs, index) -> {
+                    OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                    return value == null ? null : value.toString();
+                };
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                if (fieldType == GraphQlFieldType.ENUMMULTISELECT) {
+                    return generic;
+                }
+                return ResultSet::getString;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                // Oracle has no boolean or integer column types, NUMBER is used for both
+                if (fieldType == GraphQlFieldType.BOOLEAN) {
+                    return (rs, index) -> {
+                        BigDecimal value = rs.getBigDecimal(index);
+                        return value == null ? null : value.compareTo(BigDecimal.ZERO) > 0;
+                    };
+                } else if (fieldType == GraphQlFieldType.INT) {
+                    return (rs, index) -> {
+                        BigDecimal value = rs.getBigDecimal(index);
+                        return value == null ? null : value.intValue();
+                    };
+                }
+                return (rs, index) -> {
+                    BigDecimal value = rs.getBigDecimal(index);
+                    return value == null ? null : value.stripTrailingZeros();
+                };
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                if (fieldType != GraphQlFieldType.INT) {
+                    return generic;
+                }
+                return (rs, index) -> {
+                    int value = rs.getInt(index);
+                    return value == 0 && rs.wasNull() ? null : value;
+                };
+            case Types.BIGINT:
+                if (fieldType != GraphQlFieldType.INT) {
+                    return generic;
+                }
+                return (rs, index) -> {
+                    long value = rs.getLong(index);
+                    return value == 0 && rs.wasNull() ? null : value;
+                };
+            case Types.DOUBLE:
+            case Types.FLOAT:
+                if (fieldType != GraphQlFieldType.FLOAT) {
+                    return generic;
+                }
+                return (rs, index) -> {
+                    double value = rs.getDouble(index);
+                    return value == 0 && rs.wasNull() ? null : value;
+                };
+            case Types.REAL:
+                if (fieldType != GraphQlFieldType.FLOAT) {
+                    return generic;
+                }
+                return (rs, index) -> {
+                    float value = rs.getFloat(index);
+                    return value == 0 && rs.wasNull() ? null : value;
+                };
+            case Types.BOOLEAN:
+            case Types.BIT:
+                if (fieldType != GraphQlFieldType.BOOLEAN) {
+                    return generic;
+                }
+                return (rs, index) -> {
+                    boolean value = rs.getBoolean(index);
+                    return !value && rs.wasNull() ? null : value;
+                };
+            default:
+                return generic;
+        }
+    }
+
+    /**
+     * Reads a column of the current row and converts it to its GraphQL value
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet rs, int index) throws SQLException;
+    }
+}
@@ -16,6 +16,8 @@ public class GraphQlTypeMetadata {
     private Map<String, LookupInfo> lookupInfos;
     private String databaseTableName;
     private Map<String, GraphQlFieldDefinition> graphQLFields;
+    private boolean keysetPagination;  // page with WHERE (order columns) > (cursor values) instead of OFFSET
+    private long resultCacheTtlSeconds;  // how long query results are cached, 0 to not cache them
 
     public String getDatabaseTableName() {
         return databaseTableName;
@@ -64,4 +66,20 @@ public class GraphQlTypeMetadata {
     public void setLookupInfos(Map<String, LookupInfo> lookupInfos) {
         this.lookupInfos = lookupInfos;
     }
+
+    public boolean isKeysetPagination() {
+        return keysetPagination;
+    }
+
+    public void setKeysetPagination(boolean keysetPagination) {
+        this.keysetPagination = keysetPagination;
+    }
+
+    public long getResultCacheTtlSeconds() {
+        return resultCacheTtlSeconds;
+    }
+
+    public void setResultCacheTtlSeconds(long resultCacheTtlSeconds) {
+        this.resultCacheTtlSeconds = resultCacheTtlSeconds;
+    }
 }
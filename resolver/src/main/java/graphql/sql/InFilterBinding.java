@@ -0,0 +1,211 @@
+package graphql.sql;
+
+import com.google.common.annotations.VisibleForTesting;
+import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.SqlServerDatabaseProvider;
+import util.Util;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binds the values of an 'in' filter as one parameter, so the SQL text does not depend on the number of values and
+ * long lists do not run into bind parameter limits:
+ * - Postgres: col = ANY(?), bound as a typed array, for numbers, booleans, dates and date-times
+ * - SQL Server: col IN (SELECT value FROM OPENJSON(?) WITH (value type '$')), bound as a JSON array
+ * - Oracle: col IN (SELECT column_value FROM TABLE(?)), bound as a SYS.ODCI*LIST collection
+ *
+ * The environment variable IN_FILTER_BINDING selects which are used. By default only Postgres arrays: OPENJSON needs
+ * compatibility level 130 and its nvarchar values defeat index seeks on varchar columns, and the optimizer guesses the
+ * cardinality of an Oracle collection. "collection" also uses them, "expand" binds one placeholder per value, as for
+ * other databases and value types without an array type.
+ */
+public final class InFilterBinding {
+    private static final int ORACLE_MAX_VARCHAR_CHARACTERS = 1000;  // SYS.ODCIVARCHAR2LIST holds 4000 bytes
+
+    private static boolean arrayBinding = !"expand".equalsIgnoreCase(System.getenv("IN_FILTER_BINDING"));
+    private static boolean collectionBinding = "collection".equalsIgnoreCase(System.getenv("IN_FILTER_BINDING"));
+
+    private InFilterBinding() {
+    }
+
+    @VisibleForTesting
+    public static void setArrayBinding(boolean enabled) {
+        arrayBinding = enabled;
+    }
+
+    /**
+     * Also bind SQL Server and Oracle 'in' filters as one parameter, as IN_FILTER_BINDING=collection does
+     */
+    @VisibleForTesting
+    public static void setCollectionBinding(boolean enabled) {
+        collectionBinding = enabled;
+    }
+
+    /**
+     * Append the filter with its values bound as one parameter
+     *
+     * @return false if the values must be bound individually instead, nothing is appended then
+     */
+    static boolean addArrayFilter(StringBuilder sql, String columnName, Collection<Object> values,
+                                  GraphQlFieldType fieldType, String vendor, List<Object> parameters) {
+        Object parameter = toParameter(values, fieldType, vendor);
+        if (parameter == null) {
+            return false;
+        }
+        appendFilter(sql, columnName, fieldType, vendor);
+        parameters.add(parameter);
+        return true;
+    }
+
+    /**
+     * @return the parameter holding all values, or null if the values must be bound individually
+     */
+    static Object toParameter(Collection<Object> values, GraphQlFieldType fieldType, String vendor) {
+        if (!arrayBinding || fieldType == null || values.isEmpty() || values.contains(null)) {
+            return null;
+        }
+        if (!collectionBinding && !PostgreSqlDatabaseProvider.VENDOR.equals(vendor)) {
+            return null;
+        }
+        String typeName = elementType(fieldType, vendor);
+        if (typeName == null) {
+            return null;
+        }
+        List<Object> elements = new ArrayList<>(values.size());
+        for (Object value : values) {
+            Object converted = toElement(value, fieldType, vendor);
+            switch (vendor) {
+                case PostgreSqlDatabaseProvider.VENDOR:
+                    // dates and times are sent in their text form, which Postgres parses as the array's type
+                    elements.add(fieldType == GraphQlFieldType.AWSDATE || fieldType == GraphQlFieldType.AWSDATETIME
+                            ? converted.toString() : converted);
+                    break;
+                case SqlServerDatabaseProvider.VENDOR:
+                    elements.add(converted instanceof LocalDate ? converted.toString() : converted);
+                    break;
+                default:
+                    if (converted instanceof LocalDate) {
+                        converted = Date.valueOf((LocalDate) converted);
+                    } else if (converted instanceof String && ((String) converted).length() > ORACLE_MAX_VARCHAR_CHARACTERS) {
+                        return null;
+                    }
+                    elements.add(converted);
+            }
+        }
+        return SqlServerDatabaseProvider.VENDOR.equals(vendor)
+                ? Util.GSON.toJson(elements) : new ArrayParameter(typeName, elements.toArray());
+    }
+
+    private static void appendFilter(StringBuilder sql, String columnName, GraphQlFieldType fieldType, String vendor) {
+        switch (vendor) {
+            case PostgreSqlDatabaseProvider.VENDOR:
+                sql.append(columnName).append(" = ANY(?)");
+                break;
+            case SqlServerDatabaseProvider.VENDOR:
+                sql.append(columnName).append(" IN (SELECT value FROM OPENJSON(?) WITH (value ")
+                        .append(elementType(fieldType, vendor)).append(" '$'))");
+                break;
+            default:
+                sql.append(columnName).append(" IN (SELECT column_value FROM TABLE(?))");
+        }
+    }
+
+    /**
+     * @return the Postgres array element type, SQL Server OPENJSON column type or Oracle collection type, or null if
+     * the vendor has none for the field type
+     */
+    private static String elementType(GraphQlFieldType fieldType, String vendor) {
+        switch (vendor) {
+            case PostgreSqlDatabaseProvider.VENDOR:
+                switch (fieldType) {
+                    case INT:
+                        return "int8";
+                    case FLOAT:
+                        return "numeric";
+                    case BOOLEAN:
+                        return "bool";
+                    case AWSDATE:
+                        return "date";
+                    case AWSDATETIME:
+                        return "timestamptz";
+                    default:
+                        // text values may be in uuid, enum, integer or other columns, which have no = operator for
+                        // text[]. Expanded placeholders are typed by the server as their column, see stringtype
+                        return null;
+                }
+            case SqlServerDatabaseProvider.VENDOR:
+                switch (fieldType) {
+                    case INT:
+                        return "bigint";
+                    case FLOAT:
+                        return "float";
+                    case BOOLEAN:
+                        return "bit";
+                    case AWSDATE:
+                        return "date";
+                    case STRING:
+                    case ID:
+                    case ENUMERATION:
+                    case AWSEMAIL:
+                    case AWSPHONE:
+                    case AWSURL:
+                        return "nvarchar(max)";
+                    default:
+                        return null;
+                }
+            case OracleDatabaseProvider.VENDOR:
+                switch (fieldType) {
+                    case INT:
+                    case FLOAT:
+                        return "SYS.ODCINUMBERLIST";
+                    case AWSDATE:
+                        return "SYS.ODCIDATELIST";
+                    case STRING:
+                    case ID:
+                    case ENUMERATION:
+                    case AWSEMAIL:
+                    case AWSPHONE:
+                    case AWSURL:
+                        return "SYS.ODCIVARCHAR2LIST";
+                    default:
+                        return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Convert a filter value to the Java type of its array element. Filter values are JSON values, e.g. numbers are
+     * doubles
+     */
+    private static Object toElement(Object value, GraphQlFieldType fieldType, String vendor) {
+        Object converted = TypeMapper.convertToJdbcReadyType(value, fieldType, vendor);
+        try {
+            switch (fieldType) {
+                case INT:
+                    // 1.5 is rejected rather than truncated to 1
+                    return new BigDecimal(converted.toString()).longValueExact();
+                case FLOAT:
+                    return new BigDecimal(converted.toString());
+                case BOOLEAN:
+                    return converted instanceof Boolean ? converted : Boolean.parseBoolean(converted.toString());
+                case AWSDATE:
+                case AWSDATETIME:
+                    return converted;
+                default:
+                    return converted.toString();
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new GraphQlAdapterException(String.format("could not parse GraphQL %s input with value %s", fieldType, value));
+        }
+    }
+}
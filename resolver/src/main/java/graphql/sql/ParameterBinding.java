@@ -0,0 +1,69 @@
+package graphql.sql;
+
+import com.google.common.annotations.VisibleForTesting;
+import graphql.GraphQlFieldType;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds a statement parameter with the setter of its GraphQL field type, so a statement's parameters have the same
+ * SQL types on every execution and the database reuses its plan:
+ * - Int: setLong, also for whole numbers parsed from JSON as doubles
+ * - Float: setDouble, or setBigDecimal for decimal values
+ * - Boolean: setBoolean
+ * - text values: setString
+ *
+ * Values of other types, nulls and parameters without a field type are bound with setObject, as are all parameters
+ * if the environment variable PARAMETER_BINDING is set to "generic".
+ */
+public final class ParameterBinding {
+    private static boolean typedBinding = !"generic".equalsIgnoreCase(System.getenv("PARAMETER_BINDING"));
+
+    private ParameterBinding() {
+    }
+
+    @VisibleForTesting
+    public static void setTypedBinding(boolean enabled) {
+        typedBinding = enabled;
+    }
+
+    /**
+     * @param fieldType GraphQL type of the column the parameter is compared with or assigned to, null if unknown
+     */
+    public static void bind(PreparedStatement preparedStatement, int index, Object value, GraphQlFieldType fieldType)
+            throws SQLException {
+        if (!typedBinding || value == null || fieldType == null) {
+            preparedStatement.setObject(index, value);
+        } else if (value instanceof String) {
+            preparedStatement.setString(index, (String) value);
+        } else if (fieldType == GraphQlFieldType.INT && isWholeNumber(value)) {
+            preparedStatement.setLong(index, ((Number) value).longValue());
+        } else if (fieldType == GraphQlFieldType.FLOAT && value instanceof BigDecimal) {
+            preparedStatement.setBigDecimal(index, (BigDecimal) value);
+        } else if (fieldType == GraphQlFieldType.FLOAT && value instanceof Number) {
+            // through the decimal form, so a float parsed from a key is not widened to e.g. 0.10000000149011612
+            preparedStatement.setDouble(index, value instanceof Float ? Double.parseDouble(value.toString()) : ((Number) value).doubleValue());
+        } else if (fieldType == GraphQlFieldType.BOOLEAN && value instanceof Boolean) {
+            preparedStatement.setBoolean(index, (Boolean) value);
+        } else {
+            preparedStatement.setObject(index, value);
+        }
+    }
+
+    private static boolean isWholeNumber(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.stripTrailingZeros().scale() <= 0 && decimal.toBigInteger().bitLength() < 64;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return number == Math.rint(number) && Math.abs(number) < 0x1p53;
+        }
+        return false;
+    }
+}
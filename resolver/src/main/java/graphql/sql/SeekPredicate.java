@@ -0,0 +1,92 @@
+package graphql.sql;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProvider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset pagination predicate selecting the rows after a given row in the query's order, e.g. for
+ * ORDER BY a, b: (a, b) > (?, ?)
+ *
+ * Row value comparison is only used when every column is ordered in the same direction and the database supports it.
+ * Otherwise, e.g. for Oracle and SQL Server, it is expanded to: (a > ?) OR (a = ? AND b > ?)
+ */
+public class SeekPredicate {
+    private final List<String> columns;
+    private final List<Boolean> descending;
+    private final List<Object> values;
+    private final List<GraphQlFieldType> fieldTypes;
+    private final boolean rowValueComparison;
+
+    /**
+     * @param columns SQL names of the order columns
+     * @param descending whether each column is ordered descending
+     * @param values JDBC-ready values of the order columns of the last row of the previous page
+     */
+    public SeekPredicate(List<String> columns, List<Boolean> descending, List<Object> values, String vendor) {
+        this(columns, descending, values, Collections.nCopies(columns.size(), null), vendor);
+    }
+
+    /**
+     * @param fieldTypes GraphQL field types of the order columns, to bind the values with the setters of their types
+     */
+    public SeekPredicate(List<String> columns, List<Boolean> descending, List<Object> values,
+                         List<GraphQlFieldType> fieldTypes, String vendor) {
+        this.columns = columns;
+        this.descending = descending;
+        this.values = values;
+        this.fieldTypes = fieldTypes;
+        this.rowValueComparison = supportsRowValueComparison(vendor) && descending.stream().distinct().count() == 1;
+    }
+
+    public static boolean supportsRowValueComparison(String vendor) {
+        return PostgreSqlDatabaseProvider.VENDOR.equals(vendor) || SqlDatabaseProvider.IN_MEMORY_VENDOR.equals(vendor);
+    }
+
+    /**
+     * Append the SQL text of the predicate, its parameters are added by {@link #addParameters}
+     */
+    public void addClause(StringBuilder sql) {
+        if (rowValueComparison) {
+            sql.append('(').append(String.join(", ", columns)).append(descending.get(0) ? ") < (" : ") > (");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? "(" : " OR (");
+                for (int j = 0; j < i; j++) {
+                    sql.append(columns.get(j)).append(" = ? AND ");
+                }
+                sql.append(columns.get(i)).append(descending.get(i) ? " < ?" : " > ?");
+                sql.append(')');
+            }
+        }
+    }
+
+    /**
+     * Append the columns and directions, which determine the SQL text of the predicate
+     */
+    public void addShape(StringBuilder shape) {
+        shape.append(rowValueComparison ? "row" : "expanded");
+        for (int i = 0; i < columns.size(); i++) {
+            shape.append(' ').append(columns.get(i)).append(descending.get(i) ? " desc" : " asc");
+        }
+    }
+
+    public void addParameters(List<Object> parameters, List<GraphQlFieldType> parameterTypes) {
+        if (rowValueComparison) {
+            parameters.addAll(values);
+            parameterTypes.addAll(fieldTypes);
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            parameters.addAll(values.subList(0, i + 1));
+            parameterTypes.addAll(fieldTypes.subList(0, i + 1));
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package graphql.sql;
 
 import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.SqlServerDatabaseProvider;
 
 import java.util.*;
 
@@ -9,9 +13,14 @@ public class SqlDmlStatement implements SqlStatement {
     private final SqlStatementType statementType;
     private final LinkedHashMap<String, Object> newValues;
     private final LinkedHashMap<String, Object> where;
+    private List<LinkedHashMap<String, Object>> keys;  // rows of a delete by keys, instead of where
+    private List<String> returning;  // columns of the affected row to return from the statement itself
+    private String vendor;
+    private Map<String, GraphQlFieldType> fieldTypes = Collections.emptyMap();  // keyed by SQL column name
     
     private String preparedStatement;
     private List<Object> parameters = new ArrayList<>();
+    private List<GraphQlFieldType> parameterTypes = new ArrayList<>();
 
     public SqlDmlStatement(SqlStatementType statementType, String tableName, LinkedHashMap<String, Object> newValues, LinkedHashMap<String, Object> where) {
         this.statementType = statementType;
@@ -20,6 +29,53 @@ public class SqlDmlStatement implements SqlStatement {
         this.where = where;
     }
 
+    /**
+     * DELETE of the rows of several keys: key IN (?, ?, ...) for a single key column, otherwise
+     * (k1 = ? AND k2 = ?) OR (k1 = ? AND k2 = ?) ...
+     *
+     * @param keys key column values of each row, keyed by SQL name, every row with the same columns
+     */
+    public static SqlDmlStatement deleteByKeys(String tableName, List<LinkedHashMap<String, Object>> keys) {
+        if (keys.isEmpty()) {
+            throw new GraphQlAdapterException("delete by keys requires at least one key");
+        }
+        SqlDmlStatement statement = new SqlDmlStatement(SqlStatementType.DELETE, tableName, new LinkedHashMap<>(), keys.get(0));
+        statement.keys = keys;
+        return statement;
+    }
+
+    /**
+     * @return true if the vendor can return the affected row from the DML statement, saving the SELECT round trip:
+     * RETURNING on Postgres, OUTPUT on SQL Server and, for inserts, RETURNING INTO through the Oracle driver's
+     * generated keys
+     */
+    public static boolean supportsReturning(String vendor, SqlStatementType statementType) {
+        if (OracleDatabaseProvider.VENDOR.equals(vendor)) {
+            return SqlStatementType.INSERT.equals(statementType);
+        }
+        return PostgreSqlDatabaseProvider.VENDOR.equals(vendor) || SqlServerDatabaseProvider.VENDOR.equals(vendor);
+    }
+
+    /**
+     * Return the given columns of the affected row, see {@link #supportsReturning(String, SqlStatementType)}
+     */
+    public void setReturning(List<String> returning, String vendor) {
+        this.returning = returning;
+        this.vendor = vendor;
+        this.preparedStatement = null;
+    }
+
+    public List<String> getReturning() {
+        return returning;
+    }
+
+    /**
+     * @return true if the returned columns are read from the generated keys rather than a result set of the statement
+     */
+    public boolean isReturningGeneratedKeys() {
+        return returning != null && OracleDatabaseProvider.VENDOR.equals(vendor);
+    }
+
     public String getPreparedStatement() {
         build();
         return preparedStatement;
@@ -30,26 +86,83 @@ public class SqlDmlStatement implements SqlStatement {
         return new ArrayList<>(parameters);
     }
 
+    public List<GraphQlFieldType> getParameterTypes() {
+        build();
+        return new ArrayList<>(parameterTypes);
+    }
+
+    /**
+     * @param fieldTypes GraphQL field types keyed by SQL column name, to bind each parameter with the setter of its
+     *                   column's type, see {@link ParameterBinding}
+     */
+    public void setFieldTypes(Map<String, GraphQlFieldType> fieldTypes) {
+        this.fieldTypes = fieldTypes;
+        this.preparedStatement = null;
+    }
+
+    /**
+     * Collects the parameters along with the statement's shape, the SQL text is only built for a new shape, see
+     * {@link SqlTemplateCache}
+     */
     private void build() {
         if (preparedStatement != null) {
             return;
         }
         parameters = new ArrayList<>();
-
-        switch (statementType) {
-            case INSERT:
-                buildInsert();
-                break;
-            case UPDATE:
-                buildUpdate();
-                break;
-            case DELETE:
-                buildDelete();
-                break;
+        parameterTypes = new ArrayList<>();
+        StringBuilder shape = new StringBuilder(statementType.name()).append('|').append(vendor).append('|')
+                .append(tableName).append('|');
+        if (!SqlStatementType.DELETE.equals(statementType)) {
+            shape.append(String.join(",", newValues.keySet()));
+            for (Map.Entry<String, Object> entry : newValues.entrySet()) {
+                parameters.add(entry.getValue());
+                parameterTypes.add(fieldTypes.get(entry.getKey()));
+            }
+        }
+        shape.append('|');
+        if (!SqlStatementType.INSERT.equals(statementType)) {
+            for (Map.Entry<String, Object> entry : where.entrySet()) {
+                if (entry.getValue() == null) {
+                    throw new GraphQlAdapterException("null values in key column are not allowed");
+                }
+                shape.append(entry.getKey()).append(',');
+                parameters.add(entry.getValue());
+                parameterTypes.add(fieldTypes.get(entry.getKey()));
+            }
+        }
+        if (returning != null) {
+            shape.append('|').append(String.join(",", returning));
         }
+        if (keys != null) {
+            // the key columns are already in the shape, and the SQL text depends on the number of keys
+            shape.append("|keys").append(keys.size());
+            for (LinkedHashMap<String, Object> key : keys.subList(1, keys.size())) {
+                if (!key.keySet().equals(where.keySet())) {
+                    throw new GraphQlAdapterException("keys must have the same columns: " + where.keySet() + ", " + key.keySet());
+                }
+                for (Map.Entry<String, Object> entry : key.entrySet()) {
+                    if (entry.getValue() == null) {
+                        throw new GraphQlAdapterException("null values in key column are not allowed");
+                    }
+                    parameters.add(entry.getValue());
+                    parameterTypes.add(fieldTypes.get(entry.getKey()));
+                }
+            }
+        }
+
+        preparedStatement = SqlTemplateCache.get(shape.toString(), () -> {
+            switch (statementType) {
+                case INSERT:
+                    return buildInsert();
+                case UPDATE:
+                    return buildUpdate();
+                default:
+                    return keys != null ? buildDeleteByKeys() : buildDelete();
+            }
+        });
     }
     
-    private void buildInsert() {
+    private String buildInsert() {
         StringBuilder sql = new StringBuilder();
 
         // INSERT
@@ -61,7 +174,6 @@ public class SqlDmlStatement implements SqlStatement {
         Iterator<Map.Entry<String, Object>> iterator = newValues.entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, Object> entry = iterator.next();
-            parameters.add(entry.getValue());
             columns.append(entry.getKey());
             values.append("?");
             if (iterator.hasNext()) {
@@ -71,12 +183,14 @@ public class SqlDmlStatement implements SqlStatement {
         }
 
         sql.append(" (").append(columns).append(") ");
+        appendOutput(sql, "INSERTED");
         sql.append("VALUES ").append("(").append(values).append(") ");
+        appendReturning(sql);
         
-        preparedStatement = sql.toString();
+        return sql.toString();
     }
 
-    private void buildUpdate() {
+    private String buildUpdate() {
         StringBuilder sql = new StringBuilder();
 
         // UPDATE
@@ -88,40 +202,87 @@ public class SqlDmlStatement implements SqlStatement {
         while (columnValueIt.hasNext()) {
             Map.Entry<String, Object> entry = columnValueIt.next();
             String columnName = entry.getKey();
-            Object columnValue = entry.getValue();
 
             sql.append(columnName).append(" = ?");
-            parameters.add(columnValue);
 
             if (columnValueIt.hasNext()) {
                 sql.append(", ");
             }
         }
+        sql.append(' ');
+        appendOutput(sql, "INSERTED");
         buildWhereClause(sql);
+        appendReturning(sql);
         
-        preparedStatement = sql.toString();
+        return sql.toString();
     }
 
-    private void buildDelete() {
+    private String buildDelete() {
         StringBuilder sql = new StringBuilder();
 
         // DELETE
-        sql.append("DELETE FROM ").append(tableName);
+        sql.append("DELETE FROM ").append(tableName).append(' ');
+        appendOutput(sql, "DELETED");
         buildWhereClause(sql);
+        appendReturning(sql);
+
+        return sql.toString();
+    }
 
-        preparedStatement = sql.toString();
+    private String buildDeleteByKeys() {
+        StringBuilder sql = new StringBuilder();
+        sql.append("DELETE FROM ").append(tableName).append(" WHERE ");
+        if (where.size() == 1) {
+            sql.append(where.keySet().iterator().next()).append(" IN (");
+            for (int i = 0; i < keys.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            return sql.append(')').toString();
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "(" : " OR (");
+            Iterator<String> columns = where.keySet().iterator();
+            while (columns.hasNext()) {
+                sql.append(columns.next()).append(" = ?");
+                if (columns.hasNext()) {
+                    sql.append(" AND ");
+                }
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    /**
+     * SQL Server: OUTPUT INSERTED.a, INSERTED.b
+     */
+    private void appendOutput(StringBuilder sql, String pseudoTable) {
+        if (returning == null || !SqlServerDatabaseProvider.VENDOR.equals(vendor)) {
+            return;
+        }
+        sql.append("OUTPUT ");
+        for (int i = 0; i < returning.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(pseudoTable).append('.').append(returning.get(i));
+        }
+        sql.append(' ');
+    }
+
+    /**
+     * Postgres: RETURNING a, b
+     */
+    private void appendReturning(StringBuilder sql) {
+        if (returning == null || !PostgreSqlDatabaseProvider.VENDOR.equals(vendor)) {
+            return;
+        }
+        sql.append("RETURNING ").append(String.join(", ", returning));
     }
 
     private void buildWhereClause(StringBuilder sql) {
-        sql.append(" WHERE ");
+        sql.append("WHERE ");
         Iterator<Map.Entry<String, Object>> iterator = where.entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, Object> entry = iterator.next();
-            if (entry.getValue() == null) {
-                throw new GraphQlAdapterException("null values in key column are not allowed");
-            }
             sql.append("(").append(entry.getKey()).append(" = ?) ");
-            parameters.add(entry.getValue());
             if (iterator.hasNext()) {
                 sql.append("AND ");
             }
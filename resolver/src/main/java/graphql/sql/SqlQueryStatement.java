@@ -16,9 +16,11 @@ public class SqlQueryStatement implements SqlStatement {
     private final Long limit;
     private final String vendor;  // not preferred but Oracle and SQL Server have edge cases with syntax
     private Map<String, GraphQlFieldDefinition> graphQLFieldsInfo; // contains graphQL 'fieldType' and 'sqlColumnName' info
+    private SeekPredicate seek;  // keyset pagination, replaces the offset
     
     private String preparedStatement;
     private final List<Object> parameters = new ArrayList<>();
+    private final List<GraphQlFieldType> parameterTypes = new ArrayList<>();
 
     public SqlQueryStatement(String tableName, List<String> select,
                              WhereClause whereClause, List<Map<String, OrderBy>> orderByClause,
@@ -42,6 +44,11 @@ public class SqlQueryStatement implements SqlStatement {
         return new ArrayList<>(parameters);
     }
 
+    public List<GraphQlFieldType> getParameterTypes() {
+        build();
+        return new ArrayList<>(parameterTypes);
+    }
+
     public Long getLimit() {
         return limit;
     }
@@ -50,11 +57,47 @@ public class SqlQueryStatement implements SqlStatement {
         return offset;
     }
 
+    /**
+     * Collects the parameters along with the statement's shape, the SQL text is only built for a new shape, see
+     * {@link SqlTemplateCache}
+     */
     private void build() {
         if (preparedStatement != null) {
             return;
         }
-        buildSelect();
+        boolean hasWhere = hasWhere();
+        StringBuilder shape = new StringBuilder(vendor).append('|').append(tableName).append('|');
+        shape.append(String.join(",", select)).append('|');
+        if (hasWhere) {
+            where.addShape(shape, parameters, parameterTypes, this.graphQLFieldsInfo);
+        }
+        shape.append('|');
+        if (seek != null) {
+            seek.addShape(shape);
+            seek.addParameters(parameters, parameterTypes);
+        }
+        shape.append('|');
+        if (orderByClause != null) {
+            for (Map<String, OrderBy> orderByEntry : orderByClause) {
+                String fieldName = orderByEntry.keySet().iterator().next();
+                OrderBy orderBy = orderByEntry.get(fieldName);
+                shape.append(fieldName).append(' ').append(orderBy.getDirection()).append(' ').append(orderBy.getNulls()).append(',');
+            }
+        }
+        shape.append('|').append(offset != null).append(limit != null);
+        if (offset != null) {
+            parameters.add(offset);
+            parameterTypes.add(GraphQlFieldType.INT);
+        }
+        if (limit != null) {
+            parameters.add(limit);
+            parameterTypes.add(GraphQlFieldType.INT);
+        }
+        preparedStatement = SqlTemplateCache.get(shape.toString(), () -> buildSelect(hasWhere));
+    }
+
+    private boolean hasWhere() {
+        return where != null && !(where.filter.isEmpty() && where.and == null && where.or == null && where.not == null);
     }
 
     public Map<String, GraphQlFieldDefinition> getGraphQLFieldsInfo() {
@@ -65,8 +108,20 @@ public class SqlQueryStatement implements SqlStatement {
         this.graphQLFieldsInfo = graphQLFieldsInfo;
     }
 
-    private void buildSelect() {
+    public SeekPredicate getSeek() {
+        return seek;
+    }
+
+    public void setSeek(SeekPredicate seek) {
+        this.seek = seek;
+    }
+
+    /**
+     * @return the SQL text, the parameters are collected by {@link #build()}
+     */
+    private String buildSelect(boolean hasWhere) {
         StringBuilder sql = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
 
         // SELECT
         sql.append("SELECT ");
@@ -83,9 +138,18 @@ public class SqlQueryStatement implements SqlStatement {
         sql.append(tableName);
 
         // WHERE
-        if (where != null && !(where.filter.isEmpty() && where.and == null && where.or == null && where.not == null)) {
+        if (hasWhere && seek != null) {
+            sql.append(" WHERE (");
+            where.addClause(sql, parameters, this.graphQLFieldsInfo);
+            sql.append(") AND (");
+            seek.addClause(sql);
+            sql.append(')');
+        } else if (hasWhere) {
             sql.append(" WHERE ");
             where.addClause(sql, parameters, this.graphQLFieldsInfo);
+        } else if (seek != null) {
+            sql.append(" WHERE ");
+            seek.addClause(sql);
         }
 
         // ORDER BY
@@ -125,22 +189,18 @@ public class SqlQueryStatement implements SqlStatement {
             }
         }
 
-        // OFFSET
+        // OFFSET, bound so that every page shares the statement
         if (offset != null) {
-            sql.append(" OFFSET ");
-            sql.append(offset);
-            sql.append(" ROWS");
+            sql.append(" OFFSET ? ROWS");
         }
 
         // LIMIT
         if (limit != null) {
             // FETCH NEXT is in SQL standard while LIMIT is not. Functionally the same
-            sql.append(" FETCH NEXT ");
-            sql.append(limit);
-            sql.append(" ROWS ONLY");
+            sql.append(" FETCH NEXT ? ROWS ONLY");
         }
         
-        preparedStatement = sql.toString();
+        return sql.toString();
     }
 
     public static class WhereClause {
@@ -188,6 +248,44 @@ public class SqlQueryStatement implements SqlStatement {
             }
         }
 
+        /**
+         * Append the shape of the clause, its columns and operators, and collect its parameters and their field types
+         * in binding order
+         */
+        void addShape(StringBuilder shape, List<Object> parameters, List<GraphQlFieldType> parameterTypes,
+                      Map<String, GraphQlFieldDefinition> graphQLFieldsInfo) {
+            shape.append('(');
+            if (filter != null) {
+                for (Map.Entry<String, Map<String, Object>> columnFilter : filter.entrySet()) {
+                    shape.append(columnFilter.getKey());
+                    if (columnFilter.getValue() != null) {
+                        new WhereClauseFilter(columnFilter.getValue(), fieldTypes, vendor)
+                                .addShape(shape, columnFilter.getKey(), parameters, parameterTypes, graphQLFieldsInfo);
+                    }
+                    shape.append(';');
+                }
+            }
+            addBooleanShapes(shape, "and", and, parameters, parameterTypes, graphQLFieldsInfo);
+            addBooleanShapes(shape, "or", or, parameters, parameterTypes, graphQLFieldsInfo);
+            if (not != null) {
+                shape.append("not");
+                not.addShape(shape, parameters, parameterTypes, graphQLFieldsInfo);
+            }
+            shape.append(')');
+        }
+
+        private void addBooleanShapes(StringBuilder shape, String booleanOperator, List<WhereClause> booleanClauses,
+                                      List<Object> parameters, List<GraphQlFieldType> parameterTypes,
+                                      Map<String, GraphQlFieldDefinition> graphQLFieldsInfo) {
+            if (booleanClauses == null) {
+                return;
+            }
+            shape.append(booleanOperator);
+            for (WhereClause booleanClause : booleanClauses) {
+                booleanClause.addShape(shape, parameters, parameterTypes, graphQLFieldsInfo);
+            }
+        }
+
         private void addBooleanClauses(StringBuilder sql, String booleanOperator, List<WhereClause> booleanClauses, List<Object> parameters,  Map<String, GraphQlFieldDefinition> graphQLFieldsInfo) {
             Iterator<WhereClause> filterClauses = booleanClauses.iterator();
             while (filterClauses.hasNext()) {
@@ -315,6 +413,41 @@ public class SqlQueryStatement implements SqlStatement {
             addFilter(sql, columnName, filterOperator, value, parameters, graphQLFieldsInfo);
         }
 
+        /**
+         * Append the operator to the shape and collect the parameters as {@link #addFilter} binds them
+         */
+        void addShape(StringBuilder shape, String columnName, List<Object> parameters, List<GraphQlFieldType> parameterTypes,
+                      Map<String, GraphQlFieldDefinition> graphQLFieldsInfo) {
+            GraphQlFieldType fieldType = fieldTypes.get(Util.sqlToGraphQlName(columnName, graphQLFieldsInfo));
+            shape.append(' ').append(fieldType);
+            for (Map.Entry<String, Object> operatorValue : filter.entrySet()) {
+                shape.append(' ').append(operatorValue.getKey());
+                Object value = operatorValue.getValue();
+                if (value == null) {
+                    shape.append(" null");
+                } else if (FilterOperator.in.name().equals(operatorValue.getKey()) && value instanceof Collection) {
+                    Collection<Object> values = (Collection<Object>) value;
+                    Object arrayParameter = isPostgresJson(fieldType) ? null : InFilterBinding.toParameter(values, fieldType, vendor);
+                    if (arrayParameter != null) {
+                        shape.append("[]");
+                        parameters.add(arrayParameter);
+                        parameterTypes.add(fieldType);
+                    } else {
+                        shape.append('[').append(values.size()).append(']');
+                        parameters.addAll(values);
+                        parameterTypes.addAll(Collections.nCopies(values.size(), fieldType));
+                    }
+                } else {
+                    parameters.add(value);
+                    parameterTypes.add(fieldType);
+                }
+            }
+        }
+
+        private boolean isPostgresJson(GraphQlFieldType fieldType) {
+            return vendor.equals(PostgreSqlDatabaseProvider.VENDOR) && GraphQlFieldType.AWSJSON.equals(fieldType);
+        }
+
         private void addFilter(StringBuilder sql, String columnName, FilterOperator filterOperator,
                                Object value, List<Object> parameters, Map<String, GraphQlFieldDefinition> graphQLFieldsInfo) {
             if (value == null && filterOperator != FilterOperator.eq && filterOperator != FilterOperator.ne) {
@@ -322,16 +455,19 @@ public class SqlQueryStatement implements SqlStatement {
                         "null isn't allowed for filter operator: " + filterOperator);
             }
             
-            boolean onPostgresJson = false;
+            GraphQlFieldType fieldType = fieldTypes.get(Util.sqlToGraphQlName(columnName, graphQLFieldsInfo));
+            boolean onPostgresJson = isPostgresJson(fieldType);
 
             // very hacky, needed to handle JSON data type in PostgreSQL
             // cannot compare JSON types directly, need to cast to JSONB
-            if (vendor.equals(PostgreSqlDatabaseProvider.VENDOR) && 
-                    fieldTypes.get(Util.sqlToGraphQlName(columnName,graphQLFieldsInfo)).equals(GraphQlFieldType.AWSJSON)) {
-                onPostgresJson = true;
+            if (onPostgresJson) {
                 columnName += "::jsonb";
             }
             
+            if (filterOperator == FilterOperator.in && !onPostgresJson && InFilterBinding.addArrayFilter(sql, columnName,
+                    (Collection<Object>) value, fieldType, vendor, parameters)) {
+                return;
+            }
             sql.append(columnName);
             sql.append(" ");
             switch (filterOperator) {
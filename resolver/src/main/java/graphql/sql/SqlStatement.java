@@ -1,8 +1,15 @@
 package graphql.sql;
 
+import graphql.GraphQlFieldType;
+
 import java.util.List;
 
 public interface SqlStatement {
     String getPreparedStatement();
     List<Object> getParameters();
+
+    /**
+     * @return the GraphQL field type of each parameter, null where it is not known, see {@link ParameterBinding}
+     */
+    List<GraphQlFieldType> getParameterTypes();
 }
@@ -0,0 +1,74 @@
+package graphql.sql;
+
+import com.google.common.annotations.VisibleForTesting;
+import util.Util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SQL text of statements by their shape: the table, columns, filter operators, ordering and whether there is a limit
+ * and offset, but none of the values. Statements of the same shape share one SQL string, so they are only built once
+ * and the driver's and database's statement caches see the same text for every request.
+ *
+ * Least recently used shapes are dropped beyond SQL_TEMPLATE_CACHE_SIZE entries, 1000 by default.
+ */
+final class SqlTemplateCache {
+    private static final int MAX_SIZE = (int) Util.longFromEnv("SQL_TEMPLATE_CACHE_SIZE", 1000);
+
+    private static final Map<String, String> templates = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+    private static long hits;
+    private static long misses;
+
+    private SqlTemplateCache() {
+    }
+
+    /**
+     * @param build builds the SQL text for the shape, called if the shape is not cached
+     */
+    static String get(String shape, Supplier<String> build) {
+        synchronized (templates) {
+            String sql = templates.get(shape);
+            if (sql != null) {
+                hits++;
+                return sql;
+            }
+        }
+        // built outside the lock, an invalid statement throws and is not cached
+        String sql = build.get();
+        synchronized (templates) {
+            misses++;
+            String existing = templates.putIfAbsent(shape, sql);
+            return existing != null ? existing : sql;
+        }
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (templates) {
+            templates.clear();
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @VisibleForTesting
+    static long getHits() {
+        synchronized (templates) {
+            return hits;
+        }
+    }
+
+    @VisibleForTesting
+    static long getMisses() {
+        synchronized (templates) {
+            return misses;
+        }
+    }
+}
@@ -4,12 +4,8 @@ import com.google.common.base.CharMatcher;
 import com.google.gson.reflect.TypeToken;
 import graphql.GraphQlAdapterException;
 import graphql.GraphQlFieldType;
+import graphql.sql.db.SqlDatabaseProvider;
 import graphql.sql.db.SqlServerDatabaseProvider;
-import microsoft.sql.DateTimeOffset;
-import oracle.sql.TIMESTAMP;
-import oracle.sql.TIMESTAMPLTZ;
-import oracle.sql.TIMESTAMPTZ;
-import org.postgresql.util.PGobject;
 import util.Util;
 
 import java.math.BigDecimal;
@@ -107,9 +103,10 @@ public class TypeMapper {
     }
 
     /**
-     * convert JDBC result type to AppSync-ready result. each driver does things a little differently
+     * convert JDBC result type to AppSync-ready result. each driver does things a little differently. Values of
+     * driver-specific classes are converted by the vendor's provider, so only the driver in use is loaded
      */
-    public static Object convertFromJdbcResult(Object sqlObj, GraphQlFieldType graphQlType, String vendor) {
+    public static Object convertFromJdbcResult(Object sqlObj, GraphQlFieldType graphQlType, SqlDatabaseProvider provider) {
         if (sqlObj == null) {
             return null;
         }
@@ -129,34 +126,15 @@ public class TypeMapper {
                 }
                 return casted.toInstant().toString();
             }
-            
-            else if (GraphQlFieldType.AWSJSON.equals(graphQlType)) {
-                Object stringValue = sqlObj.toString();
-                if (sqlObj instanceof PGobject) {
-                    // Postgres json type comes out as PGobject
-                    stringValue = ((PGobject) sqlObj).getValue();
-                }
-                return Util.GSON.fromJson(stringValue.toString(), new TypeToken<Map<String, Object>>(){}.getType());
-            }
-
-            // Postgres-specific
-            else if (sqlObj instanceof PGobject) {
-                // Postgres json type comes out as PGobject
-                return Util.GSON.fromJson(((PGobject) sqlObj).getValue(), new TypeToken<Map<String, Object>>(){}.getType());
-            }
 
-            // SQL Server-specific
-            else if (sqlObj instanceof DateTimeOffset) {
-                return ((DateTimeOffset)sqlObj).getOffsetDateTime().toString();
+            // classes of the vendor's driver, e.g. Postgres json comes out as PGobject
+            Object converted = provider.convertDriverValue(sqlObj, graphQlType);
+            if (converted != sqlObj) {
+                return converted;
             }
 
-            // Oracle-specific
-            else if (sqlObj instanceof TIMESTAMPTZ) {
-                return ((TIMESTAMPTZ) sqlObj).toOffsetDateTime().toString();
-            } else if (sqlObj instanceof TIMESTAMPLTZ) {
-                throw new GraphQlAdapterException("Oracle data type TIMESTAMP WITH LOCAL TIME ZONE is not supported");
-            } else if (sqlObj instanceof TIMESTAMP) {
-                return ((TIMESTAMP) sqlObj).toLocalDateTime().toString();
+            if (GraphQlFieldType.AWSJSON.equals(graphQlType)) {
+                return Util.GSON.fromJson(sqlObj.toString(), new TypeToken<Map<String, Object>>(){}.getType());
             }
 
             // H2 in-memory DB-specific
@@ -186,7 +164,7 @@ public class TypeMapper {
                 }
             }
         } catch (Exception e) {
-            throw new GraphQlAdapterException(String.format("error mapping %s database result type to GraphQL response", vendor), e);
+            throw new GraphQlAdapterException(String.format("error mapping %s database result type to GraphQL response", provider.getVendor()), e);
         }
         return sqlObj;
     }
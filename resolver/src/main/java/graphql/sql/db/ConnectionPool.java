@@ -0,0 +1,291 @@
+package graphql.sql.db;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlAdapterException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of physical connections to a single database, for a single database user.
+ *
+ * Connections handed out are proxies: closing one returns the physical connection to the pool instead of closing it.
+ * A pool remembers the password its connections were opened with. Borrowing with a different password
+ * (the secret was rotated) closes every connection opened with the old one.
+ * Each physical connection keeps its prepared statements open in a {@link StatementCache}.
+ */
+class ConnectionPool {
+    private final SqlDatabaseProvider provider;
+    private final int maxSize;
+    private final long validationIntervalNanos;
+    private final long maxIdleNanos;
+    private final long borrowTimeoutNanos;
+    private final int maxCachedStatements;
+    private final long maxCachedSqlLength;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();  // most recently returned first
+    private String password;
+    private int generation = 0;
+    private boolean closed = false;
+
+    final AtomicLong created = new AtomicLong();
+    final AtomicLong borrowed = new AtomicLong();
+    final AtomicLong borrowWaitNanos = new AtomicLong();
+    final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    final AtomicLong validationFailures = new AtomicLong();
+    final AtomicLong evicted = new AtomicLong();
+    final AtomicLong statementCacheHits = new AtomicLong();
+    final AtomicLong statementCacheMisses = new AtomicLong();
+    final AtomicLong statementCacheEvictions = new AtomicLong();
+
+    ConnectionPool(SqlDatabaseProvider provider, int maxSize, long validationIntervalNanos, long maxIdleNanos, long borrowTimeoutNanos,
+                   int maxCachedStatements, long maxCachedSqlLength) {
+        this.provider = provider;
+        this.maxSize = maxSize;
+        this.validationIntervalNanos = validationIntervalNanos;
+        this.maxIdleNanos = maxIdleNanos;
+        this.borrowTimeoutNanos = borrowTimeoutNanos;
+        this.maxCachedStatements = maxCachedStatements;
+        this.maxCachedSqlLength = maxCachedSqlLength;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    Connection borrow(DatabaseConnectionParameters parameters) {
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new GraphQlAdapterException(String.format("timed out waiting for a %s database connection, all %d connections are in use",
+                        provider.getVendor(), maxSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GraphQlAdapterException("interrupted waiting for a database connection", e);
+        }
+        long waited = System.nanoTime() - waitStart;
+        borrowWaitNanos.addAndGet(waited);
+        maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledConnection pooled = takeIdle(parameters.getPassword());
+            if (pooled == null) {
+                Connection physical = provider.newConnection(parameters);
+                created.incrementAndGet();
+                synchronized (this) {
+                    pooled = new PooledConnection(physical, generation);
+                }
+            }
+            borrowed.incrementAndGet();
+            return pooled.lease();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a usable idle connection, or null if a new connection needs to be opened
+     */
+    private PooledConnection takeIdle(String currentPassword) {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (this) {
+                if (closed) {
+                    throw new GraphQlAdapterException("connection pool is closed");
+                }
+                if (!Objects.equals(password, currentPassword)) {
+                    // credentials were rotated, connections opened with the previous password must not be reused
+                    if (password != null) {
+                        generation++;
+                        evictIdle();
+                    }
+                    password = currentPassword;
+                }
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            long idleNanos = System.nanoTime() - candidate.lastReturned;
+            if (idleNanos > maxIdleNanos) {
+                evicted.incrementAndGet();
+                candidate.closePhysical();
+                continue;
+            }
+            if (idleNanos > validationIntervalNanos && !candidate.isValid()) {
+                validationFailures.incrementAndGet();
+                candidate.closePhysical();
+                continue;
+            }
+            return candidate;
+        }
+    }
+
+    private void giveBack(PooledConnection pooled) {
+        try {
+            pooled.statements.releaseAll();
+            boolean reusable = !pooled.broken && !pooled.statements.isConnectionBroken() && pooled.reset();
+            synchronized (this) {
+                if (reusable && !closed && pooled.generation == generation) {
+                    pooled.lastReturned = System.nanoTime();
+                    idle.addFirst(pooled);
+                    return;
+                }
+            }
+            evicted.incrementAndGet();
+            pooled.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Close all idle connections. Connections currently in use are closed when they are returned
+     */
+    synchronized void evictAll() {
+        generation++;
+        evictIdle();
+    }
+
+    synchronized void close() {
+        closed = true;
+        evictAll();
+    }
+
+    private void evictIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            evicted.incrementAndGet();
+            pooled.closePhysical();
+        }
+    }
+
+    synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Holds the physical connection. A new proxy is leased per borrow, so a stale handle that was already closed
+     * cannot affect the next borrower
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final int generation;
+        private final StatementCache statements;
+        private volatile long lastReturned = System.nanoTime();
+        private volatile boolean broken = false;
+
+        PooledConnection(Connection physical, int generation) {
+            this.physical = physical;
+            this.generation = generation;
+            this.statements = new StatementCache(physical, maxCachedStatements, maxCachedSqlLength,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions);
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+
+        boolean isValid() {
+            try {
+                return physical.isValid(5);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Undo session changes the borrower may have made
+         */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            statements.closeAll();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // connection is being discarded anyway
+            }
+        }
+    }
+
+    private class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+            }
+            if (returned) {
+                throw new SQLException("connection has already been returned to the pool", "08003");
+            }
+            try {
+                if ("prepareStatement".equals(method.getName()) && args.length == 1) {
+                    return pooled.statements.prepare((String) args[0], (Connection) proxy);
+                }
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException | SQLException e) {
+                Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                if (cause instanceof SQLException && isConnectionError((SQLException) cause)) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * SQLState class 08 is a connection exception, the physical connection cannot be reused
+     */
+    static boolean isConnectionError(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("08");
+    }
+}
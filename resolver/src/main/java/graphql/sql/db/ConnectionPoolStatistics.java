@@ -0,0 +1,116 @@
+package graphql.sql.db;
+
+/**
+ * Point-in-time snapshot of connection pool counters, summed over every pool of a provider
+ */
+public class ConnectionPoolStatistics {
+    private final long created;
+    private final long borrowed;
+    private final long borrowWaitNanos;
+    private final long maxBorrowWaitNanos;
+    private final long validationFailures;
+    private final long evicted;
+    private final int idle;
+    private final int active;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    public ConnectionPoolStatistics(long created, long borrowed, long borrowWaitNanos, long maxBorrowWaitNanos,
+                                    long validationFailures, long evicted, int idle, int active,
+                                    long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.created = created;
+        this.borrowed = borrowed;
+        this.borrowWaitNanos = borrowWaitNanos;
+        this.maxBorrowWaitNanos = maxBorrowWaitNanos;
+        this.validationFailures = validationFailures;
+        this.evicted = evicted;
+        this.idle = idle;
+        this.active = active;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    /**
+     * @return number of physical connections opened
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return number of times a connection was handed out, whether new or reused
+     */
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    /**
+     * @return total time spent waiting for a free pool slot
+     */
+    public long getBorrowWaitNanos() {
+        return borrowWaitNanos;
+    }
+
+    public long getMaxBorrowWaitNanos() {
+        return maxBorrowWaitNanos;
+    }
+
+    /**
+     * @return number of idle connections that failed validation before being reused
+     */
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    /**
+     * @return number of physical connections closed by the pool: expired, broken or opened with rotated credentials
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return number of statements prepared with a statement that was kept open on the connection
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * @return number of cached statements closed to stay within the cache bounds
+     */
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{" +
+                "created=" + created +
+                ", borrowed=" + borrowed +
+                ", borrowWaitMillis=" + borrowWaitNanos / 1_000_000 +
+                ", maxBorrowWaitMillis=" + maxBorrowWaitNanos / 1_000_000 +
+                ", validationFailures=" + validationFailures +
+                ", evicted=" + evicted +
+                ", idle=" + idle +
+                ", active=" + active +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                ", statementCacheEvictions=" + statementCacheEvictions +
+                '}';
+    }
+}
@@ -3,9 +3,19 @@ package graphql.sql.db;
 import com.google.common.annotations.VisibleForTesting;
 import graphql.DatabaseConnectionParameters;
 import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.ArrayParameter;
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OracleDriver;
+import oracle.jdbc.OracleTypes;
+import oracle.sql.TIMESTAMP;
+import oracle.sql.TIMESTAMPLTZ;
+import oracle.sql.TIMESTAMPTZ;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Properties;
 
 public class OracleDatabaseProvider implements SqlDatabaseProvider {
@@ -21,13 +31,29 @@ public class OracleDatabaseProvider implements SqlDatabaseProvider {
         return getConnection(parameters);
     }
 
+    /**
+     * ORA-01017: invalid username/password; logon denied
+     */
+    @Override
+    public boolean isAuthenticationFailure(SQLException e) {
+        return e.getErrorCode() == 1017;
+    }
+
+    /**
+     * The Oracle driver does not implement createArrayOf, collections are created by their SQL type name
+     */
+    @Override
+    public Array createArray(Connection connection, ArrayParameter parameter) throws SQLException {
+        return connection.unwrap(OracleConnection.class).createOracleArray(parameter.getTypeName(), parameter.getElements());
+    }
+
     @VisibleForTesting
     public static Connection getConnection(DatabaseConnectionParameters parameters) throws GraphQlAdapterException {
         String url = "jdbc:oracle:thin:@" + parameters.getHost() + ":" + parameters.getPort() + ":" + parameters.getDbname();
         Properties props = new Properties();
         props.setProperty("user", parameters.getUsername());
         props.setProperty("password", parameters.getPassword());
-        Connection connection = SqlDatabaseProvider.getConnection(url, props);
+        Connection connection = SqlDatabaseProvider.getConnection(DriverHolder.DRIVER, url, props);
         try {
             // prevents JDBC from converting time zones
             connection.createStatement().execute("ALTER SESSION SET TIME_ZONE='utc'");
@@ -36,4 +62,41 @@ public class OracleDatabaseProvider implements SqlDatabaseProvider {
         }
         return connection;
     }
+
+    /**
+     * TIMESTAMP comes out as local date-time without a zone and DATE, which has a time, as an instant, see
+     * {@link #convertDriverValue}, so both are read as driver objects rather than with getTimestamp or getDate.
+     * TIMESTAMP WITH TIME ZONE has its own type code. The constants are inlined, they do not load the driver
+     */
+    @Override
+    public int standardColumnType(int columnType) {
+        switch (columnType) {
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return Types.OTHER;
+            case OracleTypes.TIMESTAMPTZ:
+                return Types.TIMESTAMP_WITH_TIMEZONE;
+            default:
+                return columnType;
+        }
+    }
+
+    @Override
+    public Object convertDriverValue(Object sqlObj, GraphQlFieldType graphQlType) throws SQLException {
+        if (sqlObj instanceof TIMESTAMPTZ) {
+            return ((TIMESTAMPTZ) sqlObj).toOffsetDateTime().toString();
+        } else if (sqlObj instanceof TIMESTAMPLTZ) {
+            throw new GraphQlAdapterException("Oracle data type TIMESTAMP WITH LOCAL TIME ZONE is not supported");
+        } else if (sqlObj instanceof TIMESTAMP) {
+            return ((TIMESTAMP) sqlObj).toLocalDateTime().toString();
+        }
+        return sqlObj;
+    }
+
+    /**
+     * Loads the driver on the first connection
+     */
+    private static class DriverHolder {
+        private static final OracleDriver DRIVER = new OracleDriver();
+    }
 }
@@ -0,0 +1,198 @@
+package graphql.sql.db;
+
+import com.google.common.annotations.VisibleForTesting;
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlFieldType;
+import graphql.sql.ArrayParameter;
+import util.InvocationMetrics;
+import util.Util;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connections open across invocations of a warm Lambda container, so that a request does not pay
+ * for a TCP, TLS and authentication handshake. Wraps the provider that opens the physical connections.
+ *
+ * Configured with environment variables:
+ * DB_POOL_MAX_SIZE: maximum connections per database user, default 2
+ * DB_POOL_VALIDATION_INTERVAL_MS: idle connections older than this are validated before reuse, default 5000
+ * DB_POOL_MAX_IDLE_MS: idle connections older than this are closed, default 300000
+ * DB_POOL_BORROW_TIMEOUT_MS: how long to wait for a connection when the pool is exhausted, default 10000
+ * DB_STATEMENT_CACHE_SIZE: prepared statements kept open per connection, default 100, 0 disables the cache
+ * DB_STATEMENT_CACHE_MAX_SQL_LENGTH: total SQL characters of the statements kept open per connection, default 1000000
+ */
+public class PooledSqlDatabaseProvider implements SqlDatabaseProvider {
+    private final SqlDatabaseProvider delegate;
+    private final int maxSize;
+    private final long validationIntervalNanos;
+    private final long maxIdleNanos;
+    private final long borrowTimeoutNanos;
+    private final int maxCachedStatements;
+    private final long maxCachedSqlLength;
+    private final Map<PoolKey, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    public PooledSqlDatabaseProvider(SqlDatabaseProvider delegate) {
+        this(delegate,
+                (int) Util.longFromEnv("DB_POOL_MAX_SIZE", 2),
+                Util.longFromEnv("DB_POOL_VALIDATION_INTERVAL_MS", 5_000),
+                Util.longFromEnv("DB_POOL_MAX_IDLE_MS", 300_000),
+                Util.longFromEnv("DB_POOL_BORROW_TIMEOUT_MS", 10_000),
+                (int) Util.longFromEnv("DB_STATEMENT_CACHE_SIZE", 100),
+                Util.longFromEnv("DB_STATEMENT_CACHE_MAX_SQL_LENGTH", 1_000_000));
+    }
+
+    @VisibleForTesting
+    public PooledSqlDatabaseProvider(SqlDatabaseProvider delegate, int maxSize, long validationIntervalMillis,
+                                     long maxIdleMillis, long borrowTimeoutMillis) {
+        this(delegate, maxSize, validationIntervalMillis, maxIdleMillis, borrowTimeoutMillis, 100, 1_000_000);
+    }
+
+    @VisibleForTesting
+    public PooledSqlDatabaseProvider(SqlDatabaseProvider delegate, int maxSize, long validationIntervalMillis,
+                                     long maxIdleMillis, long borrowTimeoutMillis,
+                                     int maxCachedStatements, long maxCachedSqlLength) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(validationIntervalMillis);
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        this.maxCachedStatements = maxCachedStatements;
+        this.maxCachedSqlLength = maxCachedSqlLength;
+    }
+
+    @Override
+    public String getVendor() {
+        return delegate.getVendor();
+    }
+
+    /**
+     * Borrow a connection from the pool. Closing the returned connection gives it back to the pool
+     */
+    @Override
+    public Connection newConnection(DatabaseConnectionParameters parameters) {
+        long start = System.nanoTime();
+        ConnectionPool pool = pools.computeIfAbsent(new PoolKey(parameters),
+                key -> new ConnectionPool(delegate, maxSize, validationIntervalNanos, maxIdleNanos, borrowTimeoutNanos,
+                        maxCachedStatements, maxCachedSqlLength));
+        try {
+            return pool.borrow(parameters);
+        } finally {
+            InvocationMetrics.record(InvocationMetrics.Phase.CONNECT, start);
+        }
+    }
+
+    @Override
+    public boolean isAuthenticationFailure(SQLException e) {
+        return delegate.isAuthenticationFailure(e);
+    }
+
+    @Override
+    public Array createArray(Connection connection, ArrayParameter parameter) throws SQLException {
+        return delegate.createArray(connection, parameter);
+    }
+
+    @Override
+    public int standardColumnType(int columnType) {
+        return delegate.standardColumnType(columnType);
+    }
+
+    @Override
+    public Object convertDriverValue(Object sqlObj, GraphQlFieldType graphQlType) throws SQLException {
+        return delegate.convertDriverValue(sqlObj, graphQlType);
+    }
+
+    /**
+     * Close the idle connections for a database, e.g. after its credentials were found to be stale
+     */
+    public void evict(DatabaseConnectionParameters parameters) {
+        ConnectionPool pool = pools.get(new PoolKey(parameters));
+        if (pool != null) {
+            pool.evictAll();
+        }
+    }
+
+    /**
+     * Close the idle connections of every pool
+     */
+    public void evictAll() {
+        pools.values().forEach(ConnectionPool::evictAll);
+    }
+
+    /**
+     * Close every pool. Connections still in use are closed when they are returned
+     */
+    public void close() {
+        pools.values().forEach(ConnectionPool::close);
+        pools.clear();
+    }
+
+    public SqlDatabaseProvider getDelegate() {
+        return delegate;
+    }
+
+    public ConnectionPoolStatistics getStatistics() {
+        long created = 0, borrowed = 0, borrowWaitNanos = 0, maxBorrowWaitNanos = 0, validationFailures = 0, evicted = 0;
+        long statementCacheHits = 0, statementCacheMisses = 0, statementCacheEvictions = 0;
+        int idle = 0, active = 0;
+        for (ConnectionPool pool : List.copyOf(pools.values())) {
+            created += pool.created.get();
+            borrowed += pool.borrowed.get();
+            borrowWaitNanos += pool.borrowWaitNanos.get();
+            maxBorrowWaitNanos = Math.max(maxBorrowWaitNanos, pool.maxBorrowWaitNanos.get());
+            validationFailures += pool.validationFailures.get();
+            evicted += pool.evicted.get();
+            statementCacheHits += pool.statementCacheHits.get();
+            statementCacheMisses += pool.statementCacheMisses.get();
+            statementCacheEvictions += pool.statementCacheEvictions.get();
+            idle += pool.getIdleCount();
+            active += pool.getActiveCount();
+        }
+        return new ConnectionPoolStatistics(created, borrowed, borrowWaitNanos, maxBorrowWaitNanos,
+                validationFailures, evicted, idle, active, statementCacheHits, statementCacheMisses, statementCacheEvictions);
+    }
+
+    /**
+     * Identifies a database and user. The password is deliberately not part of the key, a rotated password
+     * replaces the connections of the existing pool
+     */
+    private static class PoolKey {
+        private final String engine;
+        private final String host;
+        private final int port;
+        private final String dbname;
+        private final String username;
+
+        PoolKey(DatabaseConnectionParameters parameters) {
+            this.engine = parameters.getEngine();
+            this.host = parameters.getHost();
+            this.port = parameters.getPort();
+            this.dbname = parameters.getDbname();
+            this.username = parameters.getUsername();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            PoolKey other = (PoolKey) o;
+            return port == other.port && Objects.equals(engine, other.engine) && Objects.equals(host, other.host)
+                    && Objects.equals(dbname, other.dbname) && Objects.equals(username, other.username);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(engine, host, port, dbname, username);
+        }
+    }
+}
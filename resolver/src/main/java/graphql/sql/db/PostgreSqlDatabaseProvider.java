@@ -1,8 +1,12 @@
 package graphql.sql.db;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.reflect.TypeToken;
 import graphql.DatabaseConnectionParameters;
 import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import org.postgresql.util.PGobject;
+import util.Util;
 
 import java.sql.*;
 import java.util.*;
@@ -28,7 +32,7 @@ public class PostgreSqlDatabaseProvider implements SqlDatabaseProvider {
         props.setProperty("password", parameters.getPassword());
         props.setProperty("stringtype", "unspecified");
         
-        Connection connection = SqlDatabaseProvider.getConnection(url, props);
+        Connection connection = SqlDatabaseProvider.getConnection(DriverHolder.DRIVER, url, props);
         try {
             // prevents JDBC from converting time zones
             connection.createStatement().execute("set time zone 'UTC'");
@@ -37,4 +41,22 @@ public class PostgreSqlDatabaseProvider implements SqlDatabaseProvider {
         }
         return connection;
     }
+
+    /**
+     * json and jsonb values come out as PGobject
+     */
+    @Override
+    public Object convertDriverValue(Object sqlObj, GraphQlFieldType graphQlType) {
+        if (sqlObj instanceof PGobject) {
+            return Util.GSON.fromJson(((PGobject) sqlObj).getValue(), new TypeToken<Map<String, Object>>(){}.getType());
+        }
+        return sqlObj;
+    }
+
+    /**
+     * Loads the driver on the first connection
+     */
+    private static class DriverHolder {
+        private static final Driver DRIVER = new org.postgresql.Driver();
+    }
 }
@@ -0,0 +1,73 @@
+package graphql.sql.db;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlAdapterException;
+
+import java.sql.Connection;
+import java.sql.Driver;
+
+/**
+ * In-memory H2 database in the compatibility mode of a vendor, standing in for the vendor's database while the request
+ * path is primed before a snapshot. It reports the real vendor, so the vendor's SQL generation and type mapping run.
+ *
+ * H2 is only packaged with the snapstart profile, so its driver is loaded by name, and used directly rather than
+ * through DriverManager, which would load every JDBC driver on the classpath into the snapshot.
+ */
+public class PrimingDatabaseProvider implements SqlDatabaseProvider {
+    private static final String DRIVER_CLASS = "org.h2.Driver";
+
+    private final String vendor;
+    private final String mode;
+
+    public PrimingDatabaseProvider(String vendor) {
+        this.vendor = vendor;
+        switch (vendor) {
+            case PostgreSqlDatabaseProvider.VENDOR:
+                mode = "PostgreSQL";
+                break;
+            case OracleDatabaseProvider.VENDOR:
+                mode = "Oracle";
+                break;
+            case SqlServerDatabaseProvider.VENDOR:
+                mode = "MSSQLServer";
+                break;
+            default:
+                throw new GraphQlAdapterException("unknown database vendor: " + vendor);
+        }
+    }
+
+    /**
+     * @return whether H2 is on the classpath
+     */
+    public static boolean isAvailable() {
+        try {
+            Class.forName(DRIVER_CLASS, false, PrimingDatabaseProvider.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getVendor() {
+        return vendor;
+    }
+
+    @Override
+    public Connection newConnection(DatabaseConnectionParameters parameters) {
+        String url = String.format("jdbc:h2:mem:%s;MODE=%s", parameters.getDbname(), mode);
+        return SqlDatabaseProvider.getConnection(DriverHolder.DRIVER, url, null);
+    }
+
+    private static class DriverHolder {
+        private static final Driver DRIVER = newDriver();
+
+        private static Driver newDriver() {
+            try {
+                return (Driver) Class.forName(DRIVER_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new GraphQlAdapterException("H2 is not packaged, build with the snapstart profile", e);
+            }
+        }
+    }
+}
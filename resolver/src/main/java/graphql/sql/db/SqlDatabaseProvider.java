@@ -2,14 +2,27 @@ package graphql.sql.db;
 
 import graphql.DatabaseConnectionParameters;
 import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.ArrayParameter;
 
+import java.sql.Array;
 import java.sql.Connection;
+import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 
-
+/**
+ * A database vendor. The providers of the real databases are listed in META-INF/services and created by
+ * {@link SqlDatabaseProviderFactory} on the first request for their vendor. A provider only loads classes of its JDBC
+ * driver once it is used, so a deployment using one vendor does not load the drivers of the others.
+ */
 public interface SqlDatabaseProvider {
+    /**
+     * Vendor of the in-memory H2 databases the tests run against
+     */
+    String IN_MEMORY_VENDOR = "inmemory";
+
     static Connection getConnection(String url, Properties props) {
         try {
             return DriverManager.getConnection(url, props);
@@ -18,6 +31,52 @@ public interface SqlDatabaseProvider {
         }
     }
 
+    /**
+     * Connect with the given driver. Unlike DriverManager, this does not load every driver on the classpath
+     */
+    static Connection getConnection(Driver driver, String url, Properties props) {
+        try {
+            Connection connection = driver.connect(url, props);
+            if (connection == null) {
+                throw new GraphQlAdapterException("Can't get connection for: " + url + ", not a URL of " + driver.getClass().getName());
+            }
+            return connection;
+        } catch (SQLException e) {
+            throw new GraphQlAdapterException("Can't get connection for: " + url, e);
+        }
+    }
+
     String getVendor();
     Connection newConnection(DatabaseConnectionParameters parameters);
+
+    /**
+     * Whether the database rejected the login. SQLState class 28 is an invalid authorization specification
+     */
+    default boolean isAuthenticationFailure(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("28");
+    }
+
+    /**
+     * Create the array bound for an 'in' filter, see {@link graphql.sql.InFilterBinding}
+     */
+    default Array createArray(Connection connection, ArrayParameter parameter) throws SQLException {
+        return connection.createArrayOf(parameter.getTypeName(), parameter.getElements());
+    }
+
+    /**
+     * @return the {@link java.sql.Types} type of a column of a vendor-specific type, so the column is read like its
+     * standard equivalent, see {@link graphql.sql.ColumnPlan}
+     */
+    default int standardColumnType(int columnType) {
+        return columnType;
+    }
+
+    /**
+     * Convert a result value of a class of this vendor's JDBC driver, see {@link graphql.sql.TypeMapper#convertFromJdbcResult}
+     *
+     * @return the GraphQL value, or the value itself if it is not of a driver class
+     */
+    default Object convertDriverValue(Object sqlObj, GraphQlFieldType graphQlType) throws SQLException {
+        return sqlObj;
+    }
 }
@@ -1,36 +1,59 @@
 package graphql.sql.db;
 
-import com.google.common.annotations.VisibleForTesting;
 import graphql.GraphQlAdapterException;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manual dependency injection. DI libraries add too much overhead for Lambda, and usage is very simple
+ *
+ * Providers are pooled, connections outlive a single invocation in a warm Lambda container. The provider of a vendor
+ * is created on the first request for it, from the providers listed in META-INF/services/graphql.sql.db.SqlDatabaseProvider,
+ * so only the vendors in use are set up
  */
 public class SqlDatabaseProviderFactory {
-    private static Map<String, SqlDatabaseProvider>  vendorToProvider;
-    static {
-        resetProviders();
-    }
-    
-    @VisibleForTesting
+    private static final Map<String, PooledSqlDatabaseProvider> vendorToProvider = new ConcurrentHashMap<>();
+
+    /**
+     * Close every provider. The next request for a vendor creates a new provider of its real database
+     */
     public static void resetProviders() {
-        vendorToProvider = new HashMap<>();
-        vendorToProvider.put(PostgreSqlDatabaseProvider.VENDOR, new PostgreSqlDatabaseProvider());
-        vendorToProvider.put(OracleDatabaseProvider.VENDOR, new OracleDatabaseProvider());
-        vendorToProvider.put(SqlServerDatabaseProvider.VENDOR, new SqlServerDatabaseProvider());
+        vendorToProvider.values().forEach(PooledSqlDatabaseProvider::close);
+        vendorToProvider.clear();
     }
-    
+
     public static void setProvider(String vendor, SqlDatabaseProvider provider) {
-        vendorToProvider.put(vendor, provider);
-    } 
-    
-    public static SqlDatabaseProvider getProvider(String vendor) {
-        if (vendorToProvider.get(vendor) == null) {
-            throw new GraphQlAdapterException("unknown database vendor: " + vendor);
+        PooledSqlDatabaseProvider pooled = provider instanceof PooledSqlDatabaseProvider
+                ? (PooledSqlDatabaseProvider) provider : new PooledSqlDatabaseProvider(provider);
+        PooledSqlDatabaseProvider previous = vendorToProvider.put(vendor, pooled);
+        if (previous != null && previous != pooled) {
+            previous.close();
+        }
+    }
+
+    public static PooledSqlDatabaseProvider getProvider(String vendor) {
+        PooledSqlDatabaseProvider provider = vendorToProvider.get(vendor);
+        if (provider != null) {
+            return provider;
+        }
+        return vendorToProvider.computeIfAbsent(vendor, SqlDatabaseProviderFactory::loadProvider);
+    }
+
+    /**
+     * Close the idle pooled connections of every provider
+     */
+    public static void evictAll() {
+        vendorToProvider.values().forEach(PooledSqlDatabaseProvider::evictAll);
+    }
+
+    private static PooledSqlDatabaseProvider loadProvider(String vendor) {
+        for (SqlDatabaseProvider provider : ServiceLoader.load(SqlDatabaseProvider.class)) {
+            if (provider.getVendor().equals(vendor)) {
+                return new PooledSqlDatabaseProvider(provider);
+            }
         }
-        return vendorToProvider.get(vendor);
+        throw new GraphQlAdapterException("unknown database vendor: " + vendor);
     }
 }
@@ -1,10 +1,15 @@
 package graphql.sql.db;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.microsoft.sqlserver.jdbc.SQLServerDriver;
 import graphql.DatabaseConnectionParameters;
 import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import microsoft.sql.DateTimeOffset;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Properties;
 
 public class SqlServerDatabaseProvider implements SqlDatabaseProvider {
@@ -20,6 +25,14 @@ public class SqlServerDatabaseProvider implements SqlDatabaseProvider {
         return getConnection(parameters);
     }
 
+    /**
+     * Error 18456: login failed for user
+     */
+    @Override
+    public boolean isAuthenticationFailure(SQLException e) {
+        return e.getErrorCode() == 18456;
+    }
+
     @VisibleForTesting
     public static Connection getConnection(DatabaseConnectionParameters parameters) throws GraphQlAdapterException {
         String url = String.format("jdbc:sqlserver://%s:%s;databaseName=%s;encrypt=true;trustServerCertificate=true",
@@ -27,6 +40,29 @@ public class SqlServerDatabaseProvider implements SqlDatabaseProvider {
         Properties props = new Properties();
         props.setProperty("user", parameters.getUsername());
         props.setProperty("password", parameters.getPassword());
-        return SqlDatabaseProvider.getConnection(url, props);
+        return SqlDatabaseProvider.getConnection(DriverHolder.DRIVER, url, props);
+    }
+
+    /**
+     * DATETIMEOFFSET has its own type code. The constant is inlined, it does not load the driver
+     */
+    @Override
+    public int standardColumnType(int columnType) {
+        return columnType == microsoft.sql.Types.DATETIMEOFFSET ? Types.TIMESTAMP_WITH_TIMEZONE : columnType;
+    }
+
+    @Override
+    public Object convertDriverValue(Object sqlObj, GraphQlFieldType graphQlType) {
+        if (sqlObj instanceof DateTimeOffset) {
+            return ((DateTimeOffset) sqlObj).getOffsetDateTime().toString();
+        }
+        return sqlObj;
+    }
+
+    /**
+     * Loads the driver on the first connection
+     */
+    private static class DriverHolder {
+        private static final SQLServerDriver DRIVER = new SQLServerDriver();
     }
 }
@@ -0,0 +1,225 @@
+package graphql.sql.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepared statements of one physical connection by SQL text, so a reused connection does not parse, and on Postgres
+ * plan, the same statement again. The least recently used statements are closed beyond the maximum number of
+ * statements or total SQL length.
+ *
+ * Statements handed out are proxies: closing one clears its parameters and batch and keeps it open for the next
+ * prepare of the same SQL, unless one of its methods threw. A statement that is still in use is not shared, preparing
+ * its SQL again returns an uncached statement, which is closed when it is closed or the connection is returned.
+ */
+class StatementCache {
+    private final Connection physical;
+    private final int maxStatements;
+    private final long maxSqlLength;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<CachedStatement> uncached = new HashSet<>();
+    private long sqlLength = 0;
+    private volatile boolean connectionBroken = false;
+
+    StatementCache(Connection physical, int maxStatements, long maxSqlLength,
+                   AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.physical = physical;
+        this.maxStatements = maxStatements;
+        this.maxSqlLength = maxSqlLength;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @param connection the connection handle the statement reports as its connection
+     */
+    synchronized PreparedStatement prepare(String sql, Connection connection) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+            return cached.lease(connection);
+        }
+        misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql);
+        if (cached != null || maxStatements <= 0 || sql.length() > maxSqlLength) {
+            CachedStatement single = new CachedStatement(sql, statement, true);
+            uncached.add(single);
+            return single.lease(connection);
+        }
+        cached = new CachedStatement(sql, statement, false);
+        statements.put(sql, cached);
+        sqlLength += sql.length();
+        evictEldest();
+        return cached.lease(connection);
+    }
+
+    /**
+     * @return true if a statement failed with a connection error, the physical connection cannot be reused
+     */
+    boolean isConnectionBroken() {
+        return connectionBroken;
+    }
+
+    /**
+     * Close the statements the borrower did not close, when the connection is returned to the pool
+     */
+    synchronized void releaseAll() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            CachedStatement cached = iterator.next();
+            if (cached.inUse) {
+                iterator.remove();
+                sqlLength -= cached.sql.length();
+                cached.closePhysical();
+            }
+        }
+        uncached.forEach(CachedStatement::closePhysical);
+        uncached.clear();
+    }
+
+    /**
+     * Close every statement, before the physical connection is closed
+     */
+    synchronized void closeAll() {
+        statements.values().forEach(CachedStatement::closePhysical);
+        statements.clear();
+        sqlLength = 0;
+        uncached.forEach(CachedStatement::closePhysical);
+        uncached.clear();
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    private void evictEldest() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while ((statements.size() > maxStatements || sqlLength > maxSqlLength) && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next();
+            iterator.remove();
+            sqlLength -= eldest.sql.length();
+            evictions.incrementAndGet();
+            // a statement in use is closed when it is released
+            if (!eldest.inUse) {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    private synchronized void release(CachedStatement cached, boolean failed) {
+        cached.inUse = false;
+        if (cached.closeOnRelease) {
+            uncached.remove(cached);
+            cached.closePhysical();
+            return;
+        }
+        if (statements.get(cached.sql) != cached) {
+            cached.closePhysical();
+            return;
+        }
+        try {
+            if (!failed) {
+                // a batch that was not executed, e.g. after an exception in the caller, must not run on the next lease
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+                return;
+            }
+        } catch (SQLException e) {
+            // discarded below
+        }
+        // e.g. the table changed and Postgres refuses the cached plan, prepare the statement again next time
+        statements.remove(cached.sql);
+        sqlLength -= cached.sql.length();
+        cached.closePhysical();
+    }
+
+    private class CachedStatement {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final boolean closeOnRelease;
+        private boolean inUse = false;
+
+        CachedStatement(String sql, PreparedStatement statement, boolean closeOnRelease) {
+            this.sql = sql;
+            this.statement = statement;
+            this.closeOnRelease = closeOnRelease;
+        }
+
+        PreparedStatement lease(Connection connection) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new LeaseHandler(this, connection));
+        }
+
+        void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // statement is being discarded anyway
+            }
+        }
+    }
+
+    private class LeaseHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connection;
+        private boolean closed = false;
+        private boolean failed = false;
+
+        LeaseHandler(CachedStatement cached, Connection connection) {
+            this.cached = cached;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(cached, failed);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+            }
+            if (closed) {
+                throw new SQLException("statement has already been closed");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                // any exception may leave the statement half set up, it is not reused
+                Throwable cause = e.getCause();
+                failed = true;
+                if (cause instanceof SQLException && ConnectionPool.isConnectionError((SQLException) cause)) {
+                    connectionBroken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package util;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Time spent per phase of one Lambda invocation, emitted as one CloudWatch Embedded Metric Format (EMF) log line.
+ *
+ * The metrics of the running invocation are kept per thread, so code anywhere in the request path records into them
+ * with {@link #record} and {@link #addRows}, without passing them along. Recording is a nanoTime call and an array
+ * update, and does nothing outside an invocation.
+ *
+ * The metrics namespace is METRICS_NAMESPACE, AppSyncSqlResolver by default.
+ */
+public final class InvocationMetrics {
+    public enum Phase {
+        /** SystemsManager type metadata lookup */
+        TYPE_METADATA("TypeMetadataTime"),
+        /** SecretsManager credentials lookup */
+        SECRET("SecretTime"),
+        /** borrowing, and if needed opening, a database connection */
+        CONNECT("ConnectTime"),
+        /** preparing, binding and executing statements */
+        EXECUTE("ExecuteTime"),
+        /** fetching result rows and mapping them to GraphQL values */
+        READ_ROWS("ReadRowsTime"),
+        /** writing the response, for streamed responses */
+        SERIALIZE("SerializeTime");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final String NAMESPACE = namespaceFromEnv();
+    private static final String UNKNOWN = "unknown";
+    private static final String MIXED = "mixed";
+    private static final ThreadLocal<InvocationMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long rows = 0;
+    private long responseBytes = -1;
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
+    private long cacheBytesSaved = 0;
+    private String type;
+    private String operation;
+    private String vendor;
+
+    private InvocationMetrics() {
+    }
+
+    /**
+     * Start recording for an invocation on this thread
+     */
+    public static InvocationMetrics begin() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * @return the metrics of the invocation running on this thread, or null
+     */
+    public static InvocationMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param startNanos System.nanoTime() at the start of the phase
+     */
+    public static void record(Phase phase, long startNanos) {
+        add(phase, System.nanoTime() - startNanos);
+    }
+
+    public static void add(Phase phase, long nanos) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static void addRows(long count) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.rows += count;
+        }
+    }
+
+    /**
+     * A query served from the result cache
+     *
+     * @param bytes estimated size of the cached rows, which were not read from the database
+     */
+    public static void addCacheHit(long bytes) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.cacheHits++;
+            metrics.cacheBytesSaved += bytes;
+        }
+    }
+
+    /**
+     * A query of a cached type that was not in the result cache
+     */
+    public static void addCacheMiss() {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.cacheMisses++;
+        }
+    }
+
+    /**
+     * Set the dimensions of the invocation. A batch with requests of different types or operations reports "mixed"
+     */
+    public void setDimensions(String type, String operation, String vendor) {
+        this.type = merge(this.type, type);
+        this.operation = merge(this.operation, operation);
+        this.vendor = merge(this.vendor, vendor);
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+
+    /**
+     * Stop recording on this thread and log the metrics
+     */
+    public void end(LambdaLogger logger) {
+        CURRENT.remove();
+        if (logger != null) {
+            logger.log(toEmf(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * @return the metrics as an EMF log line
+     */
+    public String toEmf(long timestampMillis) {
+        long durationNanos = System.nanoTime() - startNanos;
+        StringWriter json = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(json)) {
+            writer.beginObject().name("_aws").beginObject();
+            writer.name("Timestamp").value(timestampMillis);
+            writer.name("CloudWatchMetrics").beginArray().beginObject();
+            writer.name("Namespace").value(NAMESPACE);
+            writer.name("Dimensions").beginArray().beginArray().value("Type").value("Operation").value("Vendor").endArray().endArray();
+            writer.name("Metrics").beginArray();
+            metricDefinition(writer, "Duration", "Milliseconds");
+            for (Phase phase : Phase.values()) {
+                metricDefinition(writer, phase.metricName, "Milliseconds");
+            }
+            metricDefinition(writer, "Rows", "Count");
+            if (responseBytes >= 0) {
+                metricDefinition(writer, "ResponseBytes", "Bytes");
+            }
+            if (usedResultCache()) {
+                metricDefinition(writer, "CacheHits", "Count");
+                metricDefinition(writer, "CacheMisses", "Count");
+                metricDefinition(writer, "CacheBytesSaved", "Bytes");
+            }
+            writer.endArray().endObject().endArray().endObject();
+
+            writer.name("Type").value(type == null ? UNKNOWN : type);
+            writer.name("Operation").value(operation == null ? UNKNOWN : operation);
+            writer.name("Vendor").value(vendor == null ? UNKNOWN : vendor);
+            writer.name("Duration").value(toMillis(durationNanos));
+            for (Phase phase : Phase.values()) {
+                writer.name(phase.metricName).value(toMillis(phaseNanos[phase.ordinal()]));
+            }
+            writer.name("Rows").value(rows);
+            if (responseBytes >= 0) {
+                writer.name("ResponseBytes").value(responseBytes);
+            }
+            if (usedResultCache()) {
+                writer.name("CacheHits").value(cacheHits);
+                writer.name("CacheMisses").value(cacheMisses);
+                writer.name("CacheBytesSaved").value(cacheBytesSaved);
+            }
+            writer.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    private boolean usedResultCache() {
+        return cacheHits + cacheMisses > 0;
+    }
+
+    private static void metricDefinition(JsonWriter writer, String name, String unit) throws IOException {
+        writer.beginObject().name("Name").value(name).name("Unit").value(unit).endObject();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000L / 1_000.0;
+    }
+
+    private static String merge(String current, String value) {
+        if (current == null || current.equals(value)) {
+            return value;
+        }
+        return MIXED;
+    }
+
+    private static String namespaceFromEnv() {
+        String value = System.getenv("METRICS_NAMESPACE");
+        return value == null || value.isBlank() ? "AppSyncSqlResolver" : value.trim();
+    }
+}
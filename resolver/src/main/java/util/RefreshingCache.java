@@ -0,0 +1,172 @@
+package util;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache with time-to-live entries. Entries close to expiring are reloaded in the background while the cached value
+ * keeps being served, so a request only waits for the loader on a miss or after an entry fully expired.
+ *
+ * Meant for a Lambda container: background threads are daemons and only run while the container is thawed.
+ */
+public class RefreshingCache<K, V> {
+    private static final ExecutorService BACKGROUND_REFRESHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<K, V> loader;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    /**
+     * @param ttl how long a loaded value is served
+     * @param refreshAhead how long before expiry a background reload is started
+     */
+    public RefreshingCache(Function<K, V> loader, Duration ttl, Duration refreshAhead) {
+        this(loader, ttl, refreshAhead, BACKGROUND_REFRESHER, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    public RefreshingCache(Function<K, V> loader, Duration ttl, Duration refreshAhead,
+                           Executor refreshExecutor, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAheadNanos = Math.min(refreshAhead.toNanos(), ttlNanos);
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    public V get(K key) {
+        long now = nanoClock.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry == null || now - entry.expiresAt >= 0) {
+            misses.incrementAndGet();
+            return load(key);
+        }
+        hits.incrementAndGet();
+        if (entry.expiresAt - now <= refreshAheadNanos) {
+            refreshInBackground(key);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Reload an entry now, e.g. when the cached value is known to be stale
+     */
+    public V refresh(K key) {
+        refreshes.incrementAndGet();
+        return load(key);
+    }
+
+    /**
+     * Add a value loaded by the caller, e.g. as part of a bulk load
+     */
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * @return the cached value even if expired, or null if never loaded. Does not load or count as a hit/miss
+     */
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public boolean isFresh(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.expiresAt - nanoClock.getAsLong() > 0;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public Set<K> keys() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+
+    private V load(K key) {
+        V value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    private void refreshInBackground(K key) {
+        if (!refreshing.add(key)) {
+            return;  // already being refreshed
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshes.incrementAndGet();
+                    load(key);
+                } catch (RuntimeException e) {
+                    // keep serving the cached value until it expires, the next request retries
+                    refreshFailures.incrementAndGet();
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", refreshes=" + refreshes + ", refreshFailures=" + refreshFailures;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -274,4 +274,12 @@ public class Util {
         return globalId.substring(expectedPrefix.length())
                 .replace("\\-", "-");
     }
+
+    /**
+     * @return the number in an environment variable, or the default if it is not set
+     */
+    public static long longFromEnv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
 }
\ No newline at end of file
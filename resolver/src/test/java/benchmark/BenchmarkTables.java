@@ -0,0 +1,86 @@
+package benchmark;
+
+import graphql.GraphQlFieldType;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Test tables shared by the benchmarks
+ */
+class BenchmarkTables {
+    static final int WIDE_TABLE_COLUMNS = 50;
+
+    private BenchmarkTables() {
+    }
+
+    /**
+     * A table with a mix of string, integer, decimal, timestamp, date and boolean columns, like a wide Salesforce object.
+     * Fills the field type and name maps for its columns
+     *
+     * @return the CREATE TABLE statement
+     */
+    static String createWideTable(String tableName, Map<String, GraphQlFieldType> sqlNameToFieldTypes,
+                                  Map<String, String> sqlToGraphQlNames) {
+        StringBuilder sql = new StringBuilder("CREATE TABLE ").append(tableName).append(" (");
+        for (int i = 0; i < WIDE_TABLE_COLUMNS; i++) {
+            String columnName = "c" + i;
+            sql.append(i == 0 ? "" : ", ").append(columnName).append(' ').append(columnType(i));
+            sqlNameToFieldTypes.put(columnName, fieldType(i));
+            sqlToGraphQlNames.put(columnName, "C" + i);
+        }
+        return sql.append(')').toString();
+    }
+
+    static void fillWideTable(Connection connection, String tableName, int rows) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" VALUES (?");
+        sql.append(", ?".repeat(WIDE_TABLE_COLUMNS - 1)).append(')');
+        try (PreparedStatement insert = connection.prepareStatement(sql.toString())) {
+            for (int row = 0; row < rows; row++) {
+                for (int i = 0; i < WIDE_TABLE_COLUMNS; i++) {
+                    insert.setObject(i + 1, value(i, row));
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static String columnType(int column) {
+        switch (column % 6) {
+            case 0: return "VARCHAR(64)";
+            case 1: return "INTEGER";
+            case 2: return "DECIMAL(12, 2)";
+            case 3: return "TIMESTAMP";
+            case 4: return "DATE";
+            default: return "BOOLEAN";
+        }
+    }
+
+    private static GraphQlFieldType fieldType(int column) {
+        switch (column % 6) {
+            case 0: return GraphQlFieldType.STRING;
+            case 1: return GraphQlFieldType.INT;
+            case 2: return GraphQlFieldType.FLOAT;
+            case 3: return GraphQlFieldType.AWSDATETIME;
+            case 4: return GraphQlFieldType.AWSDATE;
+            default: return GraphQlFieldType.BOOLEAN;
+        }
+    }
+
+    private static Object value(int column, int row) {
+        switch (column % 6) {
+            case 0: return "value-" + row + "-" + column;
+            case 1: return row;
+            case 2: return BigDecimal.valueOf(row * 100L + column, 2);
+            case 3: return new Timestamp(1_650_000_000_000L + row * 1000L);
+            case 4: return new Date(1_650_000_000_000L + row * 86_400_000L);
+            default: return row % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import graphql.DatabaseConnectionParameters;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import graphql.appsync.DummySystemsManagerRetriever;
+import graphql.sql.db.BaseDatabaseTest;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProviderFactory;
+import org.openjdk.jmh.annotations.*;
+import util.Util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating rows with one create mutation per row, as Salesforce Connect sends them, against one bulk mutation
+ * for all rows, through the Lambda handler against H2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkMutationBenchmark {
+    private static final String TYPE_NAME = "ResolverTestingOrderProductOrderItem_MyProduct";
+    private static final String SELECTION = "\"selectionSetList\": [\"id\", \"Name\", \"Price\"]";
+
+    @Param({"10", "100"})
+    public int rows;
+
+    private Connection keepAlive;  // in-memory database is dropped when its last connection closes
+    private AppSyncSqlResolverLambdaRequestHandler handler;
+    private final List<Map<String, Object>> createEvents = new ArrayList<>();
+    private Map<String, Object> createManyEvent;
+
+    @Setup
+    public void setup() throws SQLException {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname(BaseDatabaseTest.inMemoryPrefix + "bulk_mutation_benchmark_" + rows);
+        keepAlive = InMemoryDatabaseProvider.getVendorAgnosticConnection(params);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE SCHEMA resolver_testing_order_product_order_item");
+            statement.execute("CREATE TABLE resolver_testing_order_product_order_item.my_product (" +
+                    "product_id VARCHAR PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5), discontinued BOOLEAN)");
+        }
+        SqlDatabaseProviderFactory.setProvider(InMemoryDatabaseProvider.VENDOR, new InMemoryDatabaseProvider("Oracle"));
+        DummySystemsManagerRetriever retriever = new DummySystemsManagerRetriever();
+        retriever.setSecret(params.getDbname());
+        handler = new AppSyncSqlResolverLambdaRequestHandler(DummySecretsManagerRetriever.INSTANCE, retriever);
+
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            String input = String.format("{\"ProductId\": \"PRD-%05d\", \"Name\": \"product %d\", \"Price\": %d.5}", i, i, i);
+            inputs.add(input);
+            createEvents.add(event(String.format("{\"arguments\": {\"input\": %s}, \"info\": {\"fieldName\": \"create_%s\"," +
+                    " \"parentTypeName\": \"Mutation\", \"variables\": {}, %s}}", input, TYPE_NAME, SELECTION)));
+        }
+        createManyEvent = event(String.format("{\"arguments\": {\"inputs\": [%s]}, \"info\": {\"fieldName\": \"createMany_%s\"," +
+                " \"parentTypeName\": \"Mutation\", \"variables\": {}, %s}}", String.join(", ", inputs), TYPE_NAME, SELECTION));
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteRows() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DELETE FROM resolver_testing_order_product_order_item.my_product");
+        }
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        SqlDatabaseProviderFactory.resetProviders();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public Object createOneByOne() {
+        List<Object> results = new ArrayList<>(rows);
+        for (Map<String, Object> event : createEvents) {
+            results.add(handler.handleRequest(event, null));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Object createMany() {
+        return handler.handleRequest(createManyEvent, null);
+    }
+
+    private static Map<String, Object> event(String json) {
+        return Util.GSON.fromJson(json, new TypeToken<Map<String, Object>>(){}.getType());
+    }
+}
@@ -0,0 +1,44 @@
+package benchmark;
+
+import com.google.gson.Gson;
+import graphql.appsync.OpaqueCursorCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the edge cursors for a page of 10,000 edges: the varint codec against the JSON cursor it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CursorEncodingBenchmark {
+    private static final int EDGES = 10_000;
+
+    @Benchmark
+    public void varintCursor(Blackhole blackhole) {
+        for (long offset = 1; offset <= EDGES; offset++) {
+            blackhole.consume(OpaqueCursorCodec.encode(offset));
+        }
+    }
+
+    /**
+     * The cursor as it was created before the codec, once per edge
+     */
+    @Benchmark
+    public void jsonCursor(Blackhole blackhole) {
+        Map<String, Object> opaqueCursor = new HashMap<>();
+        for (long offset = 1; offset <= EDGES; offset++) {
+            opaqueCursor.put("cursorOffset", offset);
+            String jsonCursor = new Gson().toJson(opaqueCursor);
+            blackhole.consume(Base64.getEncoder().encodeToString(jsonCursor.getBytes()));
+        }
+    }
+}
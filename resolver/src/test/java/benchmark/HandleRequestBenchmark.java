@@ -0,0 +1,96 @@
+package benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import graphql.DatabaseConnectionParameters;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import graphql.appsync.DummySystemsManagerRetriever;
+import graphql.sql.db.BaseDatabaseTest;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProviderFactory;
+import org.openjdk.jmh.annotations.*;
+import util.Util;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole connection query through the Lambda handler against H2: parsing, SQL generation, the pooled connection,
+ * reading the rows and building the response
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandleRequestBenchmark {
+    private static final String EVENT = "{" +
+            "\"arguments\": {\"orderBy\": [{\"ProductId\": {\"direction\": \"ASC\"}}]}," +
+            "\"info\": {" +
+            "  \"fieldName\": \"resolverTestingOrderProductOrderItem_MyProduct\"," +
+            "  \"parentTypeName\": \"Query\"," +
+            "  \"variables\": {}," +
+            "  \"selectionSetList\": [\"edges\", \"edges/node\", \"edges/node/ProductId\", \"edges/node/Name\"," +
+            "    \"edges/node/Price\", \"edges/node/Discontinued\"]" +
+            "}}";
+
+    @Param({"1", "100", "10000"})
+    public int rows;
+
+    // 0: every request reads from the database, otherwise requests after the first are served from the result cache
+    @Param({"0", "60"})
+    public long resultCacheTtlSeconds;
+
+    private Connection keepAlive;  // in-memory database is dropped when its last connection closes
+    private AppSyncSqlResolverLambdaRequestHandler handler;
+    private Map<String, Object> event;
+
+    @Setup
+    public void setup() throws SQLException {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname(BaseDatabaseTest.inMemoryPrefix + "handle_request_benchmark_" + rows);
+        keepAlive = InMemoryDatabaseProvider.getVendorAgnosticConnection(params);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE SCHEMA resolver_testing_order_product_order_item");
+            statement.execute("CREATE TABLE resolver_testing_order_product_order_item.my_product (" +
+                    "product_id VARCHAR PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5), discontinued BOOLEAN)");
+        }
+        try (PreparedStatement insert = keepAlive.prepareStatement(
+                "INSERT INTO resolver_testing_order_product_order_item.my_product VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, String.format("PRD-%05d", i));
+                insert.setString(2, "product " + i);
+                insert.setBigDecimal(3, BigDecimal.valueOf(i, 2));
+                insert.setBoolean(4, i % 10 == 0);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        SqlDatabaseProviderFactory.setProvider(InMemoryDatabaseProvider.VENDOR, new InMemoryDatabaseProvider("Oracle"));
+        DummySystemsManagerRetriever retriever = new DummySystemsManagerRetriever();
+        retriever.setSecret(params.getDbname());
+        retriever.lookupSystemParameter("ResolverTestingOrderProductOrderItem_MyProduct").setResultCacheTtlSeconds(resultCacheTtlSeconds);
+        handler = new AppSyncSqlResolverLambdaRequestHandler(DummySecretsManagerRetriever.INSTANCE, retriever);
+        event = Util.GSON.fromJson(EVENT, new TypeToken<Map<String, Object>>(){}.getType());
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        SqlDatabaseProviderFactory.resetProviders();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public Object handleRequest() {
+        return handler.handleRequest(event, null);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import graphql.appsync.GraphQlTypePlan;
+import graphql.sql.ArrayParameter;
+import graphql.sql.InFilterBinding;
+import graphql.sql.QueryFixtures;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An 'in' filter of 10 to 50,000 product ids against a 100,000 row H2 table: the values bound as one array against
+ * one placeholder per value. H2 runs the Postgres SQL, so the statement is built as for Postgres
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InFilterBindingBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"10", "1000", "50000"})
+    public int size;
+
+    @Param({"array", "expand"})
+    public String binding;
+
+    private Connection connection;
+    private GraphQlTypePlan plan;
+    private String whereJson;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:in_filter_binding_benchmark");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS my_product (product_id VARCHAR PRIMARY KEY, name VARCHAR)");
+            statement.execute("DELETE FROM my_product");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO my_product VALUES (?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "PRD-" + i);
+                insert.setString(2, "product " + i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        plan = QueryFixtures.typePlan(QueryFixtures.PRODUCT_TYPE, PostgreSqlDatabaseProvider.VENDOR);
+
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add("\"PRD-" + (i * (ROWS / size)) + "\"");
+        }
+        whereJson = "{\"ProductId\": {\"in\": [" + String.join(", ", ids) + "]}}";
+        InFilterBinding.setArrayBinding("array".equals(binding));
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        InFilterBinding.setArrayBinding(true);
+        connection.close();
+    }
+
+    /**
+     * Build the statement from the filter, bind it and read the matching rows
+     */
+    @Benchmark
+    public int inFilter() throws SQLException {
+        SqlQueryStatement query = QueryFixtures.query(plan, "my_product", List.of("name"), whereJson, null, null, null);
+        int rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(query.getPreparedStatement())) {
+            List<Object> parameters = query.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                Object parameter = parameters.get(i);
+                if (parameter instanceof ArrayParameter) {
+                    ArrayParameter array = (ArrayParameter) parameter;
+                    statement.setArray(i + 1, connection.createArrayOf(array.getTypeName(), array.getElements()));
+                } else {
+                    statement.setObject(i + 1, parameter);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySystemsManagerRetriever;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PrimingDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProviderFactory;
+import org.openjdk.jmh.annotations.*;
+import util.Util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the first request in a new JVM, with and without priming the request path the way it is primed before
+ * a SnapStart snapshot. Every fork measures one request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class PrimingBenchmark {
+    private static final String EVENT = "{" +
+            "\"arguments\": {\"first\": 10, \"where\": {\"Discontinued\": {\"eq\": false}}," +
+            "  \"orderBy\": [{\"ProductId\": {\"direction\": \"ASC\"}}]}," +
+            "\"info\": {" +
+            "  \"fieldName\": \"resolverTestingOrderProductOrderItem_MyProduct\"," +
+            "  \"parentTypeName\": \"Query\"," +
+            "  \"variables\": {}," +
+            "  \"selectionSetList\": [\"edges\", \"edges/cursor\", \"edges/node\", \"edges/node/id\", \"edges/node/ProductId\"," +
+            "    \"edges/node/Name\", \"edges/node/Price\", \"pageInfo\", \"pageInfo/hasNextPage\", \"pageInfo/endCursor\"]" +
+            "}}";
+
+    @Param({"false", "true"})
+    public boolean primed;
+
+    private Connection keepAlive;  // in-memory database is dropped when its last connection closes
+    private AppSyncSqlResolverLambdaRequestHandler handler;
+
+    @Setup
+    public void setup() throws SQLException {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        DummySystemsManagerRetriever systemsManagerRetriever = new DummySystemsManagerRetriever();
+        systemsManagerRetriever.setSecret("priming_benchmark");
+        handler = new AppSyncSqlResolverLambdaRequestHandler(secret -> {
+            DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+            params.setEngine(OracleDatabaseProvider.VENDOR);
+            params.setDbname("priming_benchmark");
+            return params;
+        }, systemsManagerRetriever);
+        if (primed) {
+            handler.beforeCheckpoint(null);
+        }
+
+        // the request runs as an Oracle request, against H2 in Oracle mode
+        PrimingDatabaseProvider provider = new PrimingDatabaseProvider(OracleDatabaseProvider.VENDOR);
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname("priming_benchmark");
+        keepAlive = provider.newConnection(params);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE SCHEMA resolver_testing_order_product_order_item");
+            statement.execute("CREATE TABLE resolver_testing_order_product_order_item.my_product (" +
+                    "product_id VARCHAR PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5), discontinued BOOLEAN)");
+            statement.execute("INSERT INTO resolver_testing_order_product_order_item.my_product VALUES " +
+                    "('PRD-1', 'first', 1.5, FALSE), ('PRD-2', 'second', 2.5, FALSE), ('PRD-3', 'third', 3.5, TRUE)");
+        }
+        SqlDatabaseProviderFactory.setProvider(OracleDatabaseProvider.VENDOR, provider);
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        SqlDatabaseProviderFactory.resetProviders();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public Object firstRequest() {
+        return handler.handleRequest(Util.GSON.fromJson(EVENT, Object.class), null);
+    }
+}
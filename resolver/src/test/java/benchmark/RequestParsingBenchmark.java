@@ -0,0 +1,72 @@
+package benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import graphql.appsync.AppSyncSqlResolverInput;
+import graphql.appsync.GraphQlTypePlan;
+import graphql.sql.QueryFixtures;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import org.openjdk.jmh.annotations.*;
+import util.Util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request parsing: the AppSync event into the resolver input, the where argument into a where clause and a global
+ * ID into its key values
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestParsingBenchmark {
+    private static final String TYPE_NAME = "OrderProductOrderItem_MyOrderItem";
+    private static final String EVENT = "{" +
+            "\"arguments\": {" +
+            "  \"where\": {\"and\": [{\"Quantity\": {\"gt\": 1}}, {\"ParentOrderId\": {\"in\": [\"ORD-100\", \"ORD-101\"]}}]}," +
+            "  \"orderBy\": [{\"Quantity\": {\"direction\": \"DESC\"}}]," +
+            "  \"first\": 20" +
+            "}," +
+            "\"info\": {" +
+            "  \"fieldName\": \"resolverTestingOrderProductOrderItem_MyOrderItem\"," +
+            "  \"parentTypeName\": \"Query\"," +
+            "  \"variables\": {}," +
+            "  \"selectionSetList\": [\"edges\", \"edges/cursor\", \"edges/node\", \"edges/node/ParentOrderId\"," +
+            "    \"edges/node/ParentProductId\", \"edges/node/Quantity\", \"pageInfo\", \"pageInfo/endCursor\"]" +
+            "}}";
+    private static final String WHERE = "{\"or\": [" +
+            "{\"and\": [{\"Quantity\": {\"ge\": 1}}, {\"Quantity\": {\"le\": 10}}]}, " +
+            "{\"ParentOrderId\": {\"in\": [\"ORD-100\", \"ORD-101\", \"ORD-102\"]}, \"ParentProductId\": {\"like\": \"PRD-3%\"}}, " +
+            "{\"not\": {\"ParentOrderId\": {\"eq\": null}}}" +
+            "]}";
+    private static final String GLOBAL_ID = "OrderProductOrderItem_MyOrderItem-ORD\\-100-PRD\\-300";
+
+    private Map<String, Object> event;
+    private GraphQlTypePlan plan;
+
+    @Setup
+    public void setup() {
+        event = Util.GSON.fromJson(EVENT, new TypeToken<Map<String, Object>>(){}.getType());
+        plan = QueryFixtures.typePlan(TYPE_NAME, InMemoryDatabaseProvider.VENDOR);
+    }
+
+    @Benchmark
+    public AppSyncSqlResolverInput resolverInput() {
+        return new AppSyncSqlResolverInput(event, false);
+    }
+
+    @Benchmark
+    public SqlQueryStatement.WhereClause whereClauseDeserializer() {
+        return plan.getGson().fromJson(WHERE, SqlQueryStatement.WhereClause.class);
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, Object> globalIdToComponents() {
+        return Util.globalIdToComponents(GLOBAL_ID, List.of("ParentOrderId", "ParentProductId"), TYPE_NAME);
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.ColumnPlan;
+import graphql.sql.TypeMapper;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a 10,000 row, 50 column result from H2: the column plan against the per-column metadata lookups and
+ * TypeMapper dispatch it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetReadBenchmark {
+    private static final int ROWS = 10_000;
+    private static final Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    private static final SqlDatabaseProvider PROVIDER = new InMemoryDatabaseProvider("Oracle");
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private final Map<String, GraphQlFieldType> sqlNameToFieldTypes = new HashMap<>();
+    private final Map<String, String> sqlToGraphQlNames = new HashMap<>();
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:result_set_read_benchmark");
+        connection.createStatement().execute(BenchmarkTables.createWideTable("wide", sqlNameToFieldTypes, sqlToGraphQlNames));
+        BenchmarkTables.fillWideTable(connection, "wide", ROWS);
+        statement = connection.prepareStatement("SELECT * FROM wide");
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<LinkedHashMap<String, Object>> columnPlan() throws SQLException {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(ROWS);
+        try (ResultSet rs = statement.executeQuery()) {
+            ColumnPlan plan = new ColumnPlan(rs.getMetaData(), sqlToGraphQlNames::get, sqlNameToFieldTypes, PROVIDER);
+            while (rs.next()) {
+                rows.add(plan.readRow(rs));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The row loop as it was before column plans
+     */
+    @Benchmark
+    public List<LinkedHashMap<String, Object>> perColumnDispatch() throws SQLException {
+        List<LinkedHashMap<String, Object>> rows = new ArrayList<>(ROWS);
+        try (ResultSet rs = statement.executeQuery()) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            while (rs.next()) {
+                LinkedHashMap<String, Object> row = new LinkedHashMap<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    String columnName = metaData.getColumnName(i).toLowerCase();
+                    Object value;
+                    if (metaData.getColumnType(i) == JDBCType.DATE.getVendorTypeNumber()) {
+                        value = rs.getDate(i);
+                    } else if (metaData.getColumnType(i) == JDBCType.TIME.getVendorTypeNumber()) {
+                        value = rs.getTime(i, utcCalendar);
+                    } else if (metaData.getColumnType(i) == JDBCType.TIMESTAMP.getVendorTypeNumber()) {
+                        value = rs.getTimestamp(i, utcCalendar);
+                    } else {
+                        value = rs.getObject(i);
+                    }
+                    value = TypeMapper.convertFromJdbcResult(value, sqlNameToFieldTypes.get(columnName), PROVIDER);
+                    row.put(sqlToGraphQlNames.get(columnName), value);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import graphql.appsync.GraphQlTypePlan;
+import graphql.sql.QueryFixtures;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL text and parameters of a query whose where clause is a balanced tree of alternating and/or clauses with
+ * 2^depth filters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlGenerationBenchmark {
+    private static final String TYPE_NAME = "OrderProductOrderItem_MyOrderItem";
+    private static final String TABLE_NAME = "my_order_item";
+
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    private GraphQlTypePlan plan;
+    private SqlQueryStatement.WhereClause where;
+
+    @Setup
+    public void setup() {
+        plan = QueryFixtures.typePlan(TYPE_NAME, InMemoryDatabaseProvider.VENDOR);
+        where = plan.getGson().fromJson(whereTree(depth, new int[1]), SqlQueryStatement.WhereClause.class);
+    }
+
+    @Benchmark
+    public void query(Blackhole blackhole) {
+        SqlQueryStatement statement = QueryFixtures.query(plan, TABLE_NAME, List.of("parent_order_id", "parent_product_id", "quantity"),
+                where, null, 0L, 20L);
+        blackhole.consume(statement.getPreparedStatement());
+        blackhole.consume(statement.getParameters());
+    }
+
+    private static String whereTree(int depth, int[] leaves) {
+        if (depth == 0) {
+            return String.format("{\"Quantity\": {\"%s\": %d}}", leaves[0] % 2 == 0 ? "gt" : "ne", leaves[0]++);
+        }
+        return String.format("{\"%s\": [%s, %s]}", depth % 2 == 0 ? "and" : "or",
+                whereTree(depth - 1, leaves), whereTree(depth - 1, leaves));
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.TypeMapper;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TypeMapper conversions of one value of each common field type: GraphQL input to JDBC parameter, and JDBC result
+ * to GraphQL output
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeMapperBenchmark {
+    private static final String VENDOR = InMemoryDatabaseProvider.VENDOR;
+    private static final SqlDatabaseProvider PROVIDER = new InMemoryDatabaseProvider("Oracle");
+    private static final List<GraphQlFieldType> FIELD_TYPES = List.of(GraphQlFieldType.STRING, GraphQlFieldType.INT,
+            GraphQlFieldType.FLOAT, GraphQlFieldType.BOOLEAN, GraphQlFieldType.AWSDATE, GraphQlFieldType.AWSDATETIME,
+            GraphQlFieldType.AWSTIME, GraphQlFieldType.ENUMMULTISELECT);
+    private static final List<Object> GRAPHQL_VALUES = List.of("apple", "42", 10.5, true, "2022-05-10",
+            "2022-05-10T10:12:13Z", "10:12:13", List.of("red", "green"));
+    private static final List<Object> JDBC_VALUES = List.of("apple", 42, new BigDecimal("10.50000"), true,
+            Date.valueOf("2022-05-10"), OffsetDateTime.of(2022, 5, 10, 10, 12, 13, 0, ZoneOffset.UTC),
+            Timestamp.from(Instant.parse("2022-05-10T10:12:13Z")), "red;green");
+
+    @Benchmark
+    public void toJdbc(Blackhole blackhole) {
+        for (int i = 0; i < FIELD_TYPES.size(); i++) {
+            blackhole.consume(TypeMapper.convertToJdbcReadyType(GRAPHQL_VALUES.get(i), FIELD_TYPES.get(i), VENDOR));
+        }
+    }
+
+    @Benchmark
+    public void fromJdbc(Blackhole blackhole) {
+        for (int i = 0; i < FIELD_TYPES.size(); i++) {
+            blackhole.consume(TypeMapper.convertFromJdbcResult(JDBC_VALUES.get(i), FIELD_TYPES.get(i), PROVIDER));
+        }
+    }
+}
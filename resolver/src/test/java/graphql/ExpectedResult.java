@@ -7,6 +7,8 @@ public class ExpectedResult {
     private List<LinkedHashMap<String, Object>> expectedResultMulti;
     private LinkedHashMap<String, Object> expectedResultSingular;
     private String expectedErrorMessage;
+    private List<LinkedHashMap<String, Object>> expectedResultBatch;  // per event of a batch: data, or errorMessage and errorType
+    private List<LinkedHashMap<String, Object>> expectedResultList;  // rows of a bulk mutation
     
     public List<LinkedHashMap<String, Object>> getExpectedResultMulti() {
         return this.expectedResultMulti;
@@ -31,4 +33,20 @@ public class ExpectedResult {
     public void setExpectedErrorMessage(String expectedErrorMessage) {
         this.expectedErrorMessage = expectedErrorMessage;
     }
+
+    public List<LinkedHashMap<String, Object>> getExpectedResultBatch() {
+        return expectedResultBatch;
+    }
+
+    public void setExpectedResultBatch(List<LinkedHashMap<String, Object>> expectedResultBatch) {
+        this.expectedResultBatch = expectedResultBatch;
+    }
+
+    public List<LinkedHashMap<String, Object>> getExpectedResultList() {
+        return expectedResultList;
+    }
+
+    public void setExpectedResultList(List<LinkedHashMap<String, Object>> expectedResultList) {
+        this.expectedResultList = expectedResultList;
+    }
 }
@@ -4,6 +4,7 @@ import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import graphql.appsync.AppSyncSqlResolverInput;
 import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.AppSyncSqlResolverLambdaStreamHandler;
 import graphql.appsync.DummySecretsManagerRetriever;
 import graphql.appsync.DummySystemsManagerRetriever;
 import util.Util;
@@ -46,7 +47,42 @@ public class GraphQlTestRunner {
         runAndAssertAppSyncRequest(appSyncQuery, expectedResultSet);
     }
 
+    /**
+     * Run a request through the stream handler and assert its output is the same as the JSON of the request handler's
+     * result
+     */
+    public void runStreamed(String testName, String testDataFolder) throws IOException, GraphQlAdapterException {
+        final String appSyncQueryResourcePath = getAppSyncQueryResourcePath(testDataFolder, testName);
+        InputStream appSyncQueryResource = getClass().getResourceAsStream(appSyncQueryResourcePath);
+        if (appSyncQueryResource == null) {
+            throw new IOException("can't find AppSync query resource to test: " + appSyncQueryResourcePath);
+        }
+        final byte[] appSyncQuery = appSyncQueryResource.readAllBytes();
+        Object appSyncQueryObject = Util.GSON.fromJson(new String(appSyncQuery, StandardCharsets.UTF_8), Object.class);
+
+        AppSyncSqlResolverLambdaRequestHandler requestHandler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+        AppSyncSqlResolverLambdaStreamHandler streamHandler = new AppSyncSqlResolverLambdaStreamHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+        String expected;
+        try {
+            expected = Util.GSON.toJson(requestHandler.handleRequest(appSyncQueryObject, null));
+        } catch (GraphQlAdapterException e) {
+            GraphQlAdapterException streamed = assertThrows(GraphQlAdapterException.class, () -> streamHandler.handleRequest(
+                    new ByteArrayInputStream(appSyncQuery), new ByteArrayOutputStream(), null));
+            assertEquals(e.getMessage(), streamed.getMessage());
+            return;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamHandler.handleRequest(new ByteArrayInputStream(appSyncQuery), output, null);
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8), "unexpected streamed result for " + testName);
+    }
+
     private void runAndAssertAppSyncRequest(String appSyncQuery, String testCaseString) {
+        if (appSyncQuery.trim().startsWith("[")) {
+            runAndAssertAppSyncBatch(appSyncQuery, testCaseString);
+            return;
+        }
         Type mapType = new TypeToken<Map<String, Object>>(){}.getType();
         Map<String, Object> appSyncQueryMap = Util.GSON.fromJson(appSyncQuery, mapType);
         
@@ -75,9 +111,33 @@ public class GraphQlTestRunner {
         }
     }
 
+    /**
+     * A BatchInvoke request: a list of events, with a result per event
+     */
+    private void runAndAssertAppSyncBatch(String appSyncQuery, String testCaseString) {
+        Type listType = new TypeToken<List<Map<String, Object>>>(){}.getType();
+        List<Map<String, Object>> appSyncQueryList = Util.GSON.fromJson(appSyncQuery, listType);
+
+        ExpectedResult expectedResult = Util.GSON.fromJson(testCaseString, ExpectedResult.class);
+        AppSyncSqlResolverLambdaRequestHandler requestHandler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+
+        Object actualResult = requestHandler.handleRequest(appSyncQueryList, null);
+        Object actualResultNormalized = Util.GSON.fromJson(Util.GSON.toJsonTree(actualResult), Object.class);
+        Object expectedResultNormalized = Util.GSON.fromJson(Util.GSON.toJsonTree(expectedResult.getExpectedResultBatch()), Object.class);
+        assertEquals(expectedResultNormalized, actualResultNormalized, "unexpected result for batch");
+    }
+
     private void assertResult(String queryOperationName, Object actualResult, ExpectedResult expectedResult) {
         Object expectedObjects;
         
+        if (expectedResult.getExpectedResultList() != null) {
+            // bulk mutation
+            Object actualResultNormalized = Util.GSON.fromJson(Util.GSON.toJsonTree(actualResult), Object.class);
+            Object expectedResultNormalized = Util.GSON.fromJson(Util.GSON.toJsonTree(expectedResult.getExpectedResultList()), Object.class);
+            assertEquals(expectedResultNormalized, actualResultNormalized, "unexpected result for GraphQL query: " + queryOperationName);
+            return;
+        }
         if (expectedResult.getExpectedResultSingular() != null) {
             // query by ID, mutation
             expectedObjects = expectedResult.getExpectedResultSingular();
@@ -0,0 +1,87 @@
+package graphql.appsync;
+
+import graphql.DatabaseConnectionParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.RefreshingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingSecretsManagerRetrieverTest {
+    private static final SecretsManagerSecret SECRET = new SecretsManagerSecret("resolver-secret", "us-west-2");
+
+    private long now;
+    private int lookups;
+    private String currentPassword;
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+    private CachingSecretsManagerRetriever retriever;
+
+    @BeforeEach
+    public void setup() {
+        now = 0;
+        lookups = 0;
+        currentPassword = "initial";
+        backgroundTasks.clear();
+        SecretsManagerRetriever delegate = secret -> {
+            lookups++;
+            DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+            params.setPassword(currentPassword);
+            return params;
+        };
+        retriever = new CachingSecretsManagerRetriever(new RefreshingCache<>(delegate::lookupSecret,
+                Duration.ofSeconds(100), Duration.ofSeconds(20), backgroundTasks::add, () -> now));
+    }
+
+    @Test
+    void testCachedWithinTtl() {
+        retriever.lookupSecret(SECRET);
+        now = Duration.ofSeconds(50).toNanos();
+        retriever.lookupSecret(new SecretsManagerSecret("resolver-secret", "us-west-2"));
+
+        assertEquals(1, lookups);
+        assertEquals(1, retriever.getHits());
+        assertEquals(1, retriever.getMisses());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void testRefreshedAheadOfExpiry() {
+        retriever.lookupSecret(SECRET);
+        currentPassword = "rotated";
+        now = Duration.ofSeconds(90).toNanos();
+
+        // stale value is served while the refresh runs in the background
+        assertEquals("initial", retriever.lookupSecret(SECRET).getPassword());
+        retriever.lookupSecret(SECRET);
+        assertEquals(1, backgroundTasks.size(), "only one refresh should be scheduled per entry");
+        backgroundTasks.get(0).run();
+
+        assertEquals("rotated", retriever.lookupSecret(SECRET).getPassword());
+        assertEquals(2, lookups);
+        assertEquals(1, retriever.getRefreshes());
+    }
+
+    @Test
+    void testExpiredEntryLoadedOnRequestPath() {
+        retriever.lookupSecret(SECRET);
+        now = Duration.ofSeconds(100).toNanos();
+        retriever.lookupSecret(SECRET);
+
+        assertEquals(2, lookups);
+        assertEquals(2, retriever.getMisses());
+    }
+
+    @Test
+    void testForcedRefresh() {
+        retriever.lookupSecret(SECRET);
+        currentPassword = "rotated";
+
+        assertEquals("rotated", retriever.refreshSecret(SECRET).getPassword());
+        assertEquals("rotated", retriever.lookupSecret(SECRET).getPassword());
+        assertEquals(2, lookups);
+    }
+}
@@ -42,6 +42,13 @@ public class DummySystemsManagerRetriever implements SystemsManagerRetriever {
         return nameToMetadata.get(parameterName);
     }
 
+    @Override
+    public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+        Map<String, GraphQlTypeMetadata> all = new HashMap<>();
+        nameToMetadata.keySet().forEach(name -> all.put(name, lookupSystemParameter(name)));
+        return all;
+    }
+
     /**
      * Set to name of test for in-memory database test, or name of vendor for real database test
      */
@@ -0,0 +1,64 @@
+package graphql.appsync;
+
+import graphql.GraphQlAdapterException;
+import graphql.GraphQlFieldType;
+import graphql.sql.GraphQlTypeMetadata;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphQlTypePlanTest {
+    private static final String TYPE_NAME = "OrderProductOrderItem_MyProduct";
+
+    private GraphQlTypeMetadata metadata;
+
+    @BeforeEach
+    public void setup() {
+        DummySystemsManagerRetriever retriever = new DummySystemsManagerRetriever();
+        retriever.setSecret("inmemory");
+        metadata = retriever.lookupSystemParameter(TYPE_NAME);
+    }
+
+    @Test
+    void testNameMaps() {
+        GraphQlTypePlan plan = new GraphQlTypePlan(TYPE_NAME, metadata, InMemoryDatabaseProvider.VENDOR);
+
+        assertEquals(List.of("ProductId"), plan.getKeyFields());
+        String sqlName = plan.toSqlName("ProductId");
+        assertEquals("ProductId", plan.toGraphQlName(sqlName));
+        assertEquals(plan.getFieldTypes().get("ProductId"), plan.getSqlNameToFieldTypes().get(sqlName));
+        assertThrows(GraphQlAdapterException.class, () -> plan.toSqlName("NotAField"));
+        assertThrows(GraphQlAdapterException.class, () -> plan.toGraphQlName("not_a_column"));
+    }
+
+    @Test
+    void testPlanIsImmutable() {
+        GraphQlTypePlan plan = new GraphQlTypePlan(TYPE_NAME, metadata, InMemoryDatabaseProvider.VENDOR);
+
+        assertThrows(UnsupportedOperationException.class, () -> plan.getKeyFields().add("Other"));
+        assertThrows(UnsupportedOperationException.class, () -> plan.getFieldTypes().put("Other", GraphQlFieldType.STRING));
+        metadata.getKeyFields().add("Other");
+        assertEquals(List.of("ProductId"), plan.getKeyFields());
+    }
+
+    @Test
+    void testBuiltFrom() {
+        GraphQlTypePlan plan = new GraphQlTypePlan(TYPE_NAME, metadata, InMemoryDatabaseProvider.VENDOR);
+
+        assertTrue(plan.isBuiltFrom(metadata, InMemoryDatabaseProvider.VENDOR));
+        assertFalse(plan.isBuiltFrom(metadata, "postgres"));
+        assertFalse(plan.isBuiltFrom(new GraphQlTypeMetadata(), InMemoryDatabaseProvider.VENDOR));
+    }
+
+    @Test
+    void testMetadataValidated() {
+        metadata.setKeyFields(null);
+        GraphQlAdapterException e = assertThrows(GraphQlAdapterException.class,
+                () -> new GraphQlTypePlan(TYPE_NAME, metadata, InMemoryDatabaseProvider.VENDOR));
+        assertTrue(e.getMessage().contains("must define keyFields"));
+    }
+}
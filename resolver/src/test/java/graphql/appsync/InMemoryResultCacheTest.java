@@ -0,0 +1,112 @@
+package graphql.appsync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryResultCacheTest {
+    private static final String PRODUCT = "MyProduct";
+    private static final String ORDER = "MyOrder";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testExpiresAfterTtl() {
+        InMemoryResultCache cache = new InMemoryResultCache(100_000, clock::get);
+        cache.put(PRODUCT, "a", result(1), 1000, cache.version(PRODUCT));
+        clock.addAndGet(999_000_000L);
+        assertNotNull(cache.get(PRODUCT, "a"));
+        clock.addAndGet(1_000_000L);
+        assertNull(cache.get(PRODUCT, "a"));
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void testLeastRecentlyUsedDroppedFirst() {
+        long entryBytes = entryBytes("a", result(10));
+        InMemoryResultCache cache = new InMemoryResultCache(entryBytes * 20, clock::get);
+        for (int i = 0; i < 20; i++) {
+            cache.put(PRODUCT, String.valueOf((char) ('a' + i)), result(10), 60_000, 0);
+        }
+        assertEquals(20, cache.size());
+        cache.get(PRODUCT, "a");
+
+        cache.put(PRODUCT, "z", result(10), 60_000, 0);
+        assertEquals(20, cache.size());
+        assertNotNull(cache.get(PRODUCT, "a"));
+        assertNull(cache.get(PRODUCT, "b"));
+        assertTrue(cache.getBytes() <= entryBytes * 20);
+    }
+
+    @Test
+    void testLargeResultNotCached() {
+        InMemoryResultCache cache = new InMemoryResultCache(entryBytes("a", result(10)) * 10 - 1, clock::get);
+        cache.put(PRODUCT, "a", result(10), 60_000, 0);
+        assertNull(cache.get(PRODUCT, "a"));
+
+        // rows are only collected up to the maximum size
+        CachedResult.Collector collector = new CachedResult.Collector(result(10).getBytes() - 1);
+        result(10).getRows().forEach(row -> collector.accept(new LinkedHashMap<>(row)));
+        assertNull(collector.toResult(Map.of("hasNextPage", false)));
+    }
+
+    @Test
+    void testInvalidateDropsTypeAndStaleResults() {
+        InMemoryResultCache cache = new InMemoryResultCache(100_000, clock::get);
+        long version = cache.version(PRODUCT);
+        cache.put(PRODUCT, "a", result(1), 60_000, version);
+        cache.put(ORDER, "a", result(1), 60_000, cache.version(ORDER));
+
+        cache.invalidate(PRODUCT);
+        assertNull(cache.get(PRODUCT, "a"));
+        assertNotNull(cache.get(ORDER, "a"));
+
+        // read before the mutation
+        cache.put(PRODUCT, "b", result(1), 60_000, version);
+        assertNull(cache.get(PRODUCT, "b"));
+        assertEquals(1, cache.size());
+        assertTrue(cache.toString().contains("hits=1, misses=2, hitRatio=0.33"), cache.toString());
+    }
+
+    @Test
+    void testReplayCopiesRows() {
+        CachedResult result = result(2);
+        List<LinkedHashMap<String, Object>> replayed = new ArrayList<>();
+        Map<String, Object> pageInfo = result.replay(row -> {
+            row.put("id", "MyProduct-" + row.get("ProductId"));
+            replayed.add(row);
+        });
+        pageInfo.put("hasNextPage", true);
+
+        assertEquals("MyProduct-PRD-1", replayed.get(1).get("id"));
+        assertFalse(result.getRows().get(1).containsKey("id"));
+        assertEquals(false, result.getPageInfo().get("hasNextPage"));
+    }
+
+    private static CachedResult result(int rows) {
+        CachedResult.Collector collector = new CachedResult.Collector(Long.MAX_VALUE);
+        for (int i = 0; i < rows; i++) {
+            LinkedHashMap<String, Object> row = new LinkedHashMap<>();
+            row.put("ProductId", "PRD-" + i);
+            row.put("Price", 10.5);
+            collector.accept(row);
+        }
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("hasNextPage", false);
+        pageInfo.put("endCursor", null);
+        return collector.toResult(pageInfo);
+    }
+
+    private static long entryBytes(String key, CachedResult result) {
+        InMemoryResultCache cache = new InMemoryResultCache(Long.MAX_VALUE);
+        cache.put(PRODUCT, key, result, 60_000, 0);
+        return cache.getBytes();
+    }
+}
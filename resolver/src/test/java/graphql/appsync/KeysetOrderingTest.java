@@ -0,0 +1,139 @@
+package graphql.appsync;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.sql.GraphQlTypeMetadata;
+import graphql.sql.SeekPredicate;
+import graphql.sql.SqlQueryStatement;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetOrderingTest {
+    private static final String TYPE_NAME = "OrderProductOrderItem_MyProduct";
+
+    private GraphQlTypePlan plan;
+
+    @BeforeEach
+    public void setup() {
+        DummySystemsManagerRetriever retriever = new DummySystemsManagerRetriever();
+        retriever.setSecret("inmemory");
+        GraphQlTypeMetadata metadata = retriever.lookupSystemParameter(TYPE_NAME);
+        metadata.setKeysetPagination(true);
+        plan = new GraphQlTypePlan(TYPE_NAME, metadata, InMemoryDatabaseProvider.VENDOR);
+    }
+
+    @Test
+    void testKeyFieldsBreakTies() {
+        KeysetOrdering ordering = KeysetOrdering.of(List.of(orderBy("price", "DESC", null)), plan);
+
+        assertEquals(List.of("price", "product_id"), ordering.getSqlColumns());
+        assertEquals(List.of("Price", "ProductId"), ordering.getGraphQlNames());
+        assertEquals("DESC", ordering.toOrderBy().get(0).get("price").getDirection());
+        assertEquals("ASC", ordering.toOrderBy().get(1).get("product_id").getDirection());
+        assertEquals(List.of("product_id"), KeysetOrdering.of(null, plan).getSqlColumns());
+    }
+
+    @Test
+    void testNullsOrderingPagedByOffset() {
+        assertNull(KeysetOrdering.of(List.of(orderBy("price", "ASC", "FIRST")), plan));
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        KeysetOrdering ordering = KeysetOrdering.of(List.of(orderBy("price", null, null)), plan);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("Price", new BigDecimal("20"));
+        row.put("ProductId", "PRD-301");
+
+        OpaqueCursorCodec.Cursor cursor = OpaqueCursorCodec.decode(ordering.cursorFor(row, 7));
+        assertEquals(7L, cursor.getOffset());
+        assertNotNull(ordering.seekAfter(cursor, InMemoryDatabaseProvider.VENDOR));
+
+        // a cursor of another ORDER BY, or an offset cursor, has no usable values
+        KeysetOrdering other = KeysetOrdering.of(List.of(orderBy("price", "DESC", null)), plan);
+        assertNull(other.seekAfter(cursor, InMemoryDatabaseProvider.VENDOR));
+        assertNull(ordering.seekAfter(OpaqueCursorCodec.decode(OpaqueCursorCodec.encode(7)), InMemoryDatabaseProvider.VENDOR));
+
+        row.put("Price", null);
+        assertNull(OpaqueCursorCodec.decode(ordering.cursorFor(row, 7)).getSeekValues());
+    }
+
+    @Test
+    void testSeekClause() {
+        List<String> columns = List.of("price", "product_id");
+        List<Object> values = List.of(new BigDecimal("20"), "PRD-301");
+
+        assertEquals("SELECT name FROM my_product WHERE (price, product_id) > (?, ?) ORDER BY price ASC, product_id ASC",
+                seekQuery(new SeekPredicate(columns, List.of(false, false), values, "postgres"), "postgres").getPreparedStatement());
+        SqlQueryStatement oracle = seekQuery(new SeekPredicate(columns, List.of(false, false), values, "oracle"), "oracle");
+        assertTrue(oracle.getPreparedStatement().contains("WHERE (price > ?) OR (price = ? AND product_id > ?)"));
+        assertEquals(List.of(new BigDecimal("20"), new BigDecimal("20"), "PRD-301"), oracle.getParameters());
+        assertTrue(seekQuery(new SeekPredicate(columns, List.of(true, false), values, "postgres"), "postgres")
+                .getPreparedStatement().contains("WHERE (price < ?) OR (price = ? AND product_id > ?)"));
+    }
+
+    @Test
+    void testSeekPagesThroughTies() throws SQLException {
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname("keyset_test");
+        try (Connection connection = InMemoryDatabaseProvider.getVendorAgnosticConnection(params);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE my_product (product_id VARCHAR PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5) NOT NULL)");
+            statement.execute("INSERT INTO my_product VALUES ('p1', 'a', 10), ('p2', 'b', 20), ('p3', 'c', 20), ('p4', 'd', 20), ('p5', 'e', 30)");
+
+            List<String> names = new ArrayList<>();
+            List<Object> after = null;
+            do {
+                SeekPredicate seek = after == null ? null
+                        : new SeekPredicate(List.of("price", "product_id"), List.of(false, false), after, InMemoryDatabaseProvider.VENDOR);
+                SqlQueryStatement query = seekQuery(seek, InMemoryDatabaseProvider.VENDOR, List.of("name", "price", "product_id"), 2L);
+                after = null;
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query.getPreparedStatement())) {
+                    for (int i = 0; i < query.getParameters().size(); i++) {
+                        preparedStatement.setObject(i + 1, query.getParameters().get(i));
+                    }
+                    ResultSet rs = preparedStatement.executeQuery();
+                    while (rs.next()) {
+                        names.add(rs.getString("name"));
+                        after = List.of(rs.getBigDecimal("price"), rs.getString("product_id"));
+                    }
+                }
+            } while (after != null);
+            statement.execute("DROP TABLE my_product");
+
+            assertEquals(List.of("a", "b", "c", "d", "e"), names);
+        }
+    }
+
+    private static SqlQueryStatement seekQuery(SeekPredicate seek, String vendor) {
+        return seekQuery(seek, vendor, List.of("name"), null);
+    }
+
+    private static SqlQueryStatement seekQuery(SeekPredicate seek, String vendor, List<String> select, Long limit) {
+        List<Map<String, SqlQueryStatement.OrderBy>> orderBys = List.of(
+                orderBy("price", "ASC", null), orderBy("product_id", "ASC", null));
+        SqlQueryStatement statement = new SqlQueryStatement("my_product", select, null, orderBys, null, limit, vendor);
+        statement.setSeek(seek);
+        return statement;
+    }
+
+    private static Map<String, SqlQueryStatement.OrderBy> orderBy(String sqlColumn, String direction, String nulls) {
+        SqlQueryStatement.OrderBy orderBy = new SqlQueryStatement.OrderBy();
+        orderBy.setDirection(direction);
+        orderBy.setNulls(nulls);
+        return Map.of(sqlColumn, orderBy);
+    }
+}
@@ -0,0 +1,59 @@
+package graphql.appsync;
+
+import graphql.GraphQlAdapterException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpaqueCursorCodecTest {
+    @Test
+    void testRoundTrip() {
+        for (long offset : new long[] {0, 1, 127, 128, 300, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE}) {
+            assertEquals(offset, OpaqueCursorCodec.decode(OpaqueCursorCodec.encode(offset)).getOffset());
+        }
+    }
+
+    @Test
+    void testCompactUrlSafeEncoding() {
+        assertEquals("AawC", OpaqueCursorCodec.encode(300));
+        assertEquals(4, OpaqueCursorCodec.encode(2_000).length());
+        assertTrue(OpaqueCursorCodec.encode(Long.MAX_VALUE).matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testLegacyJsonCursor() {
+        String legacy = Base64.getEncoder().encodeToString("{\"cursorOffset\":4}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(4L, OpaqueCursorCodec.decode(legacy).getOffset());
+
+        String withoutOffset = Base64.getEncoder().encodeToString("{}".getBytes(StandardCharsets.UTF_8));
+        assertNull(OpaqueCursorCodec.decode(withoutOffset).getOffset());
+    }
+
+    @Test
+    void testKeysetCursor() {
+        List<Object> values = List.of("ORD-100", -5, 12L, new BigDecimal("10.50"), 1.5d, true, "2022-05-10T10:12:13Z");
+        OpaqueCursorCodec.Cursor cursor = OpaqueCursorCodec.decode(OpaqueCursorCodec.encode(40, 0xCAFE, values));
+
+        assertEquals(40L, cursor.getOffset());
+        assertEquals(0xCAFE, cursor.getOrdering());
+        assertEquals(List.of("ORD-100", -5L, 12L, new BigDecimal("10.50"), 1.5d, true, "2022-05-10T10:12:13Z"),
+                cursor.getSeekValues());
+        assertNull(OpaqueCursorCodec.decode(OpaqueCursorCodec.encode(40)).getSeekValues());
+        assertThrows(IllegalArgumentException.class, () -> OpaqueCursorCodec.encode(0, 0, List.of(new Object())));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(GraphQlAdapterException.class, () -> OpaqueCursorCodec.decode("not a cursor"));
+        assertThrows(GraphQlAdapterException.class, () -> OpaqueCursorCodec.decode(""));
+        // truncated varint
+        assertThrows(GraphQlAdapterException.class, () -> OpaqueCursorCodec.decode("AYA"));
+        // wrong version
+        assertThrows(GraphQlAdapterException.class, () -> OpaqueCursorCodec.decode("Awg"));
+    }
+}
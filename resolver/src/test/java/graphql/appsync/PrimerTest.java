@@ -0,0 +1,98 @@
+package graphql.appsync;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.sql.GraphQlTypeMetadata;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PooledSqlDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.PrimingDatabaseProvider;
+import graphql.sql.db.SqlDatabaseProviderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimerTest {
+    private static final SecretsManagerSecret SECRET = new SecretsManagerSecret("resolver-secret", "us-west-2");
+
+    private int secretLookups = 0;
+    private int metadataPrefetches = 0;
+
+    @AfterEach
+    public void teardown() {
+        SqlDatabaseProviderFactory.resetProviders();
+    }
+
+    @Test
+    void testPrimingLeavesNoPrimingConnections() {
+        DummySystemsManagerRetriever systemsManagerRetriever = new DummySystemsManagerRetriever();
+        systemsManagerRetriever.setSecret("priming_test");
+        new AppSyncSqlResolverLambdaRequestHandler(secret -> engine(OracleDatabaseProvider.VENDOR), systemsManagerRetriever)
+                .beforeCheckpoint(null);
+
+        PooledSqlDatabaseProvider provider = SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR);
+        assertFalse(provider.getDelegate() instanceof PrimingDatabaseProvider);
+        assertEquals(0, provider.getStatistics().getCreated());
+    }
+
+    @Test
+    void testPrimesOnlyConfiguredVendors() {
+        DummySystemsManagerRetriever systemsManagerRetriever = new DummySystemsManagerRetriever();
+        systemsManagerRetriever.setSecret("priming_test");
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                secret -> engine(PostgreSqlDatabaseProvider.VENDOR), systemsManagerRetriever);
+        assertEquals(Set.of(PostgreSqlDatabaseProvider.VENDOR), handler.configuredVendors());
+        assertTrue(Primer.prime(handler.configuredVendors()));
+    }
+
+    @Test
+    void testNoPrimingWithoutTypeMetadata() {
+        // the secret name is not set, so the type metadata lookups fail
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, new DummySystemsManagerRetriever());
+        assertEquals(Set.of(), handler.configuredVendors());
+        assertFalse(Primer.prime(handler.configuredVendors()));
+    }
+
+    @Test
+    void testRestoreReloadsCachedLookups() {
+        CachingSecretsManagerRetriever secrets = new CachingSecretsManagerRetriever(secret -> {
+            secretLookups++;
+            return new DatabaseConnectionParameters();
+        }, Duration.ofMinutes(5));
+        TypeMetadataRegistry typeMetadata = new TypeMetadataRegistry(new SystemsManagerRetriever() {
+            @Override
+            public GraphQlTypeMetadata lookupSystemParameter(String parameterName) {
+                return new GraphQlTypeMetadata();
+            }
+
+            @Override
+            public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+                metadataPrefetches++;
+                return Map.of("MyType", new GraphQlTypeMetadata());
+            }
+        }, Duration.ofMinutes(5));
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(secrets, typeMetadata);
+        secrets.lookupSecret(SECRET);
+        typeMetadata.lookupSystemParameter("MyType");
+
+        handler.afterRestore(null);
+        secrets.lookupSecret(SECRET);
+
+        assertEquals(2, secretLookups);
+        // reloaded while restoring, not on the first lookup after it
+        assertEquals(2, metadataPrefetches);
+        typeMetadata.lookupSystemParameter("MyType");
+        assertEquals(2, metadataPrefetches);
+    }
+
+    private static DatabaseConnectionParameters engine(String vendor) {
+        DatabaseConnectionParameters parameters = new DatabaseConnectionParameters();
+        parameters.setEngine(vendor);
+        return parameters;
+    }
+}
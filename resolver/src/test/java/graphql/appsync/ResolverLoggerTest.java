@@ -0,0 +1,93 @@
+package graphql.appsync;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResolverLoggerTest {
+    @Test
+    void testDisabledLevelBuildsNoMessage() {
+        List<String> lines = new ArrayList<>();
+        ResolverLogger logger = newLogger(ResolverLogger.Level.INFO, 100, lines);
+
+        logger.debug(() -> fail("debug message was built"));
+        logger.trace(() -> fail("trace message was built"));
+        logger.info(() -> "pool");
+        logger.error(() -> "failed");
+
+        assertEquals(List.of("INFO pool", "ERROR failed"), lines);
+        assertTrue(logger.isEnabled(ResolverLogger.Level.ERROR));
+        assertFalse(logger.isEnabled(ResolverLogger.Level.DEBUG));
+    }
+
+    @Test
+    void testMessageTruncated() {
+        List<String> lines = new ArrayList<>();
+        ResolverLogger logger = newLogger(ResolverLogger.Level.TRACE, 10, lines);
+
+        logger.trace(() -> "0123456789abcdef");
+
+        assertEquals(List.of("TRACE 0123456789..."), lines);
+    }
+
+    @Test
+    void testJsonStopsAtMaxLength() {
+        ResolverLogger logger = new ResolverLogger(ResolverLogger.Level.TRACE, 20, 10);
+        List<Map<String, Object>> rows = Collections.nCopies(100_000, Map.of("ProductId", "PRD-1"));
+
+        assertEquals("[{\"ProductId\":\"PRD-1...", logger.json(rows));
+        assertEquals("{\"a\":null}", logger.json(Collections.singletonMap("a", null)));
+    }
+
+    @Test
+    void testSample() {
+        ResolverLogger logger = new ResolverLogger(ResolverLogger.Level.TRACE, 1000, 3);
+
+        assertEquals("[]", logger.sample(List.of()));
+        assertEquals("[1, 2, 3]", logger.sample(List.of(1, 2, 3)));
+        assertEquals("[1, 2, 3, ... (1000 values)]",
+                logger.sample(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    void testUnknownLevelFallsBackToInfo() {
+        List<String> lines = new ArrayList<>();
+        ResolverLogger logger = ResolverLogger.fromLevelName("WARN", 100, 10);
+        logger.setLogger(collector(lines));
+        logger.setLogger(collector(lines));
+
+        assertEquals(List.of("INFO unknown LOG_LEVEL WARN, logging at INFO"), lines);
+        assertTrue(logger.isEnabled(ResolverLogger.Level.INFO));
+        assertFalse(logger.isEnabled(ResolverLogger.Level.DEBUG));
+        assertTrue(ResolverLogger.fromLevelName(" debug ", 100, 10).isEnabled(ResolverLogger.Level.DEBUG));
+        assertFalse(ResolverLogger.fromLevelName(null, 100, 10).isEnabled(ResolverLogger.Level.DEBUG));
+    }
+
+    private static ResolverLogger newLogger(ResolverLogger.Level level, int maxLength, List<String> lines) {
+        ResolverLogger logger = new ResolverLogger(level, maxLength, 10);
+        logger.setLogger(collector(lines));
+        return logger;
+    }
+
+    private static LambdaLogger collector(List<String> lines) {
+        return new LambdaLogger() {
+            @Override
+            public void log(String message) {
+                lines.add(message);
+            }
+
+            @Override
+            public void log(byte[] message) {
+                lines.add(new String(message));
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package graphql.appsync;
+
+import graphql.GraphQlAdapterException;
+import graphql.sql.GraphQlTypeMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.RefreshingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeMetadataRegistryTest {
+    private static final String TYPE_NAME = "OrderProductOrderItem_MyProduct";
+
+    private long now;
+    private int singleLookups;
+    private int bulkLookups;
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+    private TypeMetadataRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        now = 0;
+        singleLookups = 0;
+        bulkLookups = 0;
+        backgroundTasks.clear();
+        DummySystemsManagerRetriever dummy = new DummySystemsManagerRetriever();
+        dummy.setSecret("inmemory");
+        SystemsManagerRetriever counting = new SystemsManagerRetriever() {
+            @Override
+            public GraphQlTypeMetadata lookupSystemParameter(String parameterName) {
+                singleLookups++;
+                return dummy.lookupSystemParameter(parameterName);
+            }
+
+            @Override
+            public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+                bulkLookups++;
+                return dummy.lookupAllSystemParameters();
+            }
+        };
+        registry = new TypeMetadataRegistry(counting, new RefreshingCache<>(counting::lookupSystemParameter,
+                Duration.ofSeconds(100), Duration.ofSeconds(20), backgroundTasks::add, () -> now));
+    }
+
+    @Test
+    void testFirstLookupPrefetchesAllTypes() {
+        GraphQlTypeMetadata metadata = registry.lookupSystemParameter(TYPE_NAME);
+        assertEquals(List.of("ProductId"), metadata.getKeyFields());
+        registry.lookupSystemParameter("GlobalIdTypes_DateTime");
+
+        assertEquals(1, bulkLookups);
+        assertEquals(0, singleLookups);
+        assertEquals(2, registry.getHits());
+        assertTrue(registry.lookupAllSystemParameters().size() > 2);
+    }
+
+    @Test
+    void testParsedMetadataReused() {
+        assertSame(registry.lookupSystemParameter(TYPE_NAME), registry.lookupSystemParameter(TYPE_NAME));
+    }
+
+    @Test
+    void testUnknownTypeLookedUpIndividually() {
+        assertThrows(GraphQlAdapterException.class, () -> registry.lookupSystemParameter("NotAType"));
+        assertThrows(GraphQlAdapterException.class, () -> registry.lookupSystemParameter("NotAType"));
+        assertEquals(1, bulkLookups);
+        assertEquals(2, singleLookups);
+    }
+
+    @Test
+    void testStaleEntryRefreshedInBackground() {
+        GraphQlTypeMetadata initial = registry.lookupSystemParameter(TYPE_NAME);
+        now = Duration.ofSeconds(90).toNanos();
+
+        assertSame(initial, registry.lookupSystemParameter(TYPE_NAME));
+        assertEquals(0, singleLookups, "refresh must not run on the request path");
+        assertEquals(1, backgroundTasks.size());
+        backgroundTasks.get(0).run();
+
+        assertEquals(1, singleLookups);
+        assertEquals(1, registry.getRefreshes());
+        assertEquals(1, bulkLookups);
+    }
+
+    @Test
+    void testPrefetchFailureFallsBackToSingleLookup() {
+        SystemsManagerRetriever failingBulk = new SystemsManagerRetriever() {
+            private final DummySystemsManagerRetriever dummy = new DummySystemsManagerRetriever();
+            {
+                dummy.setSecret("inmemory");
+            }
+
+            @Override
+            public GraphQlTypeMetadata lookupSystemParameter(String parameterName) {
+                return dummy.lookupSystemParameter(parameterName);
+            }
+
+            @Override
+            public Map<String, GraphQlTypeMetadata> lookupAllSystemParameters() {
+                throw new GraphQlAdapterException("access denied");
+            }
+        };
+        TypeMetadataRegistry fallbackRegistry = new TypeMetadataRegistry(failingBulk, Duration.ofSeconds(100));
+        assertNotNull(fallbackRegistry.lookupSystemParameter(TYPE_NAME));
+        assertEquals(1, fallbackRegistry.getMisses());
+    }
+}
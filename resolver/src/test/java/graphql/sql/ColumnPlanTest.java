@@ -0,0 +1,119 @@
+package graphql.sql;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.OracleDatabaseProvider;
+import oracle.jdbc.OracleTypes;
+import oracle.sql.TIMESTAMP;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnPlanTest {
+    private static final Map<String, GraphQlFieldType> FIELD_TYPES = new HashMap<>();
+    static {
+        FIELD_TYPES.put("int_col", GraphQlFieldType.INT);
+        FIELD_TYPES.put("bigint_col", GraphQlFieldType.INT);
+        FIELD_TYPES.put("double_col", GraphQlFieldType.FLOAT);
+        FIELD_TYPES.put("real_col", GraphQlFieldType.FLOAT);
+        FIELD_TYPES.put("bool_col", GraphQlFieldType.BOOLEAN);
+        FIELD_TYPES.put("numeric_col", GraphQlFieldType.FLOAT);
+        FIELD_TYPES.put("numeric_int_col", GraphQlFieldType.INT);
+        FIELD_TYPES.put("numeric_bool_col", GraphQlFieldType.BOOLEAN);
+        FIELD_TYPES.put("string_col", GraphQlFieldType.STRING);
+        FIELD_TYPES.put("multi_col", GraphQlFieldType.ENUMMULTISELECT);
+        FIELD_TYPES.put("date_col", GraphQlFieldType.AWSDATE);
+        FIELD_TYPES.put("timestamp_col", GraphQlFieldType.AWSDATETIME);
+        FIELD_TYPES.put("timestamp_tz_col", GraphQlFieldType.AWSDATETIME);
+    }
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setup() throws SQLException {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        connection = DriverManager.getConnection("jdbc:h2:mem:column_plan_test");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE plan_test (int_col INT, bigint_col BIGINT, double_col DOUBLE PRECISION," +
+                    " real_col REAL, bool_col BOOLEAN, numeric_col NUMERIC(10, 5), numeric_int_col NUMERIC(10)," +
+                    " numeric_bool_col NUMERIC(1), string_col VARCHAR, multi_col VARCHAR, date_col DATE," +
+                    " timestamp_col TIMESTAMP, timestamp_tz_col TIMESTAMP WITH TIME ZONE)");
+            statement.execute("INSERT INTO plan_test VALUES (0, 42, 1.5, 0.1, FALSE, 10.50000, 7, 1, 'apple', 'red;green'," +
+                    " DATE '2022-05-10', TIMESTAMP '2022-05-10 10:12:00', TIMESTAMP WITH TIME ZONE '2022-05-10 10:12:13+02:00')");
+            statement.execute("INSERT INTO plan_test VALUES (NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL," +
+                    " NULL, NULL, NULL)");
+        }
+    }
+
+    @AfterAll
+    public static void teardown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testReadValues() throws SQLException {
+        LinkedHashMap<String, Object> row = readRows().get(0);
+
+        assertEquals(0, row.get("int_col"));
+        assertEquals(42L, row.get("bigint_col"));
+        assertEquals(1.5, row.get("double_col"));
+        assertEquals(0.1f, row.get("real_col"));
+        assertEquals(false, row.get("bool_col"));
+        assertEquals(new BigDecimal("10.5"), row.get("numeric_col"));
+        assertEquals(7, row.get("numeric_int_col"));
+        assertEquals(true, row.get("numeric_bool_col"));
+        assertEquals("apple", row.get("string_col"));
+        assertArrayEquals(new String[]{"red", "green"}, (String[]) row.get("multi_col"));
+        assertEquals("2022-05-10", row.get("date_col"));
+        assertEquals("2022-05-10T10:12:00Z", row.get("timestamp_col"));
+        assertEquals("2022-05-10T10:12:13+02:00", row.get("timestamp_tz_col"));
+    }
+
+    @Test
+    void testReadNulls() throws SQLException {
+        LinkedHashMap<String, Object> row = readRows().get(1);
+
+        assertEquals(FIELD_TYPES.size(), row.size());
+        row.forEach((column, value) -> assertNull(value, column));
+    }
+
+    @Test
+    void testOracleTimestampsReadAsDriverObjects() {
+        OracleDatabaseProvider provider = new OracleDatabaseProvider();
+        assertEquals(Types.OTHER, provider.standardColumnType(Types.TIMESTAMP));
+        assertEquals(Types.OTHER, provider.standardColumnType(Types.DATE));
+        assertEquals(Types.TIMESTAMP_WITH_TIMEZONE, provider.standardColumnType(OracleTypes.TIMESTAMPTZ));
+
+        // local date-time, not an instant
+        TIMESTAMP timestamp = new TIMESTAMP(Timestamp.valueOf("2022-05-10 10:12:13"));
+        assertEquals("2022-05-10T10:12:13", TypeMapper.convertFromJdbcResult(timestamp, GraphQlFieldType.AWSDATETIME, provider));
+    }
+
+    private static List<LinkedHashMap<String, Object>> readRows() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM plan_test ORDER BY int_col NULLS LAST")) {
+            ColumnPlan plan = new ColumnPlan(rs.getMetaData(), String::toLowerCase, FIELD_TYPES, new InMemoryDatabaseProvider("Oracle"));
+            assertTrue(rs.next());
+            LinkedHashMap<String, Object> first = plan.readRow(rs);
+            assertTrue(rs.next());
+            return Arrays.asList(first, plan.readRow(rs));
+        }
+    }
+}
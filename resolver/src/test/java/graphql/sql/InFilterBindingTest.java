@@ -0,0 +1,160 @@
+package graphql.sql;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlAdapterException;
+import graphql.appsync.GraphQlTypePlan;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.SqlServerDatabaseProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InFilterBindingTest {
+    @AfterEach
+    public void teardown() {
+        InFilterBinding.setArrayBinding(true);
+        InFilterBinding.setCollectionBinding(false);
+    }
+
+    @Test
+    void testPostgresArray() {
+        SqlQueryStatement statement = query("{\"Price\": {\"in\": [10, 20.5]}}", PostgreSqlDatabaseProvider.VENDOR);
+
+        assertTrue(statement.getPreparedStatement().endsWith("WHERE price = ANY(?)"));
+        ArrayParameter array = (ArrayParameter) statement.getParameters().get(0);
+        assertEquals("numeric", array.getTypeName());
+        assertArrayEquals(new Object[] {new BigDecimal("10"), new BigDecimal("20.5")}, array.getElements());
+        // the SQL text does not depend on the number of values
+        assertEquals(statement.getPreparedStatement(),
+                query("{\"Price\": {\"in\": [10, 20, 30, 40]}}", PostgreSqlDatabaseProvider.VENDOR).getPreparedStatement());
+    }
+
+    @Test
+    void testPostgresTextExpanded() {
+        SqlQueryStatement statement = query("{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\"]}}", PostgreSqlDatabaseProvider.VENDOR);
+
+        assertTrue(statement.getPreparedStatement().endsWith("WHERE product_id IN (?, ?)"));
+        assertEquals(List.of("PRD-300", "PRD-301"), statement.getParameters());
+    }
+
+    @Test
+    void testPostgresTextInUuidColumn() throws SQLException {
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname("in_filter_binding_uuid_test");
+        try (Connection connection = new InMemoryDatabaseProvider("PostgreSQL").newConnection(params);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE my_product (product_id UUID PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5))");
+            statement.execute("INSERT INTO my_product VALUES ('8f14e45f-ceea-467f-a0e6-7a7e1b3a2c01', 'apple', 10)," +
+                    " ('8f14e45f-ceea-467f-a0e6-7a7e1b3a2c02', 'banana', 20)");
+            String where = "{\"ProductId\": {\"in\": [\"8f14e45f-ceea-467f-a0e6-7a7e1b3a2c02\", \"8f14e45f-ceea-467f-a0e6-7a7e1b3a2c09\"]}}";
+
+            List<String> names = names(connection, query(where, PostgreSqlDatabaseProvider.VENDOR));
+            statement.execute("DROP TABLE my_product");
+
+            assertEquals(List.of("banana"), names);
+        }
+    }
+
+    @Test
+    void testPostgresIntMustBeWhole() {
+        GraphQlTypePlan plan = QueryFixtures.typePlan("GlobalIdTypes_IntFloat", PostgreSqlDatabaseProvider.VENDOR);
+        GraphQlAdapterException e = assertThrows(GraphQlAdapterException.class, () -> QueryFixtures.query(
+                plan, "int_float", List.of("int_id"), "{\"IntId\": {\"in\": [1, 1.5]}}", null, null, null).getPreparedStatement());
+        assertEquals("could not parse GraphQL INT input with value 1.5", e.getMessage());
+    }
+
+    @Test
+    void testCollectionsOptIn() {
+        String where = "{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\"]}}";
+        assertTrue(query(where, SqlServerDatabaseProvider.VENDOR).getPreparedStatement().endsWith("WHERE product_id IN (?, ?)"));
+        assertTrue(query(where, OracleDatabaseProvider.VENDOR).getPreparedStatement().endsWith("WHERE product_id IN (?, ?)"));
+    }
+
+    @Test
+    void testSqlServerJson() {
+        InFilterBinding.setCollectionBinding(true);
+        SqlQueryStatement statement = query("{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\"]}}", SqlServerDatabaseProvider.VENDOR);
+
+        assertTrue(statement.getPreparedStatement().endsWith(
+                "WHERE product_id IN (SELECT value FROM OPENJSON(?) WITH (value nvarchar(max) '$'))"));
+        assertEquals(List.of("[\"PRD-300\",\"PRD-301\"]"), statement.getParameters());
+    }
+
+    @Test
+    void testOracleCollection() {
+        InFilterBinding.setCollectionBinding(true);
+        SqlQueryStatement statement = query("{\"ProductId\": {\"in\": [\"PRD-300\"]}}", OracleDatabaseProvider.VENDOR);
+
+        assertTrue(statement.getPreparedStatement().endsWith("WHERE product_id IN (SELECT column_value FROM TABLE(?))"));
+        assertEquals("SYS.ODCIVARCHAR2LIST", ((ArrayParameter) statement.getParameters().get(0)).getTypeName());
+    }
+
+    @Test
+    void testExpandedPlaceholders() {
+        String where = "{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\"]}}";
+        assertTrue(query(where, InMemoryDatabaseProvider.VENDOR).getPreparedStatement().endsWith("WHERE product_id IN (?, ?)"));
+
+        InFilterBinding.setArrayBinding(false);
+        SqlQueryStatement statement = query(where, PostgreSqlDatabaseProvider.VENDOR);
+        assertTrue(statement.getPreparedStatement().endsWith("WHERE product_id IN (?, ?)"));
+        assertEquals(List.of("PRD-300", "PRD-301"), statement.getParameters());
+    }
+
+    @Test
+    void testArrayMatchesExpandedResult() throws SQLException {
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname("in_filter_binding_test");
+        try (Connection connection = InMemoryDatabaseProvider.getVendorAgnosticConnection(params);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE my_product (product_id VARCHAR PRIMARY KEY, name VARCHAR, price NUMERIC(10, 5))");
+            statement.execute("INSERT INTO my_product VALUES ('PRD-300', 'apple', 10), ('PRD-301', 'banana', 20), ('PRD-302', 'lemon', 30)");
+            String where = "{\"Price\": {\"in\": [30, 10, 99.5]}}";
+
+            // Postgres SQL, which H2 runs as well
+            List<String> arrayBound = names(connection, query(where, PostgreSqlDatabaseProvider.VENDOR));
+            InFilterBinding.setArrayBinding(false);
+            List<String> expanded = names(connection, query(where, PostgreSqlDatabaseProvider.VENDOR));
+            statement.execute("DROP TABLE my_product");
+
+            assertEquals(List.of("apple", "lemon"), arrayBound);
+            assertEquals(expanded, arrayBound);
+        }
+    }
+
+    private static List<String> names(Connection connection, SqlQueryStatement query) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query.getPreparedStatement() + " ORDER BY name")) {
+            for (int i = 0; i < query.getParameters().size(); i++) {
+                Object parameter = query.getParameters().get(i);
+                if (parameter instanceof ArrayParameter) {
+                    Array array = connection.createArrayOf(((ArrayParameter) parameter).getTypeName(), ((ArrayParameter) parameter).getElements());
+                    preparedStatement.setArray(i + 1, array);
+                } else {
+                    preparedStatement.setObject(i + 1, parameter);
+                }
+            }
+            ResultSet rs = preparedStatement.executeQuery();
+            while (rs.next()) {
+                names.add(rs.getString("name"));
+            }
+        }
+        return names;
+    }
+
+    private static SqlQueryStatement query(String whereJson, String vendor) {
+        return QueryFixtures.productQuery(whereJson, vendor);
+    }
+}
@@ -0,0 +1,130 @@
+package graphql.sql;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlFieldType;
+import graphql.appsync.GraphQlTypePlan;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.OracleDatabaseProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterBindingTest {
+
+    @AfterEach
+    public void teardown() {
+        ParameterBinding.setTypedBinding(true);
+    }
+
+    @Test
+    void testSetterPerFieldType() throws SQLException {
+        assertEquals("setLong(3)", bind(3.0, GraphQlFieldType.INT));
+        assertEquals("setLong(3)", bind(new BigDecimal("3.00"), GraphQlFieldType.INT));
+        assertEquals("setObject(3.5)", bind(3.5, GraphQlFieldType.INT));
+        assertEquals("setDouble(0.1)", bind(0.1f, GraphQlFieldType.FLOAT));
+        assertEquals("setDouble(20.0)", bind(20.0, GraphQlFieldType.FLOAT));
+        assertEquals("setBigDecimal(20.5)", bind(new BigDecimal("20.5"), GraphQlFieldType.FLOAT));
+        assertEquals("setBoolean(true)", bind(true, GraphQlFieldType.BOOLEAN));
+        assertEquals("setString(PRD-300)", bind("PRD-300", GraphQlFieldType.ID));
+        assertEquals("setString(10:15)", bind("10:15", GraphQlFieldType.AWSTIME));
+        assertEquals("setObject(2022-05-10)", bind(LocalDate.parse("2022-05-10"), GraphQlFieldType.AWSDATE));
+        assertEquals("setObject(null)", bind(null, GraphQlFieldType.INT));
+        assertEquals("setObject(3.0)", bind(3.0, null));
+
+        ParameterBinding.setTypedBinding(false);
+        assertEquals("setObject(3.0)", bind(3.0, GraphQlFieldType.INT));
+        assertEquals("setObject(PRD-300)", bind("PRD-300", GraphQlFieldType.STRING));
+    }
+
+    @Test
+    void testStatementParameterTypes() {
+        GraphQlTypePlan plan = QueryFixtures.typePlan(QueryFixtures.PRODUCT_TYPE, OracleDatabaseProvider.VENDOR);
+        SqlQueryStatement query = QueryFixtures.query(plan, "my_product", List.of("name"),
+                "{\"and\": [{\"Price\": {\"gt\": 10}}, {\"or\": [{\"Name\": {\"eq\": \"apple\"}}, {\"Discontinued\": {\"eq\": false}}]}]}",
+                null, 0L, 10L);
+
+        assertEquals(Arrays.asList(GraphQlFieldType.FLOAT, GraphQlFieldType.STRING, GraphQlFieldType.BOOLEAN,
+                GraphQlFieldType.INT, GraphQlFieldType.INT), query.getParameterTypes());
+        assertEquals(query.getParameters().size(), query.getParameterTypes().size());
+
+        LinkedHashMap<String, Object> newValues = new LinkedHashMap<>();
+        newValues.put("name", "lemon");
+        newValues.put("price", 2.5);
+        LinkedHashMap<String, Object> key = new LinkedHashMap<>();
+        key.put("product_id", "PRD-300");
+        SqlDmlStatement update = new SqlDmlStatement(SqlStatementType.UPDATE, "my_product", newValues, key);
+        assertEquals(Arrays.asList(null, null, null), update.getParameterTypes());
+        update.setFieldTypes(plan.getSqlNameToFieldTypes());
+        assertEquals(Arrays.asList(GraphQlFieldType.STRING, GraphQlFieldType.FLOAT, GraphQlFieldType.STRING), update.getParameterTypes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Oracle", "MSSQLServer", "PostgreSQL"})
+    void testTypedBindingMatchesRows(String mode) throws SQLException {
+        DatabaseConnectionParameters params = new DatabaseConnectionParameters();
+        params.setDbname("parameter_binding_" + mode);
+        try (Connection connection = new InMemoryDatabaseProvider(mode).newConnection(params);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE my_item (item_id VARCHAR PRIMARY KEY, quantity BIGINT, price NUMERIC(10, 5)," +
+                    " rating DOUBLE PRECISION, available BOOLEAN)");
+            statement.execute("INSERT INTO my_item VALUES ('ITM-1', 3, 1.5, 0.1, TRUE), ('ITM-2', 4, 1.5, 0.1, TRUE)," +
+                    " ('ITM-3', 3, 2.5, 0.1, FALSE)");
+            // values as JSON input is parsed and converted, e.g. Int input as a double
+            String sql = "SELECT item_id FROM my_item WHERE quantity = ? AND price = ? AND rating = ? AND available = ? AND item_id <> ?";
+            List<Object> values = Arrays.asList(3.0, 1.5, 0.1f, true, "ITM-9");
+            List<GraphQlFieldType> types = List.of(GraphQlFieldType.INT, GraphQlFieldType.FLOAT, GraphQlFieldType.FLOAT,
+                    GraphQlFieldType.BOOLEAN, GraphQlFieldType.ID);
+
+            List<String> itemIds = itemIds(connection, sql, values, types);
+            statement.execute("DROP TABLE my_item");
+
+            assertEquals(List.of("ITM-1"), itemIds);
+        }
+    }
+
+    private static List<String> itemIds(Connection connection, String sql, List<Object> values,
+                                        List<GraphQlFieldType> types) throws SQLException {
+        List<String> itemIds = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.size(); i++) {
+                ParameterBinding.bind(preparedStatement, i + 1, values.get(i), types.get(i));
+            }
+            ResultSet rs = preparedStatement.executeQuery();
+            while (rs.next()) {
+                itemIds.add(rs.getString("item_id"));
+            }
+        }
+        return itemIds;
+    }
+
+    /**
+     * @return the setter the value was bound with and its argument
+     */
+    private static String bind(Object value, GraphQlFieldType fieldType) throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement recorder = (PreparedStatement) Proxy.newProxyInstance(ParameterBindingTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    calls.add(method.getName() + "(" + args[1] + ")");
+                    return null;
+                });
+        ParameterBinding.bind(recorder, 1, value, fieldType);
+        assertEquals(1, calls.size());
+        return calls.get(0);
+    }
+}
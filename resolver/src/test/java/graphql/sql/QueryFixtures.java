@@ -0,0 +1,44 @@
+package graphql.sql;
+
+import graphql.appsync.DummySystemsManagerRetriever;
+import graphql.appsync.GraphQlTypePlan;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query statements built like the runner builds them: from the type plan of a type in the test type metadata, and a
+ * where filter in JSON
+ */
+public final class QueryFixtures {
+    public static final String PRODUCT_TYPE = "OrderProductOrderItem_MyProduct";
+
+    private QueryFixtures() {
+    }
+
+    public static GraphQlTypePlan typePlan(String typeName, String vendor) {
+        DummySystemsManagerRetriever retriever = new DummySystemsManagerRetriever();
+        retriever.setSecret(vendor);
+        return new GraphQlTypePlan(typeName, retriever.lookupSystemParameter(typeName), vendor);
+    }
+
+    /**
+     * @return a query of the names of the products matching the filter
+     */
+    public static SqlQueryStatement productQuery(String whereJson, String vendor) {
+        return query(typePlan(PRODUCT_TYPE, vendor), "my_product", List.of("name"), whereJson, null, null, null);
+    }
+
+    public static SqlQueryStatement query(GraphQlTypePlan plan, String tableName, List<String> select, String whereJson,
+                                          List<Map<String, SqlQueryStatement.OrderBy>> orderBy, Long offset, Long limit) {
+        SqlQueryStatement.WhereClause where = plan.getGson().fromJson(whereJson, SqlQueryStatement.WhereClause.class);
+        return query(plan, tableName, select, where, orderBy, offset, limit);
+    }
+
+    public static SqlQueryStatement query(GraphQlTypePlan plan, String tableName, List<String> select, SqlQueryStatement.WhereClause where,
+                                          List<Map<String, SqlQueryStatement.OrderBy>> orderBy, Long offset, Long limit) {
+        SqlQueryStatement statement = new SqlQueryStatement(tableName, select, where, orderBy, offset, limit, plan.getVendor());
+        statement.setGraphQLFieldsInfo(plan.getGraphQLFieldsInfo());
+        return statement;
+    }
+}
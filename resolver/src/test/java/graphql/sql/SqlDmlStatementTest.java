@@ -0,0 +1,230 @@
+package graphql.sql;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.NoAffectedRowsException;
+import graphql.QueryResultSet;
+import graphql.appsync.AppSyncSqlResolverInput;
+import graphql.appsync.GraphQlSqlResolverRunner;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.OracleDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import graphql.sql.db.PrimingDatabaseProvider;
+import graphql.sql.db.SqlServerDatabaseProvider;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlDmlStatementTest {
+    private static final List<String> RETURNING = List.of("product_id", "name");
+
+    @Test
+    void testPostgresReturning() {
+        assertEquals("INSERT INTO my_product (product_id, name) VALUES (?, ?) RETURNING product_id, name",
+                returning(SqlStatementType.INSERT, PostgreSqlDatabaseProvider.VENDOR).getPreparedStatement());
+        assertEquals("UPDATE my_product SET product_id = ?, name = ? WHERE (product_id = ?) RETURNING product_id, name",
+                returning(SqlStatementType.UPDATE, PostgreSqlDatabaseProvider.VENDOR).getPreparedStatement());
+        assertEquals("DELETE FROM my_product WHERE (product_id = ?) RETURNING product_id, name",
+                returning(SqlStatementType.DELETE, PostgreSqlDatabaseProvider.VENDOR).getPreparedStatement());
+    }
+
+    @Test
+    void testSqlServerOutput() {
+        assertEquals("INSERT INTO my_product (product_id, name) OUTPUT INSERTED.product_id, INSERTED.name VALUES (?, ?) ",
+                returning(SqlStatementType.INSERT, SqlServerDatabaseProvider.VENDOR).getPreparedStatement());
+        assertEquals("UPDATE my_product SET product_id = ?, name = ? OUTPUT INSERTED.product_id, INSERTED.name WHERE (product_id = ?) ",
+                returning(SqlStatementType.UPDATE, SqlServerDatabaseProvider.VENDOR).getPreparedStatement());
+        SqlDmlStatement delete = returning(SqlStatementType.DELETE, SqlServerDatabaseProvider.VENDOR);
+        assertEquals("DELETE FROM my_product OUTPUT DELETED.product_id, DELETED.name WHERE (product_id = ?) ", delete.getPreparedStatement());
+        assertEquals(List.of("PRD-300"), delete.getParameters());
+    }
+
+    @Test
+    void testOracleReturnsGeneratedKeys() {
+        SqlDmlStatement insert = returning(SqlStatementType.INSERT, OracleDatabaseProvider.VENDOR);
+        assertTrue(insert.isReturningGeneratedKeys());
+        assertEquals("INSERT INTO my_product (product_id, name) VALUES (?, ?) ", insert.getPreparedStatement());
+
+        assertTrue(SqlDmlStatement.supportsReturning(OracleDatabaseProvider.VENDOR, SqlStatementType.INSERT));
+        assertFalse(SqlDmlStatement.supportsReturning(OracleDatabaseProvider.VENDOR, SqlStatementType.UPDATE));
+        assertFalse(SqlDmlStatement.supportsReturning(InMemoryDatabaseProvider.VENDOR, SqlStatementType.INSERT));
+    }
+
+    @Test
+    void testDeleteByKeys() {
+        SqlDmlStatement delete = SqlDmlStatement.deleteByKeys("my_product", List.of(key("product_id", "PRD-300"),
+                key("product_id", "PRD-301"), key("product_id", "PRD-302")));
+        assertEquals("DELETE FROM my_product WHERE product_id IN (?, ?, ?)", delete.getPreparedStatement());
+        assertEquals(List.of("PRD-300", "PRD-301", "PRD-302"), delete.getParameters());
+
+        LinkedHashMap<String, Object> first = key("parent_order_id", "ORD-100");
+        first.put("parent_product_id", "PRD-300");
+        LinkedHashMap<String, Object> second = key("parent_order_id", "ORD-101");
+        second.put("parent_product_id", "PRD-301");
+        delete = SqlDmlStatement.deleteByKeys("my_order_item", List.of(first, second));
+        assertEquals("DELETE FROM my_order_item WHERE (parent_order_id = ? AND parent_product_id = ?)" +
+                " OR (parent_order_id = ? AND parent_product_id = ?)", delete.getPreparedStatement());
+        assertEquals(List.of("ORD-100", "PRD-300", "ORD-101", "PRD-301"), delete.getParameters());
+    }
+
+    @Test
+    void testPostgresEmptyReturningFails() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        try (Connection keepAlive = createProducts(PostgreSqlDatabaseProvider.VENDOR);
+             GraphQlSqlResolverRunner runner = runner(PostgreSqlDatabaseProvider.VENDOR, executed, SqlDmlStatementTest::toDeltaTable)) {
+            assertThrows(NoAffectedRowsException.class, () -> runner.mutation("my_product", values("Name", "lemon"),
+                    values("ProductId", "PRD-999"), RETURNING, SqlStatementType.UPDATE));
+            assertThrows(NoAffectedRowsException.class, () -> runner.mutation("my_product", new LinkedHashMap<>(),
+                    values("ProductId", "PRD-999"), RETURNING, SqlStatementType.DELETE));
+
+            QueryResultSet updated = runner.mutation("my_product", values("Name", "lemon"), values("ProductId", "PRD-300"),
+                    RETURNING, SqlStatementType.UPDATE);
+            assertEquals("lemon", updated.getEdges().get(0).get("Name"));
+        }
+        // one statement per mutation, no query of the row
+        assertEquals(3, executed.size());
+        executed.forEach(sql -> assertTrue(sql.contains(" RETURNING "), sql));
+    }
+
+    @Test
+    void testSqlServerOutputFallback() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        try (Connection keepAlive = createProducts(SqlServerDatabaseProvider.VENDOR);
+             GraphQlSqlResolverRunner runner = runner(SqlServerDatabaseProvider.VENDOR, executed, sql -> {
+                 if (sql.contains(" OUTPUT ")) {
+                     throw new SQLException("The target table of the DML statement cannot have any enabled triggers if the statement" +
+                             " contains an OUTPUT clause without INTO clause", "42000", 334);
+                 }
+                 return sql;
+             })) {
+            QueryResultSet updated = runner.mutation("my_product", values("Name", "lemon"), values("ProductId", "PRD-300"),
+                    RETURNING, SqlStatementType.UPDATE);
+            assertEquals("lemon", updated.getEdges().get(0).get("Name"));
+        }
+        assertEquals(3, executed.size());
+        assertTrue(executed.get(0).contains(" OUTPUT INSERTED."));
+        assertTrue(executed.get(1).startsWith("UPDATE my_product SET name = ? WHERE"));
+        assertTrue(executed.get(2).startsWith("SELECT "));
+    }
+
+    @Test
+    void testOracleInsertReturnsGeneratedKeys() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        try (Connection keepAlive = createProducts(OracleDatabaseProvider.VENDOR);
+             GraphQlSqlResolverRunner runner = runner(OracleDatabaseProvider.VENDOR, executed, sql -> sql)) {
+            LinkedHashMap<String, Object> newValues = values("ProductId", "PRD-301");
+            newValues.put("Name", "apple");
+            QueryResultSet inserted = runner.mutation("my_product", newValues, new LinkedHashMap<>(), RETURNING, SqlStatementType.INSERT);
+            assertEquals(1, inserted.getEdges().size());
+            assertEquals("PRD-301", inserted.getEdges().get(0).get("ProductId"));
+            assertEquals("apple", inserted.getEdges().get(0).get("Name"));
+        }
+        assertEquals(List.of("INSERT INTO my_product (product_id, name) VALUES (?, ?) "), executed);
+    }
+
+    /**
+     * The SQL the runner prepares, before it reaches the database
+     */
+    @FunctionalInterface
+    private interface SqlRewrite {
+        String apply(String sql) throws SQLException;
+    }
+
+    /**
+     * H2 has no RETURNING clause, it reads the rows changed by a statement from a data change delta table
+     */
+    private static String toDeltaTable(String sql) {
+        Matcher matcher = Pattern.compile("^(INSERT|UPDATE|DELETE)(.*) RETURNING (.*)$").matcher(sql);
+        if (!matcher.matches()) {
+            return sql;
+        }
+        String table = "DELETE".equals(matcher.group(1)) ? "OLD TABLE" : "FINAL TABLE";
+        return String.format("SELECT %s FROM %s (%s%s)", matcher.group(3), table, matcher.group(1), matcher.group(2));
+    }
+
+    private static Connection createProducts(String vendor) throws SQLException {
+        Connection keepAlive = new PrimingDatabaseProvider(vendor).newConnection(connectionParameters(vendor));
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE my_product (product_id VARCHAR(20) PRIMARY KEY, name VARCHAR(100)," +
+                    " price NUMERIC(10, 2), discontinued BOOLEAN)");
+            statement.execute("INSERT INTO my_product VALUES ('PRD-300', 'apple', 1.5, FALSE)");
+        }
+        return keepAlive;
+    }
+
+    /**
+     * Runner on an in-memory database in the vendor's mode, reporting the vendor so its DML is generated
+     *
+     * @param executed collects the SQL of each prepared statement
+     */
+    private static GraphQlSqlResolverRunner runner(String vendor, List<String> executed, SqlRewrite rewrite) {
+        PrimingDatabaseProvider provider = new PrimingDatabaseProvider(vendor) {
+            @Override
+            public Connection newConnection(DatabaseConnectionParameters parameters) {
+                Connection connection = super.newConnection(parameters);
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement")) {
+                                executed.add((String) args[0]);
+                                args[0] = rewrite.apply((String) args[0]);
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+        Map<String, Object> event = Map.of("arguments", Map.of(), "info", Map.of("fieldName", "update_" + QueryFixtures.PRODUCT_TYPE,
+                "parentTypeName", "Mutation", "selectionSetList", List.of("ProductId", "Name")));
+        AppSyncSqlResolverInput input = new AppSyncSqlResolverInput(event, false);
+        input.setDbConnectionParameters(connectionParameters(vendor));
+        return new GraphQlSqlResolverRunner(provider, QueryFixtures.typePlan(QueryFixtures.PRODUCT_TYPE, vendor), input);
+    }
+
+    private static DatabaseConnectionParameters connectionParameters(String vendor) {
+        DatabaseConnectionParameters parameters = new DatabaseConnectionParameters();
+        parameters.setEngine(vendor);
+        parameters.setDbname("sql_dml_statement_test_" + vendor.toLowerCase());
+        return parameters;
+    }
+
+    private static LinkedHashMap<String, Object> values(String graphQlName, Object value) {
+        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+        values.put(graphQlName, value);
+        return values;
+    }
+
+    private static LinkedHashMap<String, Object> key(String column, Object value) {
+        LinkedHashMap<String, Object> key = new LinkedHashMap<>();
+        key.put(column, value);
+        return key;
+    }
+
+    private static SqlDmlStatement returning(SqlStatementType statementType, String vendor) {
+        LinkedHashMap<String, Object> newValues = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> where = new LinkedHashMap<>();
+        if (!SqlStatementType.DELETE.equals(statementType)) {
+            newValues.put("product_id", "PRD-300");
+            newValues.put("name", "apple");
+        }
+        if (!SqlStatementType.INSERT.equals(statementType)) {
+            where.put("product_id", "PRD-300");
+        }
+        SqlDmlStatement statement = new SqlDmlStatement(statementType, "my_product", newValues, where);
+        statement.setReturning(RETURNING, vendor);
+        return statement;
+    }
+}
@@ -0,0 +1,109 @@
+package graphql.sql;
+
+import graphql.GraphQlFieldType;
+import graphql.sql.db.InMemoryDatabaseProvider;
+import graphql.sql.db.PostgreSqlDatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlTemplateCacheTest {
+    @BeforeEach
+    public void setup() {
+        SqlTemplateCache.clear();
+    }
+
+    @Test
+    void testSameShapeSharesSql() {
+        SqlQueryStatement first = query("{\"Name\": {\"eq\": \"apple\"}, \"ProductId\": {\"gt\": \"PRD-1\"}}", 0L, 10L);
+        SqlQueryStatement second = query("{\"Name\": {\"eq\": \"lemon\"}, \"ProductId\": {\"gt\": \"PRD-2\"}}", 50L, 25L);
+
+        assertEquals("SELECT name FROM my_product WHERE name = ? AND product_id > ? ORDER BY name ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+                first.getPreparedStatement());
+        assertSame(first.getPreparedStatement(), second.getPreparedStatement());
+        assertEquals(List.of("apple", "PRD-1", 0L, 10L), first.getParameters());
+        assertEquals(List.of("lemon", "PRD-2", 50L, 25L), second.getParameters());
+        assertEquals(1, SqlTemplateCache.getMisses());
+        assertEquals(1, SqlTemplateCache.getHits());
+    }
+
+    @Test
+    void testShapeDependsOnOperatorsNotValues() {
+        String eq = query("{\"Name\": {\"eq\": \"apple\"}}", null, null).getPreparedStatement();
+        String isNull = query("{\"Name\": {\"eq\": null}}", null, null).getPreparedStatement();
+        String ne = query("{\"Name\": {\"ne\": \"apple\"}}", null, null).getPreparedStatement();
+        String limited = query("{\"Name\": {\"eq\": \"apple\"}}", null, 10L).getPreparedStatement();
+
+        assertTrue(eq.endsWith("WHERE name = ? ORDER BY name ASC"));
+        assertTrue(isNull.endsWith("WHERE name IS NULL ORDER BY name ASC"));
+        assertTrue(ne.endsWith("WHERE name <> ? ORDER BY name ASC"));
+        assertTrue(limited.endsWith("FETCH NEXT ? ROWS ONLY"));
+        assertEquals(4, SqlTemplateCache.getMisses());
+    }
+
+    @Test
+    void testExpandedInListSizeIsPartOfShape() {
+        String two = query("{\"or\": [{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\"]}}, {\"Name\": {\"like\": \"a%\"}}]}", null, null)
+                .getPreparedStatement();
+        SqlQueryStatement three = query("{\"or\": [{\"ProductId\": {\"in\": [\"PRD-300\", \"PRD-301\", \"PRD-302\"]}}, {\"Name\": {\"like\": \"b%\"}}]}", null, null);
+
+        assertTrue(two.endsWith("WHERE (product_id IN (?, ?)) OR (name LIKE ?) ORDER BY name ASC"));
+        assertTrue(three.getPreparedStatement().endsWith("WHERE (product_id IN (?, ?, ?)) OR (name LIKE ?) ORDER BY name ASC"));
+        assertEquals(List.of("PRD-300", "PRD-301", "PRD-302", "b%"), three.getParameters());
+    }
+
+    @Test
+    void testArrayBoundInListSharesSql() {
+        SqlQueryStatement two = query("{\"Price\": {\"in\": [10, 20.5]}}", PostgreSqlDatabaseProvider.VENDOR);
+        SqlQueryStatement three = query("{\"Price\": {\"in\": [10, 20.5, 30]}}", PostgreSqlDatabaseProvider.VENDOR);
+
+        assertSame(two.getPreparedStatement(), three.getPreparedStatement());
+        assertEquals("numeric[3]", three.getParameters().get(0).toString());
+    }
+
+    @Test
+    void testSeekParametersFollowExpandedPredicate() {
+        SqlQueryStatement statement = query("{\"Name\": {\"ne\": \"apple\"}}", null, 10L);
+        statement.setSeek(new SeekPredicate(List.of("name", "product_id"), List.of(true, false), List.of("lemon", "PRD-301"),
+                List.of(GraphQlFieldType.STRING, GraphQlFieldType.ID), InMemoryDatabaseProvider.VENDOR));
+
+        assertTrue(statement.getPreparedStatement().contains("WHERE (name <> ?) AND ((name < ?) OR (name = ? AND product_id > ?))"));
+        assertEquals(List.of("apple", "lemon", "lemon", "PRD-301", 10L), statement.getParameters());
+        assertEquals(List.of(GraphQlFieldType.STRING, GraphQlFieldType.STRING, GraphQlFieldType.STRING, GraphQlFieldType.ID,
+                GraphQlFieldType.INT), statement.getParameterTypes());
+    }
+
+    @Test
+    void testDmlSameShapeSharesSql() {
+        SqlDmlStatement first = update("apple", "PRD-300");
+        SqlDmlStatement second = update("lemon", "PRD-301");
+
+        assertEquals("UPDATE my_product SET name = ? WHERE (product_id = ?) ", first.getPreparedStatement());
+        assertSame(first.getPreparedStatement(), second.getPreparedStatement());
+        assertEquals(List.of("lemon", "PRD-301"), second.getParameters());
+    }
+
+    private static SqlDmlStatement update(String name, String productId) {
+        LinkedHashMap<String, Object> newValues = new LinkedHashMap<>();
+        newValues.put("name", name);
+        LinkedHashMap<String, Object> where = new LinkedHashMap<>();
+        where.put("product_id", productId);
+        return new SqlDmlStatement(SqlStatementType.UPDATE, "my_product", newValues, where);
+    }
+
+    private static SqlQueryStatement query(String whereJson, Long offset, Long limit) {
+        SqlQueryStatement.OrderBy orderBy = new SqlQueryStatement.OrderBy();
+        orderBy.setDirection("ASC");
+        return QueryFixtures.query(QueryFixtures.typePlan(QueryFixtures.PRODUCT_TYPE, InMemoryDatabaseProvider.VENDOR), "my_product",
+                List.of("name"), whereJson, List.of(Map.of("name", orderBy)), offset, limit);
+    }
+
+    private static SqlQueryStatement query(String whereJson, String vendor) {
+        return QueryFixtures.productQuery(whereJson, vendor);
+    }
+}
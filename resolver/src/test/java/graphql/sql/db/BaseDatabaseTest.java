@@ -12,6 +12,7 @@ import software.amazon.awssdk.utils.Pair;
 import util.Util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -30,7 +31,7 @@ public abstract class BaseDatabaseTest {
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
     }
     
-    private DummySystemsManagerRetriever systemsManagerRetriever;
+    protected DummySystemsManagerRetriever systemsManagerRetriever;
     protected GraphQlTestRunner runner;
     private Connection connection;
     private String databaseName;
@@ -201,4 +202,27 @@ public abstract class BaseDatabaseTest {
         }
         return parameterizedTestCases.stream();
     }
+
+    /**
+     * Arguments of a test that runs against the in-memory databases only, e.g. one sending several events
+     */
+    public static Stream<Arguments> inMemoryTestCaseArgs(String testCaseName) {
+        return Stream.of(PostgreSqlDatabaseProvider.VENDOR, OracleDatabaseProvider.VENDOR, SqlServerDatabaseProvider.VENDOR)
+                .map(vendor -> Arguments.of(testCaseName, inMemoryPrefix + vendor));
+    }
+
+    /**
+     * An AppSync event of src/test/resources/appsync/events, for tests that send several events
+     */
+    public static Object appSyncEvent(String eventName) {
+        String path = GraphQlTestRunner.TEST_DATA_ROOT + "events/" + eventName + ".appsync.json";
+        try (InputStream resource = BaseDatabaseTest.class.getResourceAsStream(path)) {
+            if (resource == null) {
+                throw new IOException("can't find AppSync event resource: " + path);
+            }
+            return Util.GSON.fromJson(new String(resource.readAllBytes(), StandardCharsets.UTF_8), Object.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
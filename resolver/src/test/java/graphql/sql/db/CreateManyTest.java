@@ -0,0 +1,47 @@
+package graphql.sql.db;
+
+import graphql.GraphQlAdapterException;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CreateManyTest extends BaseDatabaseTest {
+    private static final String queryFolder = "create_many";
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testCreateMany(String testName, String databaseName) throws IOException {
+        runner.run(testName, queryFolder);
+    }
+
+    @ParameterizedTest
+    @MethodSource("rollbackCases")
+    void testCreateManyRollsBack(String testName, String databaseName) {
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+
+        GraphQlAdapterException e = assertThrows(GraphQlAdapterException.class,
+                () -> handler.handleRequest(appSyncEvent("createManyExistingKey"), null));
+        assertTrue(e.getMessage().startsWith("inputs[1]: "), e.getMessage());
+
+        // the row before the failed one was rolled back
+        e = assertThrows(GraphQlAdapterException.class,
+                () -> handler.handleRequest(appSyncEvent("nodeProductId"), null));
+        assertEquals("no object exists with id: ResolverTestingOrderProductOrderItem_MyProduct-PRD\\-1000", e.getMessage());
+    }
+
+    private static Stream<Arguments> testCases() {
+        return testCaseArgs(queryFolder);
+    }
+
+    private static Stream<Arguments> rollbackCases() {
+        return inMemoryTestCaseArgs("testCreateManyRollsBack");
+    }
+}
@@ -0,0 +1,22 @@
+package graphql.sql.db;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+public class DeleteManyTest extends BaseDatabaseTest {
+    private static final String queryFolder = "delete_many";
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testDeleteMany(String testName, String databaseName) throws IOException {
+        runner.run(testName, queryFolder);
+    }
+
+    private static Stream<Arguments> testCases() {
+        return testCaseArgs(queryFolder);
+    }
+}
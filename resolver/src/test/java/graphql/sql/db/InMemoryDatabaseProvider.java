@@ -5,7 +5,7 @@ import graphql.DatabaseConnectionParameters;
 import java.sql.Connection;
 
 public class InMemoryDatabaseProvider implements SqlDatabaseProvider {
-    public static final String VENDOR = "inmemory";
+    public static final String VENDOR = IN_MEMORY_VENDOR;
     private final String vendor;
 
     public InMemoryDatabaseProvider(String vendor) {
@@ -0,0 +1,124 @@
+package graphql.sql.db;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.AppSyncSqlResolverLambdaStreamHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import util.Util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each invocation logs one EMF line with its phase times, row count and dimensions
+ */
+public class InvocationMetricsTest extends BaseDatabaseTest {
+    private static final String QUERY = "/appsync/stream/testStreamFirstPage.appsync.json";
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testRequestHandlerMetrics(String testName, String databaseName) throws IOException {
+        List<String> lines = new ArrayList<>();
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+
+        handler.handleRequest(Util.GSON.fromJson(new String(readQuery()), Object.class), capturingContext(lines));
+
+        JsonObject emf = lastEmfLine(lines);
+        assertEquals("ResolverTestingOrderProductOrderItem_MyProduct", emf.get("Type").getAsString());
+        assertEquals("query", emf.get("Operation").getAsString());
+        assertEquals(InMemoryDatabaseProvider.VENDOR, emf.get("Vendor").getAsString());
+        // "first": 2 reads one more row to tell whether there is a next page
+        assertEquals(3, emf.get("Rows").getAsLong());
+        assertFalse(emf.has("ResponseBytes"));
+        assertTrue(emf.get("ExecuteTime").getAsDouble() > 0);
+        assertTrue(emf.get("Duration").getAsDouble() >= emf.get("ExecuteTime").getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testStreamHandlerMetrics(String testName, String databaseName) throws IOException {
+        List<String> lines = new ArrayList<>();
+        AppSyncSqlResolverLambdaStreamHandler handler = new AppSyncSqlResolverLambdaStreamHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        handler.handleRequest(new ByteArrayInputStream(readQuery()), output, capturingContext(lines));
+
+        JsonObject emf = lastEmfLine(lines);
+        assertEquals(output.size(), emf.get("ResponseBytes").getAsLong());
+        assertEquals(3, emf.get("Rows").getAsLong());
+        assertTrue(emf.get("SerializeTime").getAsDouble() > 0);
+    }
+
+    private static Stream<Arguments> testCases() {
+        return testCaseArgs("stream").filter(arguments -> arguments.get()[0].equals("testStreamFirstPage"));
+    }
+
+    private byte[] readQuery() throws IOException {
+        try (InputStream resource = getClass().getResourceAsStream(QUERY)) {
+            return resource.readAllBytes();
+        }
+    }
+
+    /**
+     * @return the EMF line, after checking that every metric it declares has a value
+     */
+    private static JsonObject lastEmfLine(List<String> lines) {
+        List<JsonObject> emfLines = lines.stream()
+                .filter(line -> line.startsWith("{\"_aws\""))
+                .map(line -> JsonParser.parseString(line).getAsJsonObject())
+                .collect(Collectors.toList());
+        assertEquals(1, emfLines.size(), "expected one EMF line per invocation: " + lines);
+        JsonObject emf = emfLines.get(0);
+
+        JsonObject directive = emf.getAsJsonObject("_aws").getAsJsonArray("CloudWatchMetrics").get(0).getAsJsonObject();
+        assertEquals("AppSyncSqlResolver", directive.get("Namespace").getAsString());
+        assertEquals(JsonParser.parseString("[[\"Type\", \"Operation\", \"Vendor\"]]"), directive.get("Dimensions"));
+        JsonArray metrics = directive.getAsJsonArray("Metrics");
+        Set<String> names = new HashSet<>();
+        for (JsonElement metric : metrics) {
+            String name = metric.getAsJsonObject().get("Name").getAsString();
+            names.add(name);
+            assertTrue(emf.get(name).getAsJsonPrimitive().isNumber(), "missing value of metric " + name);
+        }
+        assertTrue(names.containsAll(Set.of("Duration", "TypeMetadataTime", "SecretTime", "ConnectTime", "ExecuteTime",
+                "ReadRowsTime", "SerializeTime", "Rows")), names.toString());
+        return emf;
+    }
+
+    private static Context capturingContext(List<String> lines) {
+        LambdaLogger logger = new LambdaLogger() {
+            @Override
+            public void log(String message) {
+                lines.add(message);
+            }
+
+            @Override
+            public void log(byte[] message) {
+                lines.add(new String(message));
+            }
+        };
+        return (Context) Proxy.newProxyInstance(Context.class.getClassLoader(), new Class<?>[]{Context.class},
+                (proxy, method, args) -> "getLogger".equals(method.getName()) ? logger : null);
+    }
+}
@@ -0,0 +1,250 @@
+package graphql.sql.db;
+
+import graphql.DatabaseConnectionParameters;
+import graphql.GraphQlAdapterException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledSqlDatabaseProviderTest {
+    private Connection keepAlive;  // in-memory database is dropped when its last connection closes
+    private DatabaseConnectionParameters params;
+    private PooledSqlDatabaseProvider provider;
+
+    @BeforeEach
+    public void setup() {
+        params = new DatabaseConnectionParameters();
+        params.setEngine(InMemoryDatabaseProvider.VENDOR);
+        params.setDbname("pooled_provider_test");
+        params.setPassword("initial");
+        keepAlive = InMemoryDatabaseProvider.getVendorAgnosticConnection(params);
+        provider = new PooledSqlDatabaseProvider(new InMemoryDatabaseProvider("PostgreSQL"), 2, 0, 60_000, 100);
+    }
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        provider.close();
+        keepAlive.close();
+    }
+
+    @Test
+    void testConnectionReused() throws SQLException {
+        Connection first = provider.newConnection(params);
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        assertTrue(first.isClosed());
+
+        Connection second = provider.newConnection(params);
+        assertSame(physical, second.unwrap(Connection.class));
+        assertFalse(second.isClosed());
+        second.close();
+
+        ConnectionPoolStatistics statistics = provider.getStatistics();
+        assertEquals(1, statistics.getCreated());
+        assertEquals(2, statistics.getBorrowed());
+        assertEquals(1, statistics.getIdle());
+        assertEquals(0, statistics.getActive());
+    }
+
+    @Test
+    void testClosedHandleCannotBeUsed() throws SQLException {
+        Connection connection = provider.newConnection(params);
+        connection.close();
+        connection.close();  // closing twice must not return the connection twice
+        assertThrows(SQLException.class, connection::createStatement);
+        assertEquals(0, provider.getStatistics().getActive());
+    }
+
+    @Test
+    void testPoolSizeCapped() throws SQLException {
+        Connection first = provider.newConnection(params);
+        Connection second = provider.newConnection(params);
+        assertThrows(GraphQlAdapterException.class, () -> provider.newConnection(params));
+
+        first.close();
+        Connection third = provider.newConnection(params);
+        assertEquals(2, provider.getStatistics().getCreated());
+        second.close();
+        third.close();
+    }
+
+    @Test
+    void testInvalidIdleConnectionReplaced() throws SQLException {
+        Connection first = provider.newConnection(params);
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        physical.close();  // simulate the database dropping an idle connection
+
+        Connection second = provider.newConnection(params);
+        assertNotSame(physical, second.unwrap(Connection.class));
+        second.close();
+
+        ConnectionPoolStatistics statistics = provider.getStatistics();
+        assertEquals(1, statistics.getValidationFailures());
+        assertEquals(2, statistics.getCreated());
+    }
+
+    @Test
+    void testCredentialRotationEvictsConnections() throws SQLException {
+        Connection idle = provider.newConnection(params);
+        Connection idlePhysical = idle.unwrap(Connection.class);
+        Connection inUse = provider.newConnection(params);
+        Connection inUsePhysical = inUse.unwrap(Connection.class);
+        idle.close();
+
+        params.setPassword("rotated");
+        Connection rotated = provider.newConnection(params);
+        assertNotSame(idlePhysical, rotated.unwrap(Connection.class));
+        assertTrue(idlePhysical.isClosed());
+
+        // connection opened with the old password is discarded when returned
+        inUse.close();
+        assertTrue(inUsePhysical.isClosed());
+        rotated.close();
+        assertEquals(1, provider.getStatistics().getIdle());
+    }
+
+    @Test
+    void testTransactionRolledBackOnReturn() throws SQLException {
+        try (Connection connection = provider.newConnection(params); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE pooled_rollback (id INT)");
+        }
+        try (Connection connection = provider.newConnection(params); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("INSERT INTO pooled_rollback VALUES (1)");
+        }
+        try (Connection connection = provider.newConnection(params); Statement statement = connection.createStatement()) {
+            assertTrue(connection.getAutoCommit());
+            ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM pooled_rollback");
+            resultSet.next();
+            assertEquals(0, resultSet.getInt(1));
+        }
+    }
+
+    @Test
+    void testPreparedStatementReused() throws SQLException {
+        PreparedStatement physical;
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            physical = statement.unwrap(PreparedStatement.class);
+            statement.setInt(1, 1);
+            statement.executeQuery().close();
+            assertSame(connection, statement.getConnection());
+        }
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            assertSame(physical, statement.unwrap(PreparedStatement.class));
+            // a statement in use is not shared
+            try (PreparedStatement concurrent = connection.prepareStatement("SELECT ?")) {
+                assertNotSame(physical, concurrent.unwrap(PreparedStatement.class));
+            }
+        }
+        assertFalse(physical.isClosed());
+
+        ConnectionPoolStatistics statistics = provider.getStatistics();
+        assertEquals(1, statistics.getStatementCacheHits());
+        assertEquals(2, statistics.getStatementCacheMisses());
+
+        provider.evictAll();
+        assertTrue(physical.isClosed());
+    }
+
+    @Test
+    void testUncachedStatementLeased() throws SQLException {
+        PreparedStatement leaked;
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            // not shared while in use, but still behind the pool's connection handle
+            PreparedStatement concurrent = connection.prepareStatement("SELECT ?");
+            assertSame(connection, concurrent.getConnection());
+            leaked = concurrent.unwrap(PreparedStatement.class);
+            assertNotSame(statement.unwrap(PreparedStatement.class), leaked);
+            assertFalse(leaked.isClosed());
+        }
+        // closed when the connection was returned, though the borrower never closed it
+        assertTrue(leaked.isClosed());
+    }
+
+    @Test
+    void testStatementCacheBounded() throws SQLException {
+        PooledSqlDatabaseProvider bounded = new PooledSqlDatabaseProvider(new InMemoryDatabaseProvider("PostgreSQL"),
+                1, 0, 60_000, 100, 2, 20);
+        try (Connection connection = bounded.newConnection(params)) {
+            PreparedStatement first = prepareAndClose(connection, "SELECT 1");
+            prepareAndClose(connection, "SELECT 2");
+            prepareAndClose(connection, "SELECT 3");
+            assertTrue(first.isClosed());
+            assertEquals(1, bounded.getStatistics().getStatementCacheEvictions());
+
+            // longer than the total SQL length, not cached
+            PreparedStatement tooLong = prepareAndClose(connection, "SELECT 'longer than twenty'");
+            assertTrue(tooLong.isClosed());
+            assertEquals(1, bounded.getStatistics().getStatementCacheEvictions());
+        } finally {
+            bounded.close();
+        }
+    }
+
+    @Test
+    void testUnexecutedBatchCleared() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE batch_test (id INT)");
+        }
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO batch_test VALUES (?)")) {
+            statement.setInt(1, 1);
+            statement.addBatch();
+        }
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO batch_test VALUES (?)")) {
+            statement.setInt(1, 2);
+            statement.addBatch();
+            assertEquals(1, statement.executeBatch().length);
+        }
+        assertEquals(1, provider.getStatistics().getStatementCacheHits());
+        try (Statement statement = keepAlive.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM batch_test")) {
+            assertTrue(resultSet.next());
+            assertEquals(2, resultSet.getInt(1));
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    void testFailedStatementDiscarded() throws SQLException {
+        PreparedStatement physical;
+        try (Connection connection = provider.newConnection(params);
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            physical = statement.unwrap(PreparedStatement.class);
+            assertThrows(SQLException.class, () -> statement.setInt(2, 1));
+        }
+        assertTrue(physical.isClosed());
+    }
+
+    @Test
+    void testUnclosedStatementClosedOnReturn() throws SQLException {
+        PreparedStatement physical;
+        try (Connection connection = provider.newConnection(params)) {
+            physical = connection.prepareStatement("SELECT 1").unwrap(PreparedStatement.class);
+        }
+        assertTrue(physical.isClosed());
+        try (Connection connection = provider.newConnection(params)) {
+            assertEquals(1, connection.prepareStatement("SELECT 1").executeQuery().getMetaData().getColumnCount());
+        }
+        assertEquals(0, provider.getStatistics().getStatementCacheHits());
+    }
+
+    private static PreparedStatement prepareAndClose(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            return statement.unwrap(PreparedStatement.class);
+        }
+    }
+}
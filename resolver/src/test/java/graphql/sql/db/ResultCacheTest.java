@@ -0,0 +1,84 @@
+package graphql.sql.db;
+
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.CachedResult;
+import graphql.appsync.DummySecretsManagerRetriever;
+import graphql.appsync.InMemoryResultCache;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query results of types with a cache time-to-live are served from the result cache until a mutation of the type
+ */
+public class ResultCacheTest extends BaseDatabaseTest {
+    private static final String TYPE_NAME = "ResolverTestingOrderProductOrderItem_MyProduct";
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testServedUntilMutation(String testName, String databaseName) {
+        systemsManagerRetriever.lookupSystemParameter(TYPE_NAME).setResultCacheTtlSeconds(60);
+        CountingResultCache cache = new CountingResultCache();
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever, cache);
+
+        Object first = handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        Object second = handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        assertEquals("apple", ((Map<?, ?>) first).get("Name"));
+        assertEquals(first, second);
+        assertEquals(1, cache.hits);
+        assertEquals(1, cache.puts);
+
+        handler.handleRequest(appSyncEvent("updateProductName"), null);
+        Object afterUpdate = handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        assertEquals("quince", ((Map<?, ?>) afterUpdate).get("Name"));
+        assertEquals(1, cache.hits);
+        assertEquals(2, cache.puts);
+    }
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testNotCachedWithoutTtl(String testName, String databaseName) {
+        CountingResultCache cache = new CountingResultCache();
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever, cache);
+
+        handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        assertEquals(0, cache.hits);
+        assertEquals(0, cache.puts);
+    }
+
+    private static Stream<Arguments> testCases() {
+        return inMemoryTestCaseArgs("testResultCache");
+    }
+
+    private static class CountingResultCache extends InMemoryResultCache {
+        int hits = 0;
+        int puts = 0;
+
+        CountingResultCache() {
+            super(1_000_000);
+        }
+
+        @Override
+        public synchronized CachedResult get(String typeName, String key) {
+            CachedResult result = super.get(typeName, key);
+            if (result != null) {
+                hits++;
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized void put(String typeName, String key, CachedResult result, long ttlMillis, long version) {
+            puts++;
+            super.put(typeName, key, result, ttlMillis, version);
+        }
+    }
+}
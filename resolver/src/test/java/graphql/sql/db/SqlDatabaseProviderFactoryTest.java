@@ -0,0 +1,39 @@
+package graphql.sql.db;
+
+import graphql.GraphQlAdapterException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlDatabaseProviderFactoryTest {
+    @AfterEach
+    public void teardown() {
+        SqlDatabaseProviderFactory.resetProviders();
+    }
+
+    @Test
+    void testProvidersLoadedByVendor() {
+        assertTrue(SqlDatabaseProviderFactory.getProvider(PostgreSqlDatabaseProvider.VENDOR).getDelegate() instanceof PostgreSqlDatabaseProvider);
+        assertTrue(SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR).getDelegate() instanceof OracleDatabaseProvider);
+        assertTrue(SqlDatabaseProviderFactory.getProvider(SqlServerDatabaseProvider.VENDOR).getDelegate() instanceof SqlServerDatabaseProvider);
+        assertSame(SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR),
+                SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR));
+    }
+
+    @Test
+    void testUnknownVendorFail() {
+        GraphQlAdapterException e = assertThrows(GraphQlAdapterException.class, () -> SqlDatabaseProviderFactory.getProvider("mysql"));
+        assertEquals("unknown database vendor: mysql", e.getMessage());
+    }
+
+    @Test
+    void testResetRestoresRealProvider() {
+        SqlDatabaseProviderFactory.setProvider(OracleDatabaseProvider.VENDOR, new InMemoryDatabaseProvider("Oracle"));
+        assertTrue(SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR).getDelegate() instanceof InMemoryDatabaseProvider);
+
+        SqlDatabaseProviderFactory.resetProviders();
+
+        assertTrue(SqlDatabaseProviderFactory.getProvider(OracleDatabaseProvider.VENDOR).getDelegate() instanceof OracleDatabaseProvider);
+    }
+}
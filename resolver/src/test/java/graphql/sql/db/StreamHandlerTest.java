@@ -0,0 +1,89 @@
+package graphql.sql.db;
+
+import graphql.GraphQlTestRunner;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import util.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The stream handler writes the same output as the request handler, for the query and node test cases and for
+ * paginated queries
+ */
+public class StreamHandlerTest extends BaseDatabaseTest {
+
+    @ParameterizedTest
+    @MethodSource("queryTestCases")
+    void testStreamedQuery(String testName, String databaseName) throws IOException {
+        runner.runStreamed(testName, "query");
+    }
+
+    @ParameterizedTest
+    @MethodSource("nodeTestCases")
+    void testStreamedNode(String testName, String databaseName) throws IOException {
+        runner.runStreamed(testName, "node");
+    }
+
+    @ParameterizedTest
+    @MethodSource("pageTestCases")
+    void testStreamedPage(String testName, String databaseName) throws IOException {
+        runner.runStreamed(testName, "stream");
+    }
+
+    /**
+     * Without edges/cursor, only the end cursor is encoded, and it is the cursor of the last edge
+     */
+    @ParameterizedTest
+    @MethodSource("firstPageTestCases")
+    @SuppressWarnings("unchecked")
+    void testEndCursorWithoutEdgeCursors(String testName, String databaseName) throws IOException {
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+        Map<String, Object> request;
+        try (InputStream resource = getClass().getResourceAsStream(GraphQlTestRunner.TEST_DATA_ROOT + "stream/" + testName + ".appsync.json")) {
+            request = Util.GSON.fromJson(new String(resource.readAllBytes(), StandardCharsets.UTF_8), Map.class);
+        }
+        Map<String, Object> withCursors = toJson(handler.handleRequest(request, null));
+        List<Map<String, Object>> edges = (List<Map<String, Object>>) withCursors.get("edges");
+        assertEquals(2, edges.size());
+
+        ((List<String>) ((Map<String, Object>) request.get("info")).get("selectionSetList")).remove("edges/cursor");
+        Map<String, Object> withoutCursors = toJson(handler.handleRequest(request, null));
+        Object endCursor = ((Map<String, Object>) withoutCursors.get("pageInfo")).get("endCursor");
+        assertNotNull(endCursor);
+        assertEquals(edges.get(1).get("cursor"), endCursor);
+        assertEquals(((Map<String, Object>) withCursors.get("pageInfo")).get("endCursor"), endCursor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toJson(Object result) {
+        return Util.GSON.fromJson(Util.GSON.toJsonTree(result), Map.class);
+    }
+
+    private static Stream<Arguments> queryTestCases() {
+        return testCaseArgs("query");
+    }
+
+    private static Stream<Arguments> nodeTestCases() {
+        return testCaseArgs("node");
+    }
+
+    private static Stream<Arguments> pageTestCases() {
+        return testCaseArgs("stream");
+    }
+
+    private static Stream<Arguments> firstPageTestCases() {
+        return testCaseArgs("stream").filter(arguments -> arguments.get()[0].equals("testStreamFirstPage"));
+    }
+}
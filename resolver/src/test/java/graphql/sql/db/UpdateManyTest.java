@@ -0,0 +1,47 @@
+package graphql.sql.db;
+
+import graphql.GraphQlAdapterException;
+import graphql.appsync.AppSyncSqlResolverLambdaRequestHandler;
+import graphql.appsync.DummySecretsManagerRetriever;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateManyTest extends BaseDatabaseTest {
+    private static final String queryFolder = "update_many";
+
+    @ParameterizedTest
+    @MethodSource("testCases")
+    void testUpdateMany(String testName, String databaseName) throws IOException {
+        runner.run(testName, queryFolder);
+    }
+
+    @ParameterizedTest
+    @MethodSource("rollbackCases")
+    void testUpdateManyRollsBack(String testName, String databaseName) {
+        AppSyncSqlResolverLambdaRequestHandler handler = new AppSyncSqlResolverLambdaRequestHandler(
+                DummySecretsManagerRetriever.INSTANCE, systemsManagerRetriever);
+
+        GraphQlAdapterException e = assertThrows(GraphQlAdapterException.class,
+                () -> handler.handleRequest(appSyncEvent("updateManyMissingRow"), null));
+        assertTrue(e.getMessage().startsWith("inputs[1]: "), e.getMessage());
+
+        // the update of the row before the failed one was rolled back
+        Object result = handler.handleRequest(appSyncEvent("nodeProductName"), null);
+        assertEquals("apple", ((Map<?, ?>) result).get("Name"));
+    }
+
+    private static Stream<Arguments> testCases() {
+        return testCaseArgs(queryFolder);
+    }
+
+    private static Stream<Arguments> rollbackCases() {
+        return inMemoryTestCaseArgs("testUpdateManyRollsBack");
+    }
+}